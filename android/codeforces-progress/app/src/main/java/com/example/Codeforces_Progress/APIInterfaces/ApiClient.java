@@ -0,0 +1,182 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import android.content.Context;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * The one HTTP client of the app.
+ * <p>
+ * Every screen shares its OkHttpClient, so connections to codeforces.com are
+ * kept alive and reused between screens, and responses are cached on disk.
+ * Codeforces doesn't send caching headers, the cache lifetime of every
+ * endpoint is set by {@link CachePolicyInterceptor}.
+ * <p>
+ * Codeforces allows one call per two seconds, identical calls in flight are
+ * joined by {@link CoalescingInterceptor} and what reaches the network is paced
+ * by {@link RateLimitInterceptor}. user.info lookups should go through
+ * {@link #getUserInfoBatcher()}.
+ * <p>
+ * Images are fetched by a client from {@link #newImageClient(File, long)}, sharing the
+ * connections but not the API's pacing or cache.
+ */
+public class ApiClient {
+
+    public static final String BASE_URL = "https://codeforces.com/api/";
+
+    private static final String CACHE_DIRECTORY = "http-cache";
+    private static final long CACHE_SIZE = 20 * 1024 * 1024;
+    private static final int MAX_IDLE_CONNECTIONS = 5;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final long CALL_INTERVAL_SECONDS = 2;
+
+    private static ApiClient instance;
+
+    private final OkHttpClient okHttpClient;
+    private final ApiInterfaceGetStatus apiInterfaceGS;
+    private final ApiInterfaceGetUserInfo apiInterfaceGUI;
+    private final ApiInterfaceProblemSet apiInterfacePS;
+    private UserInfoBatcher userInfoBatcher;
+
+    public static synchronized ApiClient getInstance(Context context) {
+        if (instance == null) {
+            File cacheDirectory = new File(context.getApplicationContext().getCacheDir(), CACHE_DIRECTORY);
+            TokenBucket rateLimit = new TokenBucket(1, CALL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            instance = new ApiClient(HttpUrl.parse(BASE_URL), cacheDirectory, rateLimit);
+        }
+        return instance;
+    }
+
+    ApiClient(HttpUrl baseUrl, File cacheDirectory, TokenBucket rateLimit) {
+        okHttpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .cache(new Cache(cacheDirectory, CACHE_SIZE))
+                .addInterceptor(new CoalescingInterceptor())
+                .addNetworkInterceptor(new RateLimitInterceptor(rateLimit))
+                .addNetworkInterceptor(new CachePolicyInterceptor())
+                .build();
+
+        // API client library
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(okHttpClient)
+                .addConverterFactory(SubmissionColumnsConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+
+        apiInterfaceGS = retrofit.create(ApiInterfaceGetStatus.class);
+        apiInterfaceGUI = retrofit.create(ApiInterfaceGetUserInfo.class);
+        apiInterfacePS = retrofit.create(ApiInterfaceProblemSet.class);
+    }
+
+    public ApiInterfaceGetStatus getStatusApi() {
+        return apiInterfaceGS;
+    }
+
+    public ApiInterfaceGetUserInfo getUserInfoApi() {
+        return apiInterfaceGUI;
+    }
+
+    public ApiInterfaceProblemSet getProblemSetApi() {
+        return apiInterfacePS;
+    }
+
+    public synchronized UserInfoBatcher getUserInfoBatcher() {
+        if (userInfoBatcher == null) {
+            userInfoBatcher = new UserInfoBatcher(apiInterfaceGUI);
+        }
+        return userInfoBatcher;
+    }
+
+    /*
+     * a client for images: the same connection pool and dispatcher, identical requests in flight
+     * joined, its own disk cache, no pacing since images aren't served by the API
+     */
+    public OkHttpClient newImageClient(File cacheDirectory, long cacheSize) {
+        return new OkHttpClient.Builder()
+                .connectionPool(okHttpClient.connectionPool())
+                .dispatcher(okHttpClient.dispatcher())
+                .cache(new Cache(cacheDirectory, cacheSize))
+                .addInterceptor(new CoalescingInterceptor())
+                .addNetworkInterceptor(new ImageCachePolicyInterceptor())
+                .build();
+    }
+
+    OkHttpClient getOkHttpClient() {
+        return okHttpClient;
+    }
+
+    /**
+     * Rewrites the caching headers of successful responses per endpoint.
+     * <p>
+     * problemset.problems changes a few times a day, user.info every few minutes at most,
+     * user.status is never cached because SubmissionSync already keeps it locally.
+     */
+    static class CachePolicyInterceptor implements Interceptor {
+
+        static final int PROBLEM_SET_MAX_AGE = (int) TimeUnit.HOURS.toSeconds(6);
+        static final int USER_INFO_MAX_AGE = (int) TimeUnit.MINUTES.toSeconds(5);
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+            if (!response.isSuccessful()) {
+                return response;
+            }
+
+            String cacheControl;
+            switch (request.url().encodedPathSegments().get(request.url().pathSize() - 1)) {
+                case "problemset.problems":
+                    cacheControl = "public, max-age=" + PROBLEM_SET_MAX_AGE;
+                    break;
+                case "user.info":
+                    cacheControl = "public, max-age=" + USER_INFO_MAX_AGE;
+                    break;
+                default:
+                    cacheControl = "no-store";
+            }
+
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .removeHeader("Expires")
+                    .header("Cache-Control", cacheControl)
+                    .build();
+        }
+    }
+
+    /**
+     * Keeps images in the disk cache for a week whatever the image host sends.
+     * <p>
+     * An avatar url changes when the user uploads a new one, so a cached image is never stale.
+     */
+    static class ImageCachePolicyInterceptor implements Interceptor {
+
+        static final int IMAGE_MAX_AGE = (int) TimeUnit.DAYS.toSeconds(7);
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            Response response = chain.proceed(chain.request());
+            if (!response.isSuccessful()) {
+                return response;
+            }
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .removeHeader("Expires")
+                    .header("Cache-Control", "public, max-age=" + IMAGE_MAX_AGE)
+                    .build();
+        }
+    }
+}
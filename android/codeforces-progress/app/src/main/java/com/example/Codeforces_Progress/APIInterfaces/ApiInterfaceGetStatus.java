@@ -1,5 +1,6 @@
 package com.example.Codeforces_Progress.APIInterfaces;
 
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
 import com.example.Codeforces_Progress.UserStatusClasses.UserStatus;
 
 import retrofit2.Call;
@@ -18,4 +19,21 @@ public interface ApiInterfaceGetStatus {
      */
     Call<UserStatus> getUserStatus(@Query("handle") String handle);
 
+    @GET("user.status")
+    /*
+     * the parameters of getUserStatus function:
+     * handle: Codeforces user handle.
+     * from: 1-based index of the first submission to return.
+     * count: Number of returned submissions.
+     * null parameters are left out of the request.
+     */
+    Call<UserStatus> getUserStatus(@Query("handle") String handle, @Query("from") Integer from, @Query("count") Integer count);
+
+    @GET("user.status")
+    /*
+     * same request as getUserStatus, the response is streamed into columns
+     * by SubmissionColumnsConverterFactory instead of being mapped with gson
+     */
+    Call<SubmissionColumns> getUserStatusColumns(@Query("handle") String handle, @Query("from") Integer from, @Query("count") Integer count);
+
 }
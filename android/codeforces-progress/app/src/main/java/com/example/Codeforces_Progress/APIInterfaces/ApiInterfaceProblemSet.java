@@ -4,6 +4,7 @@ import com.example.Codeforces_Progress.ProblemSetClasses.ProblemSet;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Query;
 
 public interface ApiInterfaceProblemSet {
@@ -19,4 +20,13 @@ public interface ApiInterfaceProblemSet {
      */
     Call<ProblemSet> getProblemSet(@Query("problemsetName") String problemsetName, @Query("tags") String tags);
 
+    @GET("problemset.problems")
+
+    /*
+     * same as getProblemSet,
+     * cacheControl: "no-cache" skips the HTTP cache, used when the user asks for a refresh
+     */
+    Call<ProblemSet> getProblemSet(@Query("problemsetName") String problemsetName, @Query("tags") String tags,
+                                   @Header("Cache-Control") String cacheControl);
+
 }
@@ -0,0 +1,111 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Lets identical GET requests in flight share one network call.
+ * <p>
+ * The first request goes on, the ones arriving before its response wait for it.
+ * The body is only buffered when somebody is waiting, otherwise it's streamed
+ * to the caller as before. If the shared call fails, every waiting request
+ * makes its own call.
+ */
+class CoalescingInterceptor implements Interceptor {
+
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())) {
+            return chain.proceed(request);
+        }
+
+        String key = request.url() + " " + request.cacheControl();
+        InFlight call;
+        boolean first;
+        synchronized (inFlight) {
+            call = inFlight.get(key);
+            first = call == null;
+            if (first) {
+                call = new InFlight();
+                inFlight.put(key, call);
+            } else {
+                call.waiting++;
+            }
+        }
+
+        if (!first) {
+            Response shared = call.await();
+            return shared != null ? shared : chain.proceed(request);
+        }
+
+        try {
+            Response response = chain.proceed(request);
+            int waiting;
+            synchronized (inFlight) {
+                inFlight.remove(key);
+                waiting = call.waiting;
+            }
+            if (waiting == 0 || response.body() == null) {
+                return response;
+            }
+
+            ResponseBody body = response.body();
+            call.share(response, body.contentType(), body.bytes());
+            return call.copy();
+        } finally {
+            synchronized (inFlight) {
+                if (inFlight.get(key) == call) {
+                    inFlight.remove(key);
+                }
+            }
+            call.done.countDown();
+        }
+    }
+
+    private static class InFlight {
+        final CountDownLatch done = new CountDownLatch(1);
+        int waiting;
+
+        // set only when the response is shared, read after done
+        private Response response;
+        private MediaType contentType;
+        private byte[] body;
+
+        void share(Response response, MediaType contentType, byte[] body) {
+            this.response = response;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /*
+         * returns a copy of the shared response, or null if there is none
+         */
+        Response await() throws IOException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for a shared call");
+            }
+            return response == null ? null : copy();
+        }
+
+        Response copy() {
+            return response.newBuilder()
+                    .body(ResponseBody.create(contentType, body))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Takes a token from the bucket before every request that goes to the network,
+ * responses served from the HTTP cache are not paced.
+ */
+class RateLimitInterceptor implements Interceptor {
+
+    private final TokenBucket tokenBucket;
+
+    RateLimitInterceptor(TokenBucket tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        try {
+            tokenBucket.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for the rate limit");
+        }
+        return chain.proceed(chain.request());
+    }
+}
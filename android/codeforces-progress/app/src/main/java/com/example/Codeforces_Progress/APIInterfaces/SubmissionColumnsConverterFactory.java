@@ -0,0 +1,154 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Reads a user.status response straight into {@link SubmissionColumns}.
+ * <p>
+ * The response is walked token by token with a {@link JsonReader}, so no
+ * {@link com.example.Codeforces_Progress.UserStatusClasses.ResultUS} tree is ever built.
+ * Fields the app doesn't use are skipped without being decoded.
+ * Only handles calls returning SubmissionColumns, everything else is left to the next factory.
+ */
+public class SubmissionColumnsConverterFactory extends Converter.Factory {
+
+    public static SubmissionColumnsConverterFactory create() {
+        return new SubmissionColumnsConverterFactory();
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (type != SubmissionColumns.class) {
+            return null;
+        }
+        return new Converter<ResponseBody, SubmissionColumns>() {
+            @Override
+            public SubmissionColumns convert(ResponseBody value) throws IOException {
+                JsonReader reader = new JsonReader(value.charStream());
+                try {
+                    return readResponse(reader);
+                } finally {
+                    reader.close();
+                }
+            }
+        };
+    }
+
+    static SubmissionColumns readResponse(JsonReader reader) throws IOException {
+        SubmissionColumns columns = null;
+        String status = null, comment = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "status":
+                    status = reader.nextString();
+                    break;
+                case "comment":
+                    comment = reader.nextString();
+                    break;
+                case "result":
+                    columns = readSubmissions(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (!"OK".equals(status) || columns == null) {
+            throw new IOException("user.status returned " + status + ": " + comment);
+        }
+        return columns;
+    }
+
+    private static SubmissionColumns readSubmissions(JsonReader reader) throws IOException {
+        SubmissionColumns columns = new SubmissionColumns();
+
+        // reused for every submission
+        long id = 0, creationTimeSeconds = 0, tags;
+        int contestId, rating;
+        String problemIndex, problemName, participantType, verdict;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            contestId = SubmissionColumns.NO_CONTEST;
+            rating = SubmissionColumns.NO_RATING;
+            problemIndex = problemName = participantType = verdict = null;
+            tags = 0;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        id = reader.nextLong();
+                        break;
+                    case "contestId":
+                        contestId = reader.nextInt();
+                        break;
+                    case "creationTimeSeconds":
+                        creationTimeSeconds = reader.nextLong();
+                        break;
+                    case "verdict":
+                        verdict = reader.nextString();
+                        break;
+                    case "problem":
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.nextName()) {
+                                case "index":
+                                    problemIndex = reader.nextString();
+                                    break;
+                                case "name":
+                                    problemName = reader.nextString();
+                                    break;
+                                case "rating":
+                                    rating = reader.nextInt();
+                                    break;
+                                case "tags":
+                                    reader.beginArray();
+                                    while (reader.hasNext()) {
+                                        tags |= columns.getTagMask(reader.nextString());
+                                    }
+                                    reader.endArray();
+                                    break;
+                                default:
+                                    reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        break;
+                    case "author":
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if (reader.nextName().equals("participantType") && reader.peek() == JsonToken.STRING) {
+                                participantType = reader.nextString();
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            columns.add(id, contestId, creationTimeSeconds, problemIndex, problemName, rating, participantType, verdict, tags);
+        }
+        reader.endArray();
+
+        return columns;
+    }
+}
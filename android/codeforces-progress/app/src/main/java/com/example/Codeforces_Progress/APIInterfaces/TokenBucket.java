@@ -0,0 +1,64 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces calls to at most {@code capacity} in a burst and one more every refill period.
+ * <p>
+ * A caller that finds the bucket empty reserves the next free token and waits for it,
+ * so callers are served in the order they arrived.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final long refillNanos;
+
+    // may go below zero, then it counts the callers waiting for a token
+    private long tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, long refillPeriod, TimeUnit unit) {
+        this(capacity, unit.toNanos(refillPeriod), System.nanoTime());
+    }
+
+    TokenBucket(int capacity, long refillNanos, long now) {
+        if (capacity < 1 || refillNanos < 1) {
+            throw new IllegalArgumentException("capacity and refill period must be positive");
+        }
+        this.capacity = capacity;
+        this.refillNanos = refillNanos;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /*
+     * blocks until a token is available
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve(System.nanoTime());
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /*
+     * takes a token and returns how many nanoseconds the caller has to wait for it
+     */
+    synchronized long reserve(long now) {
+        long earned = (now - lastRefill) / refillNanos;
+        if (earned > 0) {
+            tokens = Math.min(capacity, tokens + earned);
+            lastRefill += earned * refillNanos;
+        }
+        if (tokens >= capacity) {
+            // a full bucket doesn't keep earning
+            lastRefill = now;
+        }
+
+        tokens--;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return -tokens * refillNanos - (now - lastRefill);
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.Codeforces_Progress.UserInfoClasses.ResultOfUserInfo;
+import com.example.Codeforces_Progress.UserInfoClasses.UserInfo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import retrofit2.Response;
+
+/**
+ * Joins the user.info lookups made close together into one call.
+ * <p>
+ * user.info takes a semicolon separated list of handles, so lookups are collected
+ * for a short window and sent together, a handle asked twice is only sent once.
+ * While a batch waits for the rate limit the next one keeps growing.
+ * Codeforces fails the whole call when one handle doesn't exist, that handle is
+ * failed alone and the rest of the batch is sent again.
+ */
+public class UserInfoBatcher {
+
+    static final long BATCH_WINDOW_MILLIS = 50;
+    // keeps a 200 handle watch list in one call while the URL stays a few KB
+    static final int MAX_BATCH_SIZE = 200;
+
+    private static final Pattern NOT_FOUND = Pattern.compile("User with handle (\\S+) not found");
+
+    private final ApiInterfaceGetUserInfo apiInterfaceGUI;
+    private final Executor callbackExecutor;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    // lower case handle -> lookups waiting for it, guarded by this
+    private final Map<String, List<Lookup>> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    private final Runnable flush = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    /*
+     * the listeners are called on the UI thread
+     */
+    public UserInfoBatcher(ApiInterfaceGetUserInfo apiInterfaceGUI) {
+        this(apiInterfaceGUI, new Executor() {
+            private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+            @Override
+            public void execute(Runnable command) {
+                mainHandler.post(command);
+            }
+        });
+    }
+
+    UserInfoBatcher(ApiInterfaceGetUserInfo apiInterfaceGUI, Executor callbackExecutor) {
+        this.apiInterfaceGUI = apiInterfaceGUI;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /*
+     * nothing is called once the returned lookup is cancelled
+     */
+    public Lookup lookup(String handle, Listener listener) {
+        Lookup lookup = new Lookup(handle, listener);
+        synchronized (this) {
+            String key = key(handle);
+            List<Lookup> lookups = pending.get(key);
+            if (lookups == null) {
+                lookups = new ArrayList<>();
+                pending.put(key, lookups);
+            }
+            lookups.add(lookup);
+            scheduleFlush();
+        }
+        return lookup;
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            executor.schedule(flush, BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        Map<String, List<Lookup>> batch = new LinkedHashMap<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, List<Lookup>>> entries = pending.entrySet().iterator();
+            while (entries.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                Map.Entry<String, List<Lookup>> entry = entries.next();
+                entries.remove();
+                if (!allCancelled(entry.getValue())) {
+                    batch.put(entry.getKey(), entry.getValue());
+                }
+            }
+            flushScheduled = false;
+            if (!pending.isEmpty()) {
+                scheduleFlush();
+            }
+        }
+        if (!batch.isEmpty()) {
+            fetch(batch);
+        }
+    }
+
+    private void fetch(Map<String, List<Lookup>> batch) {
+        List<String> handles = new ArrayList<>();
+        for (List<Lookup> lookups : batch.values()) {
+            handles.add(lookups.get(0).handle);
+        }
+
+        while (!handles.isEmpty()) {
+            Response<UserInfo> response;
+            try {
+                response = apiInterfaceGUI.getUserInfo(join(handles)).execute();
+            } catch (IOException e) {
+                failAll(batch, handles, e);
+                return;
+            }
+
+            List<ResultOfUserInfo> results = response.body() == null ? null : response.body().getResultOfUserInfo();
+            if (response.isSuccessful() && results != null && results.size() == handles.size()) {
+                // results come in the order of the requested handles
+                for (int i = 0; i < handles.size(); i++) {
+                    deliver(batch.get(key(handles.get(i))), results.get(i));
+                }
+                return;
+            }
+
+            int missing = indexOfMissingHandle(response, handles);
+            if (missing == -1) {
+                failAll(batch, handles, new IOException("user.info failed with code " + response.code()));
+                return;
+            }
+            String handle = handles.remove(missing);
+            fail(batch.get(key(handle)), new IOException(handle + " not found"));
+        }
+    }
+
+    private static int indexOfMissingHandle(Response<UserInfo> response, List<String> handles) {
+        if (response.errorBody() == null) {
+            return -1;
+        }
+        try {
+            Matcher matcher = NOT_FOUND.matcher(response.errorBody().string());
+            if (matcher.find()) {
+                return handles.indexOf(findHandle(handles, matcher.group(1)));
+            }
+        } catch (IOException e) {
+            // unreadable error, the batch fails as a whole
+        }
+        return -1;
+    }
+
+    private static String findHandle(List<String> handles, String handle) {
+        for (String h : handles) {
+            if (h.equalsIgnoreCase(handle)) {
+                return h;
+            }
+        }
+        return null;
+    }
+
+    private void deliver(List<Lookup> lookups, final ResultOfUserInfo result) {
+        for (final Lookup lookup : lookups) {
+            callbackExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!lookup.isCancelled()) {
+                        lookup.listener.onUserInfo(result);
+                    }
+                }
+            });
+        }
+    }
+
+    private void fail(List<Lookup> lookups, final Throwable t) {
+        for (final Lookup lookup : lookups) {
+            callbackExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!lookup.isCancelled()) {
+                        lookup.listener.onFailure(t);
+                    }
+                }
+            });
+        }
+    }
+
+    private void failAll(Map<String, List<Lookup>> batch, List<String> handles, Throwable t) {
+        for (String handle : handles) {
+            fail(batch.get(key(handle)), t);
+        }
+    }
+
+    private static boolean allCancelled(List<Lookup> lookups) {
+        for (Lookup lookup : lookups) {
+            if (!lookup.isCancelled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String key(String handle) {
+        return handle.toLowerCase(Locale.ROOT);
+    }
+
+    private static String join(List<String> handles) {
+        StringBuilder joined = new StringBuilder();
+        for (String handle : handles) {
+            if (joined.length() > 0) {
+                joined.append(';');
+            }
+            joined.append(handle);
+        }
+        return joined.toString();
+    }
+
+    /*
+     * a pending user.info lookup of one handle
+     */
+    public static class Lookup {
+        private final String handle;
+        private final Listener listener;
+        private volatile boolean cancelled;
+
+        private Lookup(String handle, Listener listener) {
+            this.handle = handle;
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    public interface Listener {
+        void onUserInfo(ResultOfUserInfo result);
+
+        void onFailure(Throwable t);
+    }
+}
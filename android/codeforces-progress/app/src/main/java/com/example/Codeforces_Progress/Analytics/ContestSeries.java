@@ -0,0 +1,91 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import java.util.Arrays;
+
+/**
+ * The problems a handle solved as a contestant, grouped by contest.
+ * <p>
+ * A sparse, int keyed map from contest id to the ratings solved in it: the distinct
+ * contest ids are kept sorted in one int[] and the ratings of every contest
+ * lie next to each other in a second one, so any contest id fits and
+ * nothing is allocated for contests the handle didn't take part in.
+ * Ratings of a contest keep the order they were solved in.
+ */
+public class ContestSeries {
+
+    private final int[] contestIds;
+    // ratings of contest c are ratings[starts[c]] ... ratings[starts[c + 1] - 1]
+    private final int[] starts;
+    private final int[] ratings;
+
+    public static ContestSeries of(ProgressResult progress) {
+        return new ContestSeries(progress.contestSolveIds, progress.contestSolveRatings, progress.contestSolveCount);
+    }
+
+    /*
+     * the first count solves, solveContestIds[k] is the contest of the k-th solve
+     */
+    ContestSeries(int[] solveContestIds, int[] solveRatings, int count) {
+        // contest id in the high bits and solve order in the low ones, sorting groups the solves by contest
+        long[] solves = new long[count];
+        for (int k = 0; k < count; k++) {
+            solves[k] = ((long) solveContestIds[k] << 32) | k;
+        }
+        Arrays.sort(solves);
+
+        int distinct = 0;
+        for (int k = 0; k < count; k++) {
+            if (k == 0 || (int) (solves[k] >>> 32) != (int) (solves[k - 1] >>> 32)) {
+                distinct++;
+            }
+        }
+
+        contestIds = new int[distinct];
+        starts = new int[distinct + 1];
+        ratings = new int[count];
+        int c = -1;
+        for (int k = 0; k < count; k++) {
+            int contestId = (int) (solves[k] >>> 32);
+            if (c == -1 || contestIds[c] != contestId) {
+                c++;
+                contestIds[c] = contestId;
+                starts[c] = k;
+            }
+            ratings[k] = solveRatings[(int) solves[k]];
+        }
+        starts[distinct] = count;
+    }
+
+    /*
+     * number of distinct contests
+     */
+    public int size() {
+        return contestIds.length;
+    }
+
+    /*
+     * id of the c-th contest, increasing in c
+     */
+    public int getContestId(int c) {
+        return contestIds[c];
+    }
+
+    public int getSolveCount(int c) {
+        return starts[c + 1] - starts[c];
+    }
+
+    /*
+     * rating of the k-th problem solved in the c-th contest
+     */
+    public int getRating(int c, int k) {
+        return ratings[starts[c] + k];
+    }
+
+    /*
+     * position of the contest, -1 if no problem was solved in it
+     */
+    public int indexOf(int contestId) {
+        int c = Arrays.binarySearch(contestIds, contestId);
+        return c >= 0 ? c : -1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.Codeforces_Progress.Analytics;
+
+/**
+ * Reduces a series to the points that keep its shape, with Largest-Triangle-Three-Buckets.
+ * <p>
+ * The points between the first and the last one are split into equal buckets, from every
+ * bucket the point forming the largest triangle with the point kept before it and the
+ * average of the next bucket is kept. Peaks and dips survive, runs of similar points collapse.
+ * Points are (i, ys[i]), the position in the series is the x value, which is how the
+ * solved problem scatter draws them.
+ */
+public class Downsampler {
+
+    private Downsampler() {
+    }
+
+    /*
+     * picks at most threshold (at least 3) of the points from <= i < to,
+     * writes their positions in increasing order into out and returns their count
+     * every point is kept if there are not more than threshold
+     */
+    public static int lttb(int[] ys, int from, int to, int threshold, int[] out) {
+        int count = to - from;
+        threshold = Math.max(threshold, 3);
+        if (count <= threshold) {
+            for (int i = 0; i < count; i++) {
+                out[i] = from + i;
+            }
+            return Math.max(count, 0);
+        }
+
+        // the first and the last point are always kept, the rest are split into threshold - 2 buckets
+        double bucketSize = (double) (count - 2) / (threshold - 2);
+        int kept = 0;
+        int a = from;
+        out[kept++] = a;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // average of the next bucket, the last point for the last bucket
+            int nextStart = from + (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min(from + (int) ((bucket + 2) * bucketSize) + 1, to);
+            double averageX = (nextStart + nextEnd - 1) / 2.0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageY += ys[i];
+            }
+            averageY /= nextEnd - nextStart;
+
+            int start = from + (int) (bucket * bucketSize) + 1;
+            int end = from + (int) ((bucket + 1) * bucketSize) + 1;
+            double largestArea = -1;
+            int largest = start;
+            for (int i = start; i < end; i++) {
+                // twice the triangle area, only compared
+                double area = Math.abs((a - averageX) * (ys[i] - ys[a]) - (a - i) * (averageY - ys[a]));
+                if (area > largestArea) {
+                    largestArea = area;
+                    largest = i;
+                }
+            }
+            out[kept++] = largest;
+            a = largest;
+        }
+
+        out[kept++] = to - 1;
+        return kept;
+    }
+
+    /*
+     * lttb() over the ratings of the solved problems of the result, x is the solve number
+     */
+    public static int sampleSolves(ProgressResult progress, int from, int to, int threshold, int[] out) {
+        return lttb(progress.solvedRatings, from, to, threshold, out);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of ints.
+ * <p>
+ * Keys are stored in a single int[] with linear probing, so adding and looking up
+ * never boxes and the set costs 4 bytes per slot.
+ * Integer.MIN_VALUE marks a free slot and can't be added.
+ */
+public class IntHashSet {
+
+    private static final int FREE = Integer.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public IntHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntHashSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /*
+     * returns true if the key was not in the set yet
+     */
+    public boolean add(int key) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE can't be stored");
+        }
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > resizeAt) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        if (key == FREE) {
+            return false;
+        }
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        size = 0;
+    }
+
+    /*
+     * returns the keys in no particular order
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int key : keys) {
+            if (key != FREE) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        allocate(keys.length * 2);
+        for (int key : oldKeys) {
+            if (key != FREE) {
+                int slot = mix(key) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+        // load factor 0.5 keeps probe sequences short
+        resizeAt = capacity / 2;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // spreading sequential ids over the table
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Computes the solved problem scatter, the contest series and the score of a handle.
+ * <p>
+ * Plain java without any android dependency, so it can be tested and profiled on the JVM.
+ * A single pass walks the submissions from oldest to newest, writes into primitive
+ * arrays and dedups problems with an {@link IntHashSet} of problem ids.
+ * <p>
+ * The pass carries all its state in the {@link ProgressResult} it returns, so newer submissions
+ * can be folded into a stored result ({@link #fold(ProgressResult, SubmissionColumns)})
+ * with the work of the new submissions only, computing from scratch is folding into an empty result.
+ */
+public class ProgressEngine {
+
+    public static final int MIN_RATING = 800;
+    public static final int MAX_RATING = 3500;
+    public static final int BUCKETS = ProgressResult.bucketOf(MAX_RATING) + 1;
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    // order of ProgressResult.solvedNames, the cached hash decides before the characters are compared
+    static final Comparator<String> SOLVED_NAME_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String a, String b) {
+            int byHash = Integer.compare(a.hashCode(), b.hashCode());
+            return byHash != 0 ? byHash : a.compareTo(b);
+        }
+    };
+
+    /*
+     * submissions must be sorted in decreasing order of submission id like user.status
+     */
+    public ProgressResult compute(SubmissionColumns submissions) {
+        return fold(ProgressResult.empty(), submissions);
+    }
+
+    /*
+     * the result of computing over the submissions the snapshot was computed from plus the given ones,
+     * which must be sorted in decreasing order of submission id like user.status
+     * submissions the snapshot has seen already are skipped, returns null if one of them
+     * is accepted now (its verdict came after the snapshot), the result has to be computed from scratch then
+     */
+    public ProgressResult fold(ProgressResult snapshot, SubmissionColumns submissions) {
+        int rows = submissions.size();
+        int newProblems = Math.min(rows, submissions.getProblemCount());
+
+        // problems solved in this pass, the ones solved before are looked up in the sorted names of the snapshot
+        IntHashSet solvedProblems = new IntHashSet(submissions.getProblemCount());
+        String[] newSolvedNames = new String[newProblems];
+        int newSolvedCount = 0;
+        boolean hasSolvedBefore = snapshot.solvedNames.length > 0;
+
+        int solvedCount = snapshot.solvedCount;
+        int[] solvedRatings = Arrays.copyOf(snapshot.solvedRatings, solvedCount + newProblems);
+        int[] bucketCounts = Arrays.copyOf(snapshot.bucketCounts, BUCKETS);
+
+        int contestSolveCount = snapshot.contestSolveCount;
+        int[] contestSolveIds = Arrays.copyOf(snapshot.contestSolveIds, contestSolveCount + newProblems);
+        int[] contestSolveRatings = Arrays.copyOf(snapshot.contestSolveRatings, contestSolveCount + newProblems);
+        int minContestId = contestSolveCount > 0 ? snapshot.minContestId : Integer.MAX_VALUE;
+        int maxContestId = snapshot.maxContestId;
+
+        long currentValue = snapshot.currentValue, prevSubmissionTime = snapshot.lastSolveTime, diff = 0;
+        long lastSubmissionId = snapshot.lastSubmissionId;
+        int lastAcceptedRow = -1;
+
+        // walking backwards to get oldest to newest submission results
+        for (int i = rows - 1; i >= 0; i--) {
+            long id = submissions.getId(i);
+            if (id <= snapshot.lastSubmissionId) {
+                if (submissions.isAccepted(i)) {
+                    return null;
+                }
+                continue;
+            }
+            lastSubmissionId = Math.max(lastSubmissionId, id);
+
+            if (!submissions.isAccepted(i)) {
+                continue;
+            }
+            lastAcceptedRow = i;
+
+            int y = submissions.getRating(i);
+            if (y < MIN_RATING || y > MAX_RATING || !solvedProblems.add(submissions.getProblemId(i))) {
+                continue;
+            }
+            // a missing name sorts as the empty one
+            String name = submissions.getProblemName(i) == null ? "" : submissions.getProblemName(i);
+            if (hasSolvedBefore && Arrays.binarySearch(snapshot.solvedNames, name, SOLVED_NAME_ORDER) >= 0) {
+                continue;
+            }
+            newSolvedNames[newSolvedCount++] = name;
+
+            // storing rating of the solved problem, x is its position in the list
+            solvedRatings[solvedCount] = y;
+            bucketCounts[ProgressResult.bucketOf(y)]++;
+
+            // getting two consecutive different accepted problem submission time in days
+            long submissionTime = submissions.getCreationTimeSeconds(i);
+            if (solvedCount > 0) {
+                diff = (submissionTime - prevSubmissionTime) / SECONDS_PER_DAY;
+            }
+            prevSubmissionTime = submissionTime;
+            solvedCount++;
+
+            currentValue += (y - y * penalty(y) * diff);
+
+            // storing those problems which were solved in contest time
+            if (submissions.isContestant(i)) {
+                int contestId = submissions.getContestId(i);
+                contestSolveIds[contestSolveCount] = contestId;
+                contestSolveRatings[contestSolveCount] = y;
+                contestSolveCount++;
+                minContestId = Math.min(minContestId, contestId);
+                maxContestId = Math.max(maxContestId, contestId);
+            }
+        }
+
+        if (contestSolveCount == 0) {
+            minContestId = 0;
+        }
+        long userScore = solvedCount > 0 ? currentValue / 35 / solvedCount : 0;
+
+        String lastAcceptedName = snapshot.lastAcceptedName;
+        int lastAcceptedRating = snapshot.lastAcceptedRating;
+        long lastAcceptedTime = snapshot.lastAcceptedTime;
+        if (lastAcceptedRow != -1) {
+            lastAcceptedName = submissions.getProblemName(lastAcceptedRow);
+            lastAcceptedRating = submissions.getRating(lastAcceptedRow);
+            lastAcceptedTime = submissions.getCreationTimeSeconds(lastAcceptedRow);
+        }
+
+        return new ProgressResult(solvedRatings, solvedCount, bucketCounts,
+                contestSolveIds, contestSolveRatings, contestSolveCount,
+                minContestId, maxContestId, currentValue, userScore,
+                lastAcceptedName, lastAcceptedRating, lastAcceptedTime,
+                merge(snapshot.solvedNames, newSolvedNames, newSolvedCount), lastSubmissionId, prevSubmissionTime);
+    }
+
+    /*
+     * daily penalty of a solved problem, harder problems lose their value slower
+     * y / 6000 is an integer division, kept as it is so scores don't change
+     */
+    static double penalty(int y) {
+        if (y < 2500) {
+            return (Math.sqrt(2500 - y) + 1) * 0.005;
+        } else {
+            return ((y / 6000 - 0.6) * (y / 6000 - 0.6)) + 0.01;
+        }
+    }
+
+    /*
+     * sorted union of the sorted names and the first count added ones, which are distinct from them
+     */
+    private static String[] merge(String[] sorted, String[] added, int count) {
+        Arrays.sort(added, 0, count, SOLVED_NAME_ORDER);
+        String[] merged = new String[sorted.length + count];
+        int i = 0, j = 0, k = 0;
+        while (i < sorted.length && j < count) {
+            merged[k++] = SOLVED_NAME_ORDER.compare(sorted[i], added[j]) < 0 ? sorted[i++] : added[j++];
+        }
+        while (i < sorted.length) {
+            merged[k++] = sorted[i++];
+        }
+        while (j < count) {
+            merged[k++] = added[j++];
+        }
+        return merged;
+    }
+}
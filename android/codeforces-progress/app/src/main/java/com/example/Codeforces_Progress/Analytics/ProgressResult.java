@@ -0,0 +1,263 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Everything DataActivity draws from a handle's submissions,
+ * computed by {@link ProgressEngine}.
+ * <p>
+ * A result is stored as a snapshot of its handle ({@link #toBytes()}), so a profile
+ * can be drawn without the submissions it was computed from. It also keeps what
+ * {@link ProgressEngine#fold(ProgressResult, SubmissionColumns)} needs to carry on
+ * with newer submissions: the solved problems, the last submission seen and the last solve time.
+ */
+public class ProgressResult {
+
+    // bumped whenever the snapshot layout changes, older snapshots are computed again
+    private static final int SNAPSHOT_FORMAT = 2;
+
+    // rating of the k-th distinct rated problem solved, oldest first
+    final int[] solvedRatings;
+    final int solvedCount;
+
+    // number of solved problems in every rating bucket of 100, bucket 0 is 800
+    final int[] bucketCounts;
+
+    // problems solved as a contestant, oldest first
+    final int[] contestSolveIds;
+    final int[] contestSolveRatings;
+    final int contestSolveCount;
+    final int minContestId, maxContestId;
+
+    final long currentValue;
+    final long userScore;
+
+    // newest accepted submission, name is null if there is none
+    final String lastAcceptedName;
+    final int lastAcceptedRating;
+    final long lastAcceptedTime;
+
+    // names of the solved rated problems, sorted by ProgressEngine.SOLVED_NAME_ORDER
+    final String[] solvedNames;
+    // highest submission id folded in, 0 if none
+    final long lastSubmissionId;
+    // submission time of the last counted solve, the next solve is penalized from it
+    final long lastSolveTime;
+
+    ProgressResult(int[] solvedRatings, int solvedCount, int[] bucketCounts,
+                   int[] contestSolveIds, int[] contestSolveRatings, int contestSolveCount,
+                   int minContestId, int maxContestId, long currentValue, long userScore,
+                   String lastAcceptedName, int lastAcceptedRating, long lastAcceptedTime,
+                   String[] solvedNames, long lastSubmissionId, long lastSolveTime) {
+        this.solvedRatings = solvedRatings;
+        this.solvedCount = solvedCount;
+        this.bucketCounts = bucketCounts;
+        this.contestSolveIds = contestSolveIds;
+        this.contestSolveRatings = contestSolveRatings;
+        this.contestSolveCount = contestSolveCount;
+        this.minContestId = minContestId;
+        this.maxContestId = maxContestId;
+        this.currentValue = currentValue;
+        this.userScore = userScore;
+        this.lastAcceptedName = lastAcceptedName;
+        this.lastAcceptedRating = lastAcceptedRating;
+        this.lastAcceptedTime = lastAcceptedTime;
+        this.solvedNames = solvedNames;
+        this.lastSubmissionId = lastSubmissionId;
+        this.lastSolveTime = lastSolveTime;
+    }
+
+    /*
+     * the result of no submissions
+     */
+    static ProgressResult empty() {
+        return new ProgressResult(new int[0], 0, new int[ProgressEngine.BUCKETS], new int[0], new int[0], 0,
+                0, 0, 0, 0, null, SubmissionColumns.NO_RATING, 0, new String[0], 0, 0);
+    }
+
+    /*
+     * number of distinct rated problems solved
+     */
+    public int getSolvedCount() {
+        return solvedCount;
+    }
+
+    /*
+     * rating of the k-th solved problem, 0 <= k < getSolvedCount()
+     */
+    public int getSolvedRating(int k) {
+        return solvedRatings[k];
+    }
+
+    /*
+     * rating bucket of a rating, 800 -> 0 ... 3500 -> 27
+     */
+    public static int bucketOf(int rating) {
+        return rating / 100 - 8;
+    }
+
+    public int getBucketCount(int bucket) {
+        return bucketCounts[bucket];
+    }
+
+    /*
+     * number of problems solved as a contestant
+     */
+    public int getContestSolveCount() {
+        return contestSolveCount;
+    }
+
+    public int getContestSolveId(int k) {
+        return contestSolveIds[k];
+    }
+
+    public int getContestSolveRating(int k) {
+        return contestSolveRatings[k];
+    }
+
+    public int getMinContestId() {
+        return minContestId;
+    }
+
+    public int getMaxContestId() {
+        return maxContestId;
+    }
+
+    public long getCurrentValue() {
+        return currentValue;
+    }
+
+    /*
+     * score out of 100
+     */
+    public long getUserScore() {
+        return userScore;
+    }
+
+    /*
+     * problem name of the newest accepted submission, null if there is none
+     */
+    public String getLastAcceptedName() {
+        return lastAcceptedName;
+    }
+
+    /*
+     * SubmissionColumns.NO_RATING if the problem has no rating
+     */
+    public int getLastAcceptedRating() {
+        return lastAcceptedRating;
+    }
+
+    public long getLastAcceptedTimeSeconds() {
+        return lastAcceptedTime;
+    }
+
+    /*
+     * highest submission id the result was computed over, 0 if none
+     */
+    public long getLastSubmissionId() {
+        return lastSubmissionId;
+    }
+
+    /*
+     * the snapshot stored for the handle, read back with fromBytes()
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + 24 * solvedCount + 8 * contestSolveCount);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(SNAPSHOT_FORMAT);
+            writeInts(out, solvedRatings, solvedCount);
+            writeInts(out, bucketCounts, bucketCounts.length);
+            writeInts(out, contestSolveIds, contestSolveCount);
+            writeInts(out, contestSolveRatings, contestSolveCount);
+            out.writeInt(minContestId);
+            out.writeInt(maxContestId);
+            out.writeLong(currentValue);
+            out.writeLong(userScore);
+            out.writeBoolean(lastAcceptedName != null);
+            if (lastAcceptedName != null) {
+                out.writeUTF(lastAcceptedName);
+            }
+            out.writeInt(lastAcceptedRating);
+            out.writeLong(lastAcceptedTime);
+            out.writeInt(solvedNames.length);
+            for (String name : solvedNames) {
+                out.writeUTF(name);
+            }
+            out.writeLong(lastSubmissionId);
+            out.writeLong(lastSolveTime);
+            out.flush();
+        } catch (IOException e) {
+            // a ByteArrayOutputStream doesn't throw
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /*
+     * null if the snapshot was written in another format or is damaged,
+     * the result has to be computed again then
+     */
+    public static ProgressResult fromBytes(byte[] snapshot) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+        try {
+            if (in.readInt() != SNAPSHOT_FORMAT) {
+                return null;
+            }
+            int[] solvedRatings = readInts(in);
+            int[] bucketCounts = readInts(in);
+            int[] contestSolveIds = readInts(in);
+            int[] contestSolveRatings = readInts(in);
+            int minContestId = in.readInt();
+            int maxContestId = in.readInt();
+            long currentValue = in.readLong();
+            long userScore = in.readLong();
+            String lastAcceptedName = in.readBoolean() ? in.readUTF() : null;
+            int lastAcceptedRating = in.readInt();
+            long lastAcceptedTime = in.readLong();
+            int solvedNameCount = in.readInt();
+            if (solvedNameCount < 0 || solvedNameCount > in.available() / 2) {
+                throw new IOException("damaged snapshot");
+            }
+            String[] solvedNames = new String[solvedNameCount];
+            for (int i = 0; i < solvedNameCount; i++) {
+                solvedNames[i] = in.readUTF();
+            }
+            long lastSubmissionId = in.readLong();
+            long lastSolveTime = in.readLong();
+            return new ProgressResult(solvedRatings, solvedRatings.length, bucketCounts,
+                    contestSolveIds, contestSolveRatings, contestSolveIds.length,
+                    minContestId, maxContestId, currentValue, userScore,
+                    lastAcceptedName, lastAcceptedRating, lastAcceptedTime,
+                    solvedNames, lastSubmissionId, lastSolveTime);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values, int count) throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > in.available() / 4) {
+            throw new IOException("damaged snapshot");
+        }
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.Codeforces_Progress.Analytics;
+
+/**
+ * How the difficulty of the problems a handle solves grows, for comparing handles.
+ * <p>
+ * The k-th point is the mean rating of the solves k - WINDOW + 1 ... k (fewer for the first ones),
+ * computed with a running window sum in one pass. Handles with long histories are drawn through
+ * {@link #sample(int, int[])}, which keeps the shape of the curve with {@link Downsampler#lttb}.
+ */
+public class RatingProgress {
+
+    public static final int WINDOW = 50;
+
+    private final int[] means;
+
+    public static RatingProgress of(ProgressResult progress) {
+        return new RatingProgress(progress.solvedRatings, progress.solvedCount);
+    }
+
+    RatingProgress(int[] solvedRatings, int count) {
+        means = new int[count];
+        // the solve leaving the window is subtracted again
+        long windowSum = 0;
+        for (int k = 0; k < count; k++) {
+            windowSum += solvedRatings[k];
+            if (k >= WINDOW) {
+                windowSum -= solvedRatings[k - WINDOW];
+            }
+            means[k] = (int) (windowSum / Math.min(k + 1, WINDOW));
+        }
+    }
+
+    /*
+     * number of points, one per solved problem
+     */
+    public int size() {
+        return means.length;
+    }
+
+    /*
+     * mean rating of the window ending at the k-th solved problem
+     */
+    public int getMean(int k) {
+        return means[k];
+    }
+
+    /*
+     * writes the positions of at most threshold points keeping the shape of the curve into out,
+     * which must have room for size() positions, and returns their count
+     */
+    public int sample(int threshold, int[] out) {
+        return Downsampler.lttb(means, 0, means.length, threshold, out);
+    }
+}
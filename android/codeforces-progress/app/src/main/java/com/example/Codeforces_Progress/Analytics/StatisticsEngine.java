@@ -0,0 +1,134 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import java.util.HashMap;
+
+/**
+ * Computes the solved counts per tag, the rating histogram, the verdict distribution,
+ * the daily solve streaks and the time to accepted of every solved problem of a handle.
+ * <p>
+ * Plain java like {@link ProgressEngine}. One pass walks the submissions from oldest to newest,
+ * every counter is a primitive array sized before the pass, by the number of tags, rating buckets,
+ * verdicts or problems, so the pass allocates nothing per submission.
+ * A problem is one problem name, like the solved problems of {@link ProgressEngine},
+ * and is solved by its first accepted submission.
+ */
+public class StatisticsEngine {
+
+    // the verdicts of the Codeforces API, a submission in queue (no verdict) counts as TESTING
+    public static final String[] VERDICTS = {
+            "OK", "WRONG_ANSWER", "TIME_LIMIT_EXCEEDED", "MEMORY_LIMIT_EXCEEDED", "RUNTIME_ERROR",
+            "COMPILATION_ERROR", "IDLENESS_LIMIT_EXCEEDED", "PRESENTATION_ERROR", "CHALLENGED", "SKIPPED",
+            "PARTIAL", "FAILED", "SECURITY_VIOLATED", "CRASHED", "INPUT_PREPARATION_CRASHED", "REJECTED", "TESTING",
+    };
+    // index of the verdicts not in VERDICTS
+    public static final int OTHER_VERDICT = VERDICTS.length;
+
+    static final long SECONDS_PER_DAY = 86400;
+
+    private static final int TESTING = VERDICTS.length - 1;
+    private static final HashMap<String, Integer> verdictIndexes = new HashMap<>();
+
+    static {
+        for (int v = 0; v < VERDICTS.length; v++) {
+            verdictIndexes.put(VERDICTS[v], v);
+        }
+    }
+
+    /*
+     * submissions must be sorted in decreasing order of submission id like user.status
+     * days start at midnight of the time zone utcOffsetSeconds east of UTC
+     */
+    public StatisticsResult compute(SubmissionColumns submissions, int utcOffsetSeconds) {
+        int rows = submissions.size();
+        int problems = submissions.getProblemCount();
+
+        int[] tagSolvedCounts = new int[submissions.getTagCount()];
+        int[] ratingHistogram = new int[ProgressEngine.BUCKETS];
+        int unratedSolvedCount = 0;
+        int[] verdictCounts = new int[VERDICTS.length + 1];
+
+        // attempts and first submission time of every problem, until it is solved
+        int[] attempts = new int[problems];
+        long[] firstSubmitted = new long[problems];
+        boolean[] solved = new boolean[problems];
+
+        int solvedCount = 0;
+        int[] solvedRows = new int[problems];
+        int[] attemptsToAccepted = new int[problems];
+        long[] secondsToAccepted = new long[problems];
+
+        long lastSolveDay = Long.MIN_VALUE;
+        int activeDays = 0, streak = 0, longestStreak = 0;
+
+        // walking backwards to get oldest to newest submission results
+        for (int i = rows - 1; i >= 0; i--) {
+            verdictCounts[verdictIndex(submissions.getVerdict(i))]++;
+
+            int problem = submissions.getProblemId(i);
+            if (solved[problem]) {
+                continue;
+            }
+            long time = submissions.getCreationTimeSeconds(i);
+            if (attempts[problem]++ == 0) {
+                firstSubmitted[problem] = time;
+            }
+            if (!submissions.isAccepted(i)) {
+                continue;
+            }
+            solved[problem] = true;
+
+            solvedRows[solvedCount] = i;
+            attemptsToAccepted[solvedCount] = attempts[problem];
+            secondsToAccepted[solvedCount] = time - firstSubmitted[problem];
+            solvedCount++;
+
+            int rating = submissions.getRating(i);
+            if (rating >= ProgressEngine.MIN_RATING && rating <= ProgressEngine.MAX_RATING) {
+                ratingHistogram[ProgressResult.bucketOf(rating)]++;
+            } else {
+                unratedSolvedCount++;
+            }
+
+            for (long tags = submissions.getTags(i); tags != 0; tags &= tags - 1) {
+                tagSolvedCounts[Long.numberOfTrailingZeros(tags)]++;
+            }
+
+            long day = dayOf(time, utcOffsetSeconds);
+            if (day != lastSolveDay) {
+                streak = day == lastSolveDay + 1 ? streak + 1 : 1;
+                longestStreak = Math.max(longestStreak, streak);
+                lastSolveDay = day;
+                activeDays++;
+            }
+        }
+
+        String[] tagNames = new String[tagSolvedCounts.length];
+        for (int t = 0; t < tagNames.length; t++) {
+            tagNames[t] = submissions.getTagName(t);
+        }
+        String[] solvedNames = new String[solvedCount];
+        for (int k = 0; k < solvedCount; k++) {
+            solvedNames[k] = submissions.getProblemName(solvedRows[k]);
+        }
+
+        return new StatisticsResult(tagNames, tagSolvedCounts, ratingHistogram, unratedSolvedCount, verdictCounts,
+                solvedNames, attemptsToAccepted, secondsToAccepted, solvedCount,
+                activeDays, longestStreak, streak, lastSolveDay, utcOffsetSeconds);
+    }
+
+    static long dayOf(long timeSeconds, int utcOffsetSeconds) {
+        long local = timeSeconds + utcOffsetSeconds;
+        // rounding down for times before the epoch too
+        return local >= 0 ? local / SECONDS_PER_DAY : (local + 1) / SECONDS_PER_DAY - 1;
+    }
+
+    private static int verdictIndex(String verdict) {
+        if (verdict == null) {
+            return TESTING;
+        }
+        Integer index = verdictIndexes.get(verdict);
+        return index != null ? index : OTHER_VERDICT;
+    }
+}
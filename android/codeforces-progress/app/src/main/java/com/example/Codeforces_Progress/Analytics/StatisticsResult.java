@@ -0,0 +1,158 @@
+package com.example.Codeforces_Progress.Analytics;
+
+/**
+ * The statistics of a handle's submissions, computed by {@link StatisticsEngine}.
+ * <p>
+ * Counters are kept in the arrays the pass filled, the solved problems in the order they were solved.
+ */
+public class StatisticsResult {
+
+    // solved problems with the t-th tag
+    final String[] tagNames;
+    final int[] tagSolvedCounts;
+
+    // solved problems in every rating bucket of 100, bucket 0 is 800, like ProgressResult
+    final int[] ratingHistogram;
+    final int unratedSolvedCount;
+
+    // submissions with every verdict of StatisticsEngine.VERDICTS, then the other ones
+    final int[] verdictCounts;
+
+    // k-th solved problem, its submissions up to the first accepted one and the time between them
+    final String[] solvedNames;
+    final int[] attemptsToAccepted;
+    final long[] secondsToAccepted;
+    final int solvedCount;
+
+    // days with a solve, the longest run of consecutive ones and the run ending with the last one
+    final int activeDays;
+    final int longestStreak;
+    final int lastStreak;
+    final long lastSolveDay;
+    final int utcOffsetSeconds;
+
+    StatisticsResult(String[] tagNames, int[] tagSolvedCounts, int[] ratingHistogram, int unratedSolvedCount,
+                     int[] verdictCounts, String[] solvedNames, int[] attemptsToAccepted, long[] secondsToAccepted,
+                     int solvedCount, int activeDays, int longestStreak, int lastStreak, long lastSolveDay,
+                     int utcOffsetSeconds) {
+        this.tagNames = tagNames;
+        this.tagSolvedCounts = tagSolvedCounts;
+        this.ratingHistogram = ratingHistogram;
+        this.unratedSolvedCount = unratedSolvedCount;
+        this.verdictCounts = verdictCounts;
+        this.solvedNames = solvedNames;
+        this.attemptsToAccepted = attemptsToAccepted;
+        this.secondsToAccepted = secondsToAccepted;
+        this.solvedCount = solvedCount;
+        this.activeDays = activeDays;
+        this.longestStreak = longestStreak;
+        this.lastStreak = lastStreak;
+        this.lastSolveDay = lastSolveDay;
+        this.utcOffsetSeconds = utcOffsetSeconds;
+    }
+
+    /*
+     * number of distinct tags of the submitted problems
+     */
+    public int getTagCount() {
+        return tagNames.length;
+    }
+
+    public String getTagName(int t) {
+        return tagNames[t];
+    }
+
+    /*
+     * number of solved problems with the t-th tag
+     */
+    public int getTagSolvedCount(int t) {
+        return tagSolvedCounts[t];
+    }
+
+    /*
+     * number of solved problems rated in the bucket, see ProgressResult.bucketOf()
+     */
+    public int getRatingHistogramCount(int bucket) {
+        return ratingHistogram[bucket];
+    }
+
+    /*
+     * number of solved problems without a rating
+     */
+    public int getUnratedSolvedCount() {
+        return unratedSolvedCount;
+    }
+
+    /*
+     * number of submissions with StatisticsEngine.VERDICTS[v], v = OTHER_VERDICT counts the unknown ones
+     */
+    public int getVerdictCount(int v) {
+        return verdictCounts[v];
+    }
+
+    /*
+     * number of distinct problems solved, rated or not
+     */
+    public int getSolvedCount() {
+        return solvedCount;
+    }
+
+    /*
+     * name of the k-th solved problem, 0 <= k < getSolvedCount()
+     */
+    public String getSolvedName(int k) {
+        return solvedNames[k];
+    }
+
+    /*
+     * submissions on the k-th solved problem up to and including its first accepted one
+     */
+    public int getAttemptsToAccepted(int k) {
+        return attemptsToAccepted[k];
+    }
+
+    /*
+     * seconds from the first submission on the k-th solved problem to its first accepted one
+     */
+    public long getSecondsToAccepted(int k) {
+        return secondsToAccepted[k];
+    }
+
+    /*
+     * number of solved problems accepted with the first submission
+     */
+    public int getFirstTrySolvedCount() {
+        int firstTry = 0;
+        for (int k = 0; k < solvedCount; k++) {
+            if (attemptsToAccepted[k] == 1) {
+                firstTry++;
+            }
+        }
+        return firstTry;
+    }
+
+    /*
+     * number of days with at least one solve
+     */
+    public int getActiveDays() {
+        return activeDays;
+    }
+
+    /*
+     * most consecutive days with a solve
+     */
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    /*
+     * consecutive days with a solve up to today, still counted today if the last solve was yesterday
+     */
+    public int getCurrentStreak(long nowSeconds) {
+        if (activeDays == 0) {
+            return 0;
+        }
+        long today = StatisticsEngine.dayOf(nowSeconds, utcOffsetSeconds);
+        return lastSolveDay >= today - 1 ? lastStreak : 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.Codeforces_Progress.Avatars;
+
+import android.content.Context;
+import android.widget.ImageView;
+
+import com.example.Codeforces_Progress.APIInterfaces.ApiClient;
+import com.example.Codeforces_Progress.R;
+import com.squareup.picasso.LruCache;
+import com.squareup.picasso.Picasso;
+
+import java.io.File;
+
+/**
+ * Loads the avatars of handles into image views.
+ * <p>
+ * One Picasso instance for the app, set up so a scrolled handle list never
+ * downloads or decodes an avatar twice:
+ * decoded bitmaps are kept in a memory LRU of an eighth of the heap,
+ * downloads go through {@link ApiClient#newImageClient(File, long)} whose disk cache
+ * survives restarts, images are decoded down to the size of their view,
+ * and Picasso joins requests for the same image and size while they are in flight
+ * (the image client joins those for the same url).
+ */
+public class AvatarLoader {
+
+    private static final String CACHE_DIRECTORY = "avatar-cache";
+    private static final long DISK_CACHE_SIZE = 10 * 1024 * 1024;
+    private static final int MEMORY_CACHE_FRACTION = 8;
+
+    private static AvatarLoader instance;
+
+    private final Picasso picasso;
+
+    public static synchronized AvatarLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new AvatarLoader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AvatarLoader(Context context) {
+        File cacheDirectory = new File(context.getCacheDir(), CACHE_DIRECTORY);
+        int memoryCacheSize = (int) (Runtime.getRuntime().maxMemory() / MEMORY_CACHE_FRACTION);
+
+        picasso = new Picasso.Builder(context)
+                .downloader(new OkHttp3Downloader(ApiClient.getInstance(context).newImageClient(cacheDirectory, DISK_CACHE_SIZE)))
+                .memoryCache(new LruCache(memoryCacheSize))
+                .build();
+    }
+
+    /*
+     * the view has to have a fixed size, the image is decoded to it,
+     * the default avatar is shown while loading and if there is no url
+     */
+    public void load(String url, ImageView imageView) {
+        if (url == null || url.isEmpty()) {
+            picasso.cancelRequest(imageView);
+            imageView.setImageResource(R.drawable.user);
+            return;
+        }
+        picasso.load(url)
+                .placeholder(R.drawable.user)
+                .fit()
+                .centerCrop()
+                .into(imageView);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.Codeforces_Progress.Avatars;
+
+import android.net.Uri;
+
+import com.squareup.picasso.Downloader;
+import com.squareup.picasso.NetworkPolicy;
+
+import java.io.IOException;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+
+/**
+ * Lets Picasso download through an OkHttp 3 client.
+ * <p>
+ * Picasso 2.5 only finds OkHttp 2 on its own and falls back to HttpURLConnection,
+ * which has no disk cache unless one is installed. Picasso's network policy is
+ * mapped to the request's cache control.
+ */
+class OkHttp3Downloader implements Downloader {
+
+    private final OkHttpClient client;
+
+    OkHttp3Downloader(OkHttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Response load(Uri uri, int networkPolicy) throws IOException {
+        Request.Builder request = new Request.Builder().url(uri.toString());
+        if (NetworkPolicy.isOfflineOnly(networkPolicy)) {
+            request.cacheControl(CacheControl.FORCE_CACHE);
+        } else if (networkPolicy != 0) {
+            CacheControl.Builder cacheControl = new CacheControl.Builder();
+            if (!NetworkPolicy.shouldReadFromDiskCache(networkPolicy)) {
+                cacheControl.noCache();
+            }
+            if (!NetworkPolicy.shouldWriteToDiskCache(networkPolicy)) {
+                cacheControl.noStore();
+            }
+            request.cacheControl(cacheControl.build());
+        }
+
+        okhttp3.Response response = client.newCall(request.build()).execute();
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            if (body != null) {
+                body.close();
+            }
+            throw new ResponseException(response.code() + " " + response.message(), networkPolicy, response.code());
+        }
+        return new Response(body.byteStream(), response.cacheResponse() != null, body.contentLength());
+    }
+
+    @Override
+    public void shutdown() {
+        Cache cache = client.cache();
+        if (cache != null) {
+            try {
+                cache.close();
+            } catch (IOException ignored) {
+                // the cache is only read again by a new process
+            }
+        }
+    }
+}
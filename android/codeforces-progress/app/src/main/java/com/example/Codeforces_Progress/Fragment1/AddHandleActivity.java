@@ -12,9 +12,10 @@ import android.widget.Button;
 import android.widget.EditText;
 import android.widget.Toast;
 
+import com.example.Codeforces_Progress.APIInterfaces.ApiClient;
 import com.example.Codeforces_Progress.APIInterfaces.ApiInterfaceGetUserInfo;
 import com.example.Codeforces_Progress.R;
-import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.SQLiteDataBase.HandleRepository;
 import com.example.Codeforces_Progress.UserInfoClasses.ResultOfUserInfo;
 import com.example.Codeforces_Progress.UserInfoClasses.UserInfo;
 
@@ -24,15 +25,12 @@ import java.util.Objects;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class AddHandleActivity extends AppCompatActivity {
 
-    private static final String TAG = "AddHandleActivity",
-                                BASE_URL = "https://codeforces.com/api/";
+    private static final String TAG = "AddHandleActivity";
     private EditText editTextHandle; // taking input handle from the user
-    private DataBaseHelper dataBaseHelper;
+    private HandleRepository handleRepository;
     private ApiInterfaceGetUserInfo apiInterfaceGUI;
     private String imageUrl, handle;
 
@@ -44,7 +42,7 @@ public class AddHandleActivity extends AppCompatActivity {
         setLayoutSize();
         retrofit();
 
-        dataBaseHelper = new DataBaseHelper(this);
+        handleRepository = HandleRepository.getInstance(this);
 
         // submitting the input handle
         Button addButton = findViewById(R.id.addButtonId);
@@ -68,14 +66,19 @@ public class AddHandleActivity extends AppCompatActivity {
                                 assert response.body() != null;
                                 List<ResultOfUserInfo> results = response.body().getResultOfUserInfo();
                                 ResultOfUserInfo result = results.get(0);
-                                imageUrl = "https:" + result.getTitlePhoto();
-
-                                long rowId = dataBaseHelper.insertHandle(handle, imageUrl);
-                                if (rowId != -1) {
-                                    toastMessage("Successfully added " + handle);
-                                } else {
-                                    toastMessage("Failed to add " + handle);
-                                }
+                                imageUrl = result.getTitlePhotoUrl();
+
+                                final String addedHandle = handle;
+                                handleRepository.insertHandle(addedHandle, imageUrl, new HandleRepository.Callback<Long>() {
+                                    @Override
+                                    public void onResult(Long rowId) {
+                                        if (rowId != -1) {
+                                            toastMessage("Successfully added " + addedHandle);
+                                        } else {
+                                            toastMessage("Failed to add " + addedHandle);
+                                        }
+                                    }
+                                });
                             } catch (Exception e) {
                                 toastMessage(handle + " not found!");
                                 Log.d("BUGGUB", Objects.requireNonNull(e.getMessage()));
@@ -106,13 +109,7 @@ public class AddHandleActivity extends AppCompatActivity {
     }
 
     private void retrofit() {
-        // API client library
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        apiInterfaceGUI = retrofit.create(ApiInterfaceGetUserInfo.class);
+        apiInterfaceGUI = ApiClient.getInstance(this).getUserInfoApi();
     }
 
     private void toastMessage(String message) {
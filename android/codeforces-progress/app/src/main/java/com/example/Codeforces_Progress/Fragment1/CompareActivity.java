@@ -0,0 +1,184 @@
+package com.example.Codeforces_Progress.Fragment1;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.ListView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.Codeforces_Progress.APIInterfaces.ApiClient;
+import com.example.Codeforces_Progress.Analytics.RatingProgress;
+import com.example.Codeforces_Progress.R;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.SQLiteDataBase.HandleRepository;
+import com.example.Codeforces_Progress.Sync.SubmissionSync;
+import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.components.XAxis;
+import com.github.mikephil.charting.components.YAxis;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.interfaces.datasets.ILineDataSet;
+import com.github.mikephil.charting.utils.ColorTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * Overlays the rating progress of the checked saved handles in one line chart.
+ * <p>
+ * x is the solve number and y the mean rating of the last {@link RatingProgress#WINDOW}
+ * solved problems, every handle is loaded by {@link ComparisonLoader} when it is checked.
+ */
+public class CompareActivity extends AppCompatActivity {
+
+    private static final String TAG = "CompareActivity";
+
+    private LineChart lineChart;
+    private ListView handleList;
+    private ComparisonLoader comparisonLoader;
+
+    private final List<String> handles = new ArrayList<>();
+    private ArrayAdapter<String> handleAdapter;
+    private Future<List<String>> handlesRequest;
+    // checked handle -> its curve, in the order they were loaded
+    private final Map<String, RatingProgress> compared = new LinkedHashMap<>();
+    private int[] colors;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_compare);
+
+        lineChart = findViewById(R.id.compareChartId);
+        handleList = findViewById(R.id.compareHandlesId);
+
+        DataBaseHelper dataBaseHelper = DataBaseHelper.getInstance(this);
+        SubmissionSync submissionSync = new SubmissionSync(dataBaseHelper, ApiClient.getInstance(this).getStatusApi());
+        comparisonLoader = new ComparisonLoader(dataBaseHelper, submissionSync, new ComparisonListener());
+
+        setColors();
+        setLineChartAttribute();
+
+        handleAdapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_multiple_choice, handles);
+        handleList.setAdapter(handleAdapter);
+        handleList.setChoiceMode(ListView.CHOICE_MODE_MULTIPLE);
+        handleList.setOnItemClickListener(new AdapterView.OnItemClickListener() {
+            @Override
+            public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
+                String handle = handles.get(position);
+                if (handleList.isItemChecked(position)) {
+                    comparisonLoader.add(handle);
+                } else {
+                    comparisonLoader.remove(handle);
+                    compared.remove(handle);
+                    setLineChartData();
+                }
+            }
+        });
+
+        handlesRequest = HandleRepository.getInstance(this).getHandles(new HandleRepository.Callback<List<String>>() {
+            @Override
+            public void onResult(List<String> savedHandles) {
+                if (savedHandles.isEmpty()) {
+                    toastMessage("Enter a Codeforces user handle");
+                }
+                handles.addAll(savedHandles);
+                handleAdapter.notifyDataSetChanged();
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        // nothing is delivered to a destroyed activity
+        handlesRequest.cancel(false);
+        comparisonLoader.cancel();
+        super.onDestroy();
+    }
+
+    class ComparisonListener implements ComparisonLoader.Listener {
+
+        @Override
+        public void onHandleLoaded(String handle, RatingProgress ratingProgress) {
+            compared.put(handle, ratingProgress);
+            setLineChartData();
+        }
+
+        @Override
+        public void onHandleFailed(String handle, Throwable t) {
+            Log.d("BUGGUB", TAG + ": " + t.getMessage());
+            handleList.setItemChecked(handles.indexOf(handle), false);
+            toastMessage(getString(R.string.warning_2));
+        }
+    }
+
+    private void setLineChartData() {
+        if (compared.isEmpty()) {
+            lineChart.clear();
+            return;
+        }
+
+        // every curve is sampled down to about one point per pixel of the chart width
+        int width = getResources().getDisplayMetrics().widthPixels;
+        ArrayList<ILineDataSet> lineDataSets = new ArrayList<>();
+        for (Map.Entry<String, RatingProgress> handle : compared.entrySet()) {
+            RatingProgress ratingProgress = handle.getValue();
+            int[] sampled = new int[ratingProgress.size()];
+            int count = ratingProgress.sample(width, sampled);
+
+            ArrayList<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new Entry(sampled[i], ratingProgress.getMean(sampled[i])));
+            }
+            LineDataSet lineDataSet = new LineDataSet(entries, handle.getKey());
+            // a handle keeps its color while others are checked and unchecked
+            int color = colors[handles.indexOf(handle.getKey()) % colors.length];
+            lineDataSet.setColor(color);
+            lineDataSet.setDrawCircles(false);
+            lineDataSet.setDrawValues(false);
+            lineDataSet.setLineWidth(2f);
+            lineDataSets.add(lineDataSet);
+        }
+
+        lineChart.setData(new LineData(lineDataSets));
+        lineChart.invalidate();
+    }
+
+    private void setLineChartAttribute() {
+        lineChart.setDragEnabled(true);
+        lineChart.setScaleEnabled(true);
+        lineChart.getDescription().setEnabled(false);
+        lineChart.getAxisRight().setEnabled(false);
+        lineChart.setNoDataText(getString(R.string.compare_handles));
+
+        XAxis xAxis = lineChart.getXAxis();
+        xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
+        xAxis.setDrawGridLines(true);
+        xAxis.setGranularityEnabled(true);
+        xAxis.setGranularity(1f);
+
+        YAxis yAxis = lineChart.getAxisLeft();
+        yAxis.setDrawGridLines(true);
+        yAxis.setGranularityEnabled(true);
+        yAxis.setGranularity(100f);
+    }
+
+    private void setColors() {
+        colors = new int[ColorTemplate.COLORFUL_COLORS.length + ColorTemplate.JOYFUL_COLORS.length];
+        System.arraycopy(ColorTemplate.COLORFUL_COLORS, 0, colors, 0, ColorTemplate.COLORFUL_COLORS.length);
+        System.arraycopy(ColorTemplate.JOYFUL_COLORS, 0, colors, ColorTemplate.COLORFUL_COLORS.length,
+                ColorTemplate.JOYFUL_COLORS.length);
+    }
+
+    private void toastMessage(String message) {
+        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.Codeforces_Progress.Fragment1;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.example.Codeforces_Progress.Analytics.ProgressResult;
+import com.example.Codeforces_Progress.Analytics.RatingProgress;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.Sync.SubmissionSync;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the {@link RatingProgress} of the handles {@link CompareActivity} compares.
+ * <p>
+ * Handles are synced in parallel on a small pool through {@link SubmissionSync#syncNow},
+ * so their user.status calls overlap as far as the client's rate limit lets them and
+ * every handle's curve is computed on its own thread. Loaded handles are cached for a few
+ * minutes, adding a handle to the comparison (or opening it again) loads only the new one.
+ * A handle whose sync fails is shown from its stored snapshot, if there is one.
+ * Must be used from the UI thread, all listener methods are called on it.
+ */
+public class ComparisonLoader {
+
+    // handles loaded at once, more would only wait for the rate limit
+    private static final int MAX_PARALLEL_HANDLES = 3;
+    private static final int MAX_CACHED_HANDLES = 32;
+    private static final long CACHE_MILLIS = 5 * 60 * 1000;
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(MAX_PARALLEL_HANDLES);
+
+    // lower case handle -> its last synced curve, least recently used first, only used on the UI thread
+    private static final Map<String, Loaded> cache = new LinkedHashMap<String, Loaded>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Loaded> eldest) {
+            return size() > MAX_CACHED_HANDLES;
+        }
+    };
+
+    private final DataBaseHelper dataBaseHelper;
+    private final SubmissionSync submissionSync;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // lower case handle -> its sync in flight
+    private final Map<String, SubmissionSync.Request> inFlight = new HashMap<>();
+
+    public ComparisonLoader(DataBaseHelper dataBaseHelper, SubmissionSync submissionSync, Listener listener) {
+        this.dataBaseHelper = dataBaseHelper;
+        this.submissionSync = submissionSync;
+        this.listener = listener;
+    }
+
+    /*
+     * a cached handle is handed to the listener right away
+     */
+    public void add(final String handle) {
+        final String key = handle.toLowerCase(Locale.ROOT);
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        Loaded loaded = cache.get(key);
+        if (loaded != null && SystemClock.elapsedRealtime() - loaded.loadedAt < CACHE_MILLIS) {
+            listener.onHandleLoaded(handle, loaded.ratingProgress);
+            return;
+        }
+
+        final SubmissionSync.Request request = new SubmissionSync.Request();
+        inFlight.put(key, request);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (request.isCancelled()) {
+                    return;
+                }
+                ProgressResult progress;
+                IOException failure = null;
+                try {
+                    progress = submissionSync.syncNow(handle, request);
+                } catch (IOException e) {
+                    failure = e;
+                    progress = request.isCancelled() ? null : dataBaseHelper.getProgressSnapshot(handle);
+                }
+                final ProgressResult synced = failure == null ? progress : null;
+                final RatingProgress ratingProgress = progress != null ? RatingProgress.of(progress) : null;
+                final IOException failed = failure;
+
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (inFlight.get(key) != request) {
+                            return;
+                        }
+                        inFlight.remove(key);
+                        if (synced != null) {
+                            cache.put(key, new Loaded(ratingProgress, SystemClock.elapsedRealtime()));
+                        }
+                        if (ratingProgress != null) {
+                            listener.onHandleLoaded(handle, ratingProgress);
+                        } else {
+                            listener.onHandleFailed(handle, failed);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /*
+     * cancelling the sync of the handle if it is in flight, the listener isn't called for it afterwards
+     */
+    public void remove(String handle) {
+        SubmissionSync.Request request = inFlight.remove(handle.toLowerCase(Locale.ROOT));
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    /*
+     * cancelling every sync in flight, the listener isn't called afterwards
+     */
+    public void cancel() {
+        for (SubmissionSync.Request request : inFlight.values()) {
+            request.cancel();
+        }
+        inFlight.clear();
+    }
+
+    private static class Loaded {
+        final RatingProgress ratingProgress;
+        final long loadedAt;
+
+        Loaded(RatingProgress ratingProgress, long loadedAt) {
+            this.ratingProgress = ratingProgress;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public interface Listener {
+        void onHandleLoaded(String handle, RatingProgress ratingProgress);
+
+        // the handle couldn't be synced and has no stored snapshot
+        void onHandleFailed(String handle, Throwable t);
+    }
+}
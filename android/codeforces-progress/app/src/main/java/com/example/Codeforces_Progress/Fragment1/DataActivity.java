@@ -2,7 +2,6 @@ package com.example.Codeforces_Progress.Fragment1;
 
 import android.annotation.SuppressLint;
 import android.graphics.Color;
-import android.os.AsyncTask;
 import android.os.Build;
 import android.os.Bundle;
 import android.util.Log;
@@ -16,13 +15,17 @@ import android.widget.Toast;
 import androidx.annotation.RequiresApi;
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.Codeforces_Progress.APIInterfaces.ApiInterfaceGetStatus;
-import com.example.Codeforces_Progress.APIInterfaces.ApiInterfaceGetUserInfo;
+import com.example.Codeforces_Progress.APIInterfaces.ApiClient;
+import com.example.Codeforces_Progress.Analytics.ContestSeries;
+import com.example.Codeforces_Progress.Analytics.ProgressResult;
+import com.example.Codeforces_Progress.Analytics.StatisticsEngine;
+import com.example.Codeforces_Progress.Analytics.StatisticsResult;
+import com.example.Codeforces_Progress.Avatars.AvatarLoader;
 import com.example.Codeforces_Progress.R;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.Sync.SubmissionSync;
 import com.example.Codeforces_Progress.UserInfoClasses.ResultOfUserInfo;
-import com.example.Codeforces_Progress.UserInfoClasses.UserInfo;
-import com.example.Codeforces_Progress.UserStatusClasses.ResultUS;
-import com.example.Codeforces_Progress.UserStatusClasses.UserStatus;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
 import com.github.mikephil.charting.animation.Easing;
 import com.github.mikephil.charting.charts.LineChart;
 import com.github.mikephil.charting.charts.ScatterChart;
@@ -38,54 +41,43 @@ import com.github.mikephil.charting.interfaces.datasets.ILineDataSet;
 import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet;
 import com.github.mikephil.charting.listener.OnChartValueSelectedListener;
 import com.github.mikephil.charting.utils.ColorTemplate;
-import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Objects;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 import static java.text.DateFormat.getDateInstance;
 
 /**
- * 5 methods and 1 inner-class in DataActivity class
+ * 6 methods and 1 inner-class in DataActivity class
  * methods:
  * {@link #onCreate(Bundle)
+ * @link #onDestroy()
  * @link #setViews()
  * @link #setRetrofit()
  * @link #init2DList()
  * @link #toastMessage(String)}
  * <p>
  * class:
- * {@link Task}
+ * {@link ProfileListener}
  */
 public class DataActivity extends AppCompatActivity {
 
     private static final String TAG = "BUGGUB";
-    private static final String BASE_URL = "https://codeforces.com/api/";
-    private Integer MAX_LIMIT_CONTESTS = 2000;
     private Integer MAX_PARTICIPATED_CONTEST_ID = 0;
-    private Integer MIN_PARTICIPATED_CONTEST_ID = MAX_LIMIT_CONTESTS;
+    private Integer MIN_PARTICIPATED_CONTEST_ID = 0;
 
-    private ApiInterfaceGetStatus apiInterfaceGS;
-    private ApiInterfaceGetUserInfo apiInterfaceGUI;
+    private ProfileLoader profileLoader;
+    private StatisticsLoader statisticsLoader;
 
     private ScatterChart scatterChart;
     private ArrayList<ArrayList<Entry>> scatterEntries = new ArrayList<>();
     private ArrayList<IScatterDataSet> scatterDataSets = new ArrayList<>();
+    private ScatterSampler scatterSampler;
 
     private LineChart lineChart;
-    private ArrayList<ArrayList<Entry>> lineEntries = new ArrayList<>();
+    private ContestSeries contestSeries;
     private ArrayList<Entry> xAxisDummy = new ArrayList<>();
-    private ArrayList<Integer> participatedContestId = new ArrayList<>();
     private ArrayList<ILineDataSet> lineDataSets = new ArrayList<>();
 
     private LinearLayout LLProgressBar, LLData; // LL -> linear layout
@@ -93,13 +85,11 @@ public class DataActivity extends AppCompatActivity {
     private ImageView avatar;
     private TextView handleName, fullName, rating, countryName, organizationName, rank,
             contribution, maxRank, friendOfCount, email, registered,
-            scoreView, lastAccepted;
+            scoreView, lastAccepted, statistics;
 
-    private int x, y;
-    private long currentValue, prevSubmissionTime, diff, userScore;
-    private Boolean firstTime = true, bgWorkDone = false, b1 = false, b2 = false;
+    private int x;
+    private long userScore;
 
-    private Double penalty;
     private String handle;
 
     private ProgressBar score;
@@ -121,7 +111,10 @@ public class DataActivity extends AppCompatActivity {
         setViews();
         setRetrofit();
         init2DList();
-        new Task().execute();
+
+        LLProgressBar.setVisibility(View.VISIBLE);
+        LLData.setVisibility(View.GONE);
+        profileLoader.load(handle, new ProfileListener());
 
         scatterChart.setOnChartValueSelectedListener(new OnChartValueSelectedListener() {
             @Override
@@ -137,206 +130,157 @@ public class DataActivity extends AppCompatActivity {
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        // nothing is delivered to a destroyed activity
+        profileLoader.cancel();
+        statisticsLoader.cancel();
+        super.onDestroy();
+    }
+
     /**
-     * 11 methods in Task lass which extends AsyncTask Interface
+     * 12 methods in ProfileListener class which implements ProfileLoader.Listener Interface
      * overriden methods:
-     * {@link #onPreExecute()}
-     * {@link #doInBackground(String...)}
-     * {@link #onProgressUpdate(Integer...)}
-     * {@link #onPostExecute(Boolean)}
+     * {@link #onProgressLoaded(ProgressResult)}
+     * {@link #onUserInfoLoaded(ResultOfUserInfo)}
+     * {@link #onLoaded()}
+     * {@link #onFailure(Throwable)}
      * <p>
      * normal methods:
-     * {@link #getLastAcceptedProblem(List)}
-     * {@link #setScatterChartData()}
-     * {@link #setScatterChartAttribute()}
+     * {@link #showData()}
+     * {@link #animateScore()}
+     * {@link #getLastAcceptedProblem(ProgressResult)}
+     * {@link #setScatterChartData(ProgressResult)}
+     * {@link #setScatterChartAttribute(ProgressResult)}
      * {@link #setLineChartData()}
      * {@link #setLineChartAttribute()}
      * {@link #setUserInfo(ResultOfUserInfo)}
      * {@link #setColorWithRating(ResultOfUserInfo)}
+     * {@link #setStatistics(StatisticsResult)}
      */
-    @SuppressLint("StaticFieldLeak")
-    class Task extends AsyncTask<String, Integer, Boolean> {
-        @Override
-        protected void onPreExecute() {
-            super.onPreExecute();
-            LLProgressBar.setVisibility(View.VISIBLE);
-            LLData.setVisibility(View.GONE);
-        }
+    class ProfileListener implements ProfileLoader.Listener {
 
         @Override
-        protected Boolean doInBackground(String... strings) {
-
-            Call<UserStatus> callUS = apiInterfaceGS.getUserStatus(handle);
-            callUS.enqueue(new Callback<UserStatus>() {
-
-                @RequiresApi(api = Build.VERSION_CODES.M)
-                @Override
-                public void onResponse(Call<UserStatus> call, Response<UserStatus> response) {
-                    try {
-                        assert response.body() != null;
-                        List<ResultUS> results = response.body().getResults();
-
-                        getLastAcceptedProblem(results);
-
-                        // to get oldest to newest sumbission results
-                        Collections.reverse(results);
-                        HashSet<String> solvedProblems = new HashSet<>();
-
-                        for (ResultUS result : results) {
-                            if (result.getVerdict().equals("OK")) {
-                                y = result.getProblem().getRating();
-                                String problemName = result.getProblem().getName();
-
-                                if (y >= 800 && y <= 3500 && !solvedProblems.contains(problemName)) {
-                                    /*
-                                     * Storing data(rating & submission number) for rated solved problems.
-                                     * Same rating data saved in same arraylist.
-                                     */
-                                    scatterEntries.get(y / 100 - 8).add(new Entry(x, y));
-                                    solvedProblems.add(problemName);
-                                    x++;
-
-                                    // for score calculation
-                                    if (firstTime) {
-                                        prevSubmissionTime = result.getCreationTimeSeconds();
-                                        firstTime = false;
-                                    } else {
-
-                                        // getting two consecutive different accepted problem submission time in days
-                                        diff = (result.getCreationTimeSeconds() - prevSubmissionTime) / 86400;
-                                        prevSubmissionTime = result.getCreationTimeSeconds();
-                                    }
-
-                                    if (y < 2500) {
-                                        penalty = (Math.sqrt(2500 - y) + 1) * 0.005;
-                                    } else {
-                                        penalty = ((y / 6000 - 0.6) * (y / 6000 - 0.6)) + 0.01;
-                                    }
-
-                                    currentValue += (y - y * penalty * diff);
-
-                                    /*
-                                     * storing those problems which were solved in contest time
-                                     * and getting maximum and minimum participated contest Id
-                                     */
-                                    if (result.getAuthor().getParticipantType().equals("CONTESTANT")) {
-                                        lineEntries.get(result.getContestId()).add(new Entry(result.getContestId(), y));
-                                        participatedContestId.add(result.getContestId());
-                                        MAX_PARTICIPATED_CONTEST_ID = Math.max(MAX_PARTICIPATED_CONTEST_ID, result.getContestId());
-                                        MIN_PARTICIPATED_CONTEST_ID = Math.min(MIN_PARTICIPATED_CONTEST_ID, result.getContestId());
-                                    }
-                                }
-                            }
-                        }
-                        if (x > 0) {
-                            userScore = currentValue / 35 / x;
-                        }
-                        scoreView.setText(String.valueOf(userScore + "/100"));
-
-                        setScatterChartData();
-                        setScatterChartAttribute();
-                        setLineChartData();
-                        setLineChartAttribute();
-
-                        // passing 1 for setting true b1
-                        publishProgress(1);
-                    } catch (Exception e) {
-                        toastMessage(String.valueOf(R.string.warning_1));
-                        Log.d("BUGGUB", Objects.requireNonNull(e.getMessage()));
-                        finish();
+        public void onProgressLoaded(ProgressResult progress) {
+            try {
+                // the stored profile is shown first, a refreshed one replaces it
+                clearChartData();
+
+                getLastAcceptedProblem(progress);
+
+                /*
+                 * Storing data(rating & submission number) for rated solved problems.
+                 * Same rating data saved in same arraylist,
+                 * long histories are sampled down to the chart width and sampled again on zoom and pan.
+                 */
+                x = progress.getSolvedCount();
+                scatterSampler = new ScatterSampler(scatterChart, progress, scatterEntries);
+                scatterSampler.sampleAll(getResources().getDisplayMetrics().widthPixels);
+
+                // those problems which were solved in contest time, grouped by contest
+                contestSeries = ContestSeries.of(progress);
+                MAX_PARTICIPATED_CONTEST_ID = progress.getMaxContestId();
+                MIN_PARTICIPATED_CONTEST_ID = progress.getMinContestId();
+
+                userScore = progress.getUserScore();
+                scoreView.setText(String.valueOf(userScore + "/100"));
+
+                setScatterChartData(progress);
+                setScatterChartAttribute(progress);
+                setLineChartData();
+                setLineChartAttribute();
+
+                showData();
+                animateScore();
+
+                // computed from the stored submissions, which the refresh has just written
+                statisticsLoader.load(handle, new StatisticsLoader.Listener() {
+                    @Override
+                    public void onStatisticsLoaded(StatisticsResult result) {
+                        setStatistics(result);
                     }
-                }
-
-                @Override
-                public void onFailure(Call<UserStatus> call, Throwable t) {
-
-                    // passing 1 & 2 for setting true bgWrokDone
-                    publishProgress(1);
-                    publishProgress(2);
-                    toastMessage(String.valueOf(R.string.warning_2));
-                    finish();
-                }
-            });
-
-
-            Call<UserInfo> callUI = apiInterfaceGUI.getUserInfo(handle);
-            callUI.enqueue(new Callback<UserInfo>() {
-
-                @RequiresApi(api = Build.VERSION_CODES.M)
-                @Override
-                public void onResponse(Call<UserInfo> call, Response<UserInfo> response) {
-                    try {
-                        assert response.body() != null;
-                        List<ResultOfUserInfo> results = response.body().getResultOfUserInfo();
-
-                        ResultOfUserInfo result = results.get(0);
-
-                        setUserInfo(result);
+                });
+            } catch (Exception e) {
+                toastMessage(getString(R.string.warning_1));
+                Log.d(TAG, "onProgressLoaded: " + e.getMessage());
+                finish();
+            }
+        }
 
-                        // setting color of handle name and maximum rating
-                        setColorWithRating(result);
+        @RequiresApi(api = Build.VERSION_CODES.M)
+        @Override
+        public void onUserInfoLoaded(ResultOfUserInfo result) {
+            try {
+                setUserInfo(result);
+
+                // setting color of handle name and maximum rating
+                setColorWithRating(result);
+
+                showData();
+            } catch (Exception e) {
+                toastMessage(getString(R.string.warning_1));
+                Log.d(TAG, "onUserInfoLoaded: " + e.getMessage());
+                finish();
+            }
+        }
 
-                        // passing 2 for setting true b2
-                        publishProgress(2);
-                    } catch (Exception e) {
-                        toastMessage(getString(R.string.warning_1));
-                        Log.d(TAG, "onResponse: " + e.getMessage());
-                        finish();
-                    }
-                }
+        @Override
+        public void onLoaded() {
+            LLProgressBar.setVisibility(View.GONE);
+        }
 
-                @Override
-                public void onFailure(Call<UserInfo> call, Throwable t) {
+        @Override
+        public void onFailure(Throwable t) {
+            Log.d(TAG, "onFailure: " + t.getMessage());
+            toastMessage(getString(R.string.warning_2));
+            finish();
+        }
 
-                    // passing 1 & 2 for setting true bgWrokDone
-                    publishProgress(1);
-                    publishProgress(2);
-                    toastMessage(getString(R.string.warning_2));
-                    finish();
-                }
-            });
+        // every part is shown as soon as it is loaded
+        private void showData() {
+            LLData.setVisibility(View.VISIBLE);
+        }
 
-            while (!bgWorkDone) {
-                try {
-                    Thread.sleep(1000);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+        private void clearChartData() {
+            for (ArrayList<Entry> entries : scatterEntries) {
+                entries.clear();
             }
+            scatterDataSets.clear();
 
-            return null;
+            xAxisDummy.clear();
+            lineDataSets.clear();
         }
 
         @SuppressLint("SetTextI18n")
-        private void getLastAcceptedProblem(List<ResultUS> results) {
+        private void getLastAcceptedProblem(ProgressResult progress) {
 
             // for getting & setting last Accepted problem's name, rating & submission time
-            for (ResultUS result : results) {
-                if (result.getVerdict().equals("OK")) {
-                    String lastACProblem = result.getProblem().getName();
-                    if (result.getProblem().getRating() != -1) {
-                        lastACProblem += ", " + result.getProblem().getRating();
-                    }
+            if (progress.getLastAcceptedName() == null) {
+                return;
+            }
 
-                    lastACProblem += ", " + getDateInstance().format(new Date(result.getCreationTimeSeconds() * 1000L));
+            String lastACProblem = progress.getLastAcceptedName();
+            if (progress.getLastAcceptedRating() != SubmissionColumns.NO_RATING) {
+                lastACProblem += ", " + progress.getLastAcceptedRating();
+            }
 
-                    if (!lastACProblem.equals("null")) {
-                        lastAccepted.setText("Last AC: " + lastACProblem);
-                    } else {
-                        lastAccepted.setVisibility(View.GONE);
-                    }
-                    break;
-                }
+            lastACProblem += ", " + getDateInstance().format(new Date(progress.getLastAcceptedTimeSeconds() * 1000L));
+
+            if (!lastACProblem.equals("null")) {
+                lastAccepted.setText("Last AC: " + lastACProblem);
+            } else {
+                lastAccepted.setVisibility(View.GONE);
             }
         }
 
-        private void setScatterChartData() {
+        private void setScatterChartData(ProgressResult progress) {
 
             // getting the color for individual rating
             int[] ratingArray = getResources().getIntArray(R.array.cf_lvl);
 
+            // a bucket the current sample left empty gets its data set too, a later sample may fill it
             for (int i = 0; i < 28; i++) {
-                if (scatterEntries.get(i).size() > 0) {
+                if (progress.getBucketCount(i) > 0) {
                     ScatterDataSet sds = new ScatterDataSet(scatterEntries.get(i), "");
                     sds.setColor(ratingArray[i]);
                     sds.setScatterShape(ScatterChart.ScatterShape.CIRCLE);
@@ -348,7 +292,7 @@ public class DataActivity extends AppCompatActivity {
             scatterChart.setData(scatterData);
         }
 
-        private void setScatterChartAttribute() {
+        private void setScatterChartAttribute(ProgressResult progress) {
 
             scatterChart.setDragEnabled(true);
             scatterChart.setScaleEnabled(true);
@@ -363,12 +307,23 @@ public class DataActivity extends AppCompatActivity {
             xAxis.setDrawGridLines(true);
             xAxis.setGranularityEnabled(true);
             xAxis.setGranularity(1f);
+            // fixed axes, so the range doesn't follow the sampled points
+            xAxis.setAxisMinimum(0f);
             xAxis.setAxisMaximum(x + 10);
 
             YAxis yAxis = scatterChart.getAxisLeft();
             yAxis.setDrawGridLines(true);
             yAxis.setSpaceTop(1);
             yAxis.setAxisMinimum(750f);
+            for (int i = 27; i >= 0; i--) {
+                if (progress.getBucketCount(i) > 0) {
+                    // highest rating of bucket i, bucket 0 is 800
+                    yAxis.setAxisMaximum((i + 8) * 100 + 100);
+                    break;
+                }
+            }
+
+            scatterChart.setOnChartGestureListener(scatterSampler);
         }
 
         private void setLineChartData() {
@@ -388,8 +343,14 @@ public class DataActivity extends AppCompatActivity {
             lineDataSet.setValueTextColor(Color.WHITE);
             lineDataSets.add(lineDataSet);
 
-            for (Integer Id : participatedContestId) {
-                lineDataSet = new LineDataSet(lineEntries.get(Id), "");
+            // one line for every contest, one point for every problem solved in it
+            for (int c = 0; c < contestSeries.size(); c++) {
+                int contestId = contestSeries.getContestId(c);
+                ArrayList<Entry> contestEntries = new ArrayList<>(contestSeries.getSolveCount(c));
+                for (int k = 0; k < contestSeries.getSolveCount(c); k++) {
+                    contestEntries.add(new Entry(contestId, contestSeries.getRating(c, k)));
+                }
+                lineDataSet = new LineDataSet(contestEntries, "");
                 lineDataSet.setColor(Color.GREEN, 200);
                 lineDataSet.setCircleHoleRadius(8f);
                 lineDataSet.setCircleColors(ColorTemplate.COLORFUL_COLORS);
@@ -425,7 +386,7 @@ public class DataActivity extends AppCompatActivity {
 
         private void setUserInfo(ResultOfUserInfo result) {
 
-            String _ImageAvatar = "https:" + result.getTitlePhoto();
+            String _ImageAvatar = result.getTitlePhotoUrl();
             String _FullName = "Name: " + result.getFirstName() + " " + result.getLastName();
             String _Rating = result.getRating() + "/" + result.getMaxRating();
             String _CountryName = "Country: " + result.getCountry();
@@ -438,7 +399,7 @@ public class DataActivity extends AppCompatActivity {
             String date = getDateInstance().format(new Date(result.getRegistrationTimeSeconds() * 1000L));
             String _Registered = "Registered: " + date;
 
-            Picasso.with(DataActivity.this).load(_ImageAvatar).into(avatar);
+            AvatarLoader.getInstance(DataActivity.this).load(_ImageAvatar, avatar);
 
             if (!_FullName.equals("Name: null null")) {
                 fullName.setText(_FullName);
@@ -554,19 +515,78 @@ public class DataActivity extends AppCompatActivity {
             }
         }
 
-        @Override
-        protected void onProgressUpdate(Integer... values) {
-            if (values[0] == 1) b1 = true;
-            if (values[0] == 2) b2 = true;
-            if (b1 && b2) bgWorkDone = true;
-            super.onProgressUpdate(values);
+        private void setStatistics(final StatisticsResult result) {
+            StringBuilder text = new StringBuilder();
+            int solved = result.getSolvedCount();
+            text.append("Solved: ").append(solved);
+            if (solved > 0) {
+                text.append(", ").append(result.getFirstTrySolvedCount() * 100 / solved).append("% on the first try");
+            }
+
+            text.append("\nActive days: ").append(result.getActiveDays())
+                    .append(", longest streak: ").append(result.getLongestStreak())
+                    .append(", current streak: ").append(result.getCurrentStreak(System.currentTimeMillis() / 1000));
+
+            text.append("\nVerdicts:");
+            int[] verdicts = topIndexes(StatisticsEngine.VERDICTS.length + 1, 4, new Count() {
+                @Override
+                public int of(int v) {
+                    return result.getVerdictCount(v);
+                }
+            });
+            for (int v : verdicts) {
+                String verdict = v == StatisticsEngine.OTHER_VERDICT ? "OTHER" : StatisticsEngine.VERDICTS[v];
+                text.append(' ').append(verdict).append(' ').append(result.getVerdictCount(v)).append(',');
+            }
+            trimComma(text);
+
+            text.append("\nTop tags:");
+            int[] tags = topIndexes(result.getTagCount(), 5, new Count() {
+                @Override
+                public int of(int t) {
+                    return result.getTagSolvedCount(t);
+                }
+            });
+            for (int t : tags) {
+                text.append(' ').append(result.getTagName(t)).append(' ').append(result.getTagSolvedCount(t)).append(',');
+            }
+            trimComma(text);
+
+            statistics.setText(text);
         }
 
-        @Override
-        protected void onPostExecute(Boolean aBoolean) {
-            LLProgressBar.setVisibility(View.GONE);
-            LLData.setVisibility(View.VISIBLE);
+        /*
+         * the (at most) k indexes below n with the highest non-zero counts, highest first
+         */
+        private int[] topIndexes(int n, int k, Count count) {
+            int[] top = new int[Math.min(n, k)];
+            boolean[] taken = new boolean[n];
+            int found = 0;
+            while (found < top.length) {
+                int best = -1;
+                for (int i = 0; i < n; i++) {
+                    if (!taken[i] && count.of(i) > 0 && (best == -1 || count.of(i) > count.of(best))) {
+                        best = i;
+                    }
+                }
+                if (best == -1) {
+                    break;
+                }
+                taken[best] = true;
+                top[found++] = best;
+            }
+            return Arrays.copyOf(top, found);
+        }
+
+        private void trimComma(StringBuilder text) {
+            if (text.charAt(text.length() - 1) == ',') {
+                text.setLength(text.length() - 1);
+            } else {
+                text.append(" none");
+            }
+        }
 
+        private void animateScore() {
             final Thread thread = new Thread(new Runnable() {
                 @Override
                 public void run() {
@@ -581,8 +601,6 @@ public class DataActivity extends AppCompatActivity {
                 }
             });
             thread.start();
-
-            super.onPostExecute(aBoolean);
         }
     }
 
@@ -609,27 +627,25 @@ public class DataActivity extends AppCompatActivity {
         score = findViewById(R.id.scoreId);
         scoreView = findViewById(R.id.scoreViewId);
         lastAccepted = findViewById(R.id.lastAcceptedId);
+        statistics = findViewById(R.id.statisticsId);
     }
 
     private void setRetrofit() {
-        // API client library
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        apiInterfaceGS = retrofit.create(ApiInterfaceGetStatus.class);
-        apiInterfaceGUI = retrofit.create(ApiInterfaceGetUserInfo.class);
+        ApiClient apiClient = ApiClient.getInstance(this);
+        DataBaseHelper dataBaseHelper = DataBaseHelper.getInstance(this);
+        profileLoader = new ProfileLoader(dataBaseHelper, new SubmissionSync(dataBaseHelper, apiClient.getStatusApi()),
+                apiClient.getUserInfoBatcher());
+        statisticsLoader = new StatisticsLoader(dataBaseHelper);
+    }
+
+    interface Count {
+        int of(int index);
     }
 
     private void init2DList() {
         for (int i = 0; i < 28; i++) {
             scatterEntries.add(new ArrayList<Entry>());
         }
-
-        for (int i = 0; i < MAX_LIMIT_CONTESTS; i++) {
-            lineEntries.add(new ArrayList<Entry>());
-        }
     }
 
     private void toastMessage(String message) {
@@ -10,14 +10,14 @@ import android.widget.EditText;
 import android.widget.Toast;
 
 import com.example.Codeforces_Progress.R;
-import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.SQLiteDataBase.HandleRepository;
 
 public class DeleteHandleActivity extends AppCompatActivity {
 
     private static final String TAG = "DeleteHandleActivity";
     EditText editTextHandle; // For taking input handle from the user
     Button deleteButton; // For deleting the input handle
-    DataBaseHelper dataBaseHelper;
+    HandleRepository handleRepository;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -26,7 +26,7 @@ public class DeleteHandleActivity extends AppCompatActivity {
 
         setLayoutSize();
 
-        dataBaseHelper = new DataBaseHelper(this);
+        handleRepository = HandleRepository.getInstance(this);
 
         editTextHandle = findViewById(R.id.deleteHandleEditTextId);
         deleteButton = findViewById(R.id.deleteButtonId);
@@ -34,17 +34,20 @@ public class DeleteHandleActivity extends AppCompatActivity {
         deleteButton.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                String handle = editTextHandle.getText().toString();
+                final String handle = editTextHandle.getText().toString().replaceAll(" ", "");
                 editTextHandle.getText().clear();
-                handle = handle.replaceAll(" ", "");
 
                 if (handle.length() > 0) {
-                    int val = dataBaseHelper.deleteHandle(handle);
-                    if (val > 0) {
-                        toastMessage("Deleted " + handle);
-                    } else {
-                        toastMessage(handle + " not found!");
-                    }
+                    handleRepository.deleteHandle(handle, new HandleRepository.Callback<Integer>() {
+                        @Override
+                        public void onResult(Integer val) {
+                            if (val > 0) {
+                                toastMessage("Deleted " + handle);
+                            } else {
+                                toastMessage(handle + " not found!");
+                            }
+                        }
+                    });
                 } else {
                     toastMessage("Please input a handle");
                 }
@@ -1,7 +1,6 @@
 package com.example.Codeforces_Progress.Fragment1;
 
 import android.content.Intent;
-import android.database.Cursor;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -16,12 +15,17 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
+import com.example.Codeforces_Progress.APIInterfaces.ApiClient;
 import com.example.Codeforces_Progress.R;
 import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.SQLiteDataBase.HandleRepository;
+import com.example.Codeforces_Progress.SQLiteDataBase.SavedHandle;
+import com.example.Codeforces_Progress.Sync.HandleInfoRefresh;
 import com.getbase.floatingactionbutton.FloatingActionButton;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 public class Fragment1 extends Fragment {
 
@@ -33,7 +37,10 @@ public class Fragment1 extends Fragment {
     private List<String> handleImages = new ArrayList<>();
     private SwipeRefreshLayout swipeRefreshLayout;
     private DataBaseHelper dataBaseHelper;
-    private FloatingActionButton addHandleButton, removeHandleButton;
+    private HandleRepository handleRepository;
+    private Future<List<SavedHandle>> savedHandlesRequest;
+    private HandleInfoRefresh handleInfoRefresh;
+    private FloatingActionButton addHandleButton, removeHandleButton, compareHandlesButton;
     private HandleListAdapter handleListAdapter;
     private RecyclerView recyclerView;
 
@@ -43,30 +50,42 @@ public class Fragment1 extends Fragment {
         // Inflate(create) the layout(fragment_1) for this fragment(container)
         View view = inflater.inflate(R.layout.fragment_1, container, false);
 
-        dataBaseHelper = new DataBaseHelper(getContext());
+        dataBaseHelper = DataBaseHelper.getInstance(getContext());
+        handleRepository = HandleRepository.getInstance(getContext());
+        handleInfoRefresh = new HandleInfoRefresh(dataBaseHelper, ApiClient.getInstance(getContext()).getUserInfoBatcher());
 
         addHandleButton = view.findViewById(R.id.addHandleButtonId);
         removeHandleButton = view.findViewById(R.id.removeHandleButtonId);
+        compareHandlesButton = view.findViewById(R.id.compareHandlesButtonId);
         recyclerView = view.findViewById(R.id.recyclerViewHandleId);
         swipeRefreshLayout = view.findViewById(R.id.swipeRefreshLayoutId);
 
-        getSavedHandlesInfo();
         setDataInRecyclerView();
-        setAnimation(); // don't know why but without this animation works on startup :')
+        getSavedHandlesInfo();
+        handleRepository.addObserver(handleObserver);
 
         swipeRefreshLayout.setOnRefreshListener(new SwipeRefreshLayout.OnRefreshListener() {
             @Override
             public void onRefresh() {
-                // to remove deleted handles
-                handleNames.clear();
-                handleImages.clear();
-
-                getSavedHandlesInfo();
-                setDataInRecyclerView();
-                setAnimation();
-
-                swipeRefreshLayout.setRefreshing(false);
-                toastMessage("Refreshed");
+                // fetching avatars, ratings and ranks of all handles in one call
+                handleInfoRefresh.refresh(new HandleInfoRefresh.Listener() {
+                    @Override
+                    public void onRefreshed(int updated, int failed) {
+                        if (!isAdded()) {
+                            return;
+                        }
+
+                        // for the new avatars
+                        getSavedHandlesInfo();
+
+                        swipeRefreshLayout.setRefreshing(false);
+                        if (updated == 0 && failed > 0) {
+                            toastMessage(getString(R.string.warning_2));
+                        } else {
+                            toastMessage("Refreshed");
+                        }
+                    }
+                });
             }
         });
 
@@ -93,19 +112,85 @@ public class Fragment1 extends Fragment {
             }
         });
 
+        compareHandlesButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                startActivity(new Intent(getContext(), CompareActivity.class));
+            }
+        });
+
         return view;
     }
 
+    @Override
+    public void onDestroyView() {
+        // the list is filled into the views of this fragment
+        savedHandlesRequest.cancel(false);
+        handleRepository.removeObserver(handleObserver);
+        super.onDestroyView();
+    }
+
+    /*
+     * read on the I/O thread, the list shows what it showed before until they are read
+     */
     private void getSavedHandlesInfo() {
-        Cursor resultSet = dataBaseHelper.getAllHandleInfo();
-        if (resultSet.getCount() != 0) {
-            while (resultSet.moveToNext()) {
-                handleNames.add(resultSet.getString(0));
-                handleImages.add(resultSet.getString(1));
+        if (savedHandlesRequest != null) {
+            savedHandlesRequest.cancel(false);
+        }
+        savedHandlesRequest = handleRepository.getSavedHandles(new HandleRepository.Callback<List<SavedHandle>>() {
+            @Override
+            public void onResult(List<SavedHandle> savedHandles) {
+                if (!isAdded()) {
+                    return;
+                }
+
+                handleNames.clear();
+                handleImages.clear();
+                for (SavedHandle savedHandle : savedHandles) {
+                    handleNames.add(savedHandle.getHandle());
+                    handleImages.add(savedHandle.getImageUrl());
+                }
+                if (savedHandles.isEmpty()) {
+                    toastMessage("Enter a Codeforces user handle");
+                }
+                setAnimation();
+            }
+        });
+    }
+
+    /*
+     * handles saved and deleted in the dialogs, only their rows are animated
+     */
+    private final HandleRepository.Observer handleObserver = new HandleRepository.Observer() {
+        @Override
+        public void onHandleInserted(SavedHandle savedHandle) {
+            if (indexOfHandle(savedHandle.getHandle()) != -1) {
+                return;
+            }
+            handleNames.add(savedHandle.getHandle());
+            handleImages.add(savedHandle.getImageUrl());
+            handleListAdapter.notifyItemInserted(handleNames.size() - 1);
+        }
+
+        @Override
+        public void onHandleDeleted(String handle) {
+            int position = indexOfHandle(handle);
+            if (position == -1) {
+                return;
+            }
+            handleNames.remove(position);
+            handleImages.remove(position);
+            handleListAdapter.notifyItemRemoved(position);
+        }
+    };
+
+    private int indexOfHandle(String handle) {
+        for (int i = 0; i < handleNames.size(); i++) {
+            if (handleNames.get(i).equalsIgnoreCase(handle)) {
+                return i;
             }
-        } else {
-            toastMessage("Enter a Codeforces user handle");
         }
+        return -1;
     }
 
     private void setDataInRecyclerView() {
@@ -10,8 +10,8 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.Codeforces_Progress.Avatars.AvatarLoader;
 import com.example.Codeforces_Progress.R;
-import com.squareup.picasso.Picasso;
 
 import java.util.List;
 
@@ -42,9 +42,7 @@ public class HandleListAdapter extends RecyclerView.Adapter<HandleListAdapter.Vi
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
         holder.handleTV.setText(handleNames.get(position));
-        Picasso.with(context)
-                .load(handleImages.get(position))
-                .into(holder.avatarIV);
+        AvatarLoader.getInstance(context).load(handleImages.get(position), holder.avatarIV);
     }
 
     @Override
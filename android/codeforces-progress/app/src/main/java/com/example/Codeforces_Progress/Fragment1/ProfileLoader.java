@@ -0,0 +1,195 @@
+package com.example.Codeforces_Progress.Fragment1;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.Codeforces_Progress.APIInterfaces.UserInfoBatcher;
+import com.example.Codeforces_Progress.Analytics.ProgressResult;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.Sync.SubmissionSync;
+import com.example.Codeforces_Progress.UserInfoClasses.ResultOfUserInfo;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads everything {@link DataActivity} shows for a handle.
+ * <p>
+ * The profile stored for the handle (kept warm by the background sync) is shown first,
+ * then user.status (through {@link SubmissionSync}) and user.info (through {@link UserInfoBatcher})
+ * refresh it in parallel, every part is handed to the listener as soon as it arrives
+ * and again only if the refresh changed it. The two network parts are
+ * joined for {@link Listener#onLoaded()}, the first failure cancels the other part.
+ * Must be used from the UI thread, all listener methods are called on it.
+ */
+public class ProfileLoader {
+
+    // the stored profile is read and written off the UI thread
+    private static final ExecutorService storeExecutor = Executors.newSingleThreadExecutor();
+
+    private final DataBaseHelper dataBaseHelper;
+    private final SubmissionSync submissionSync;
+    private final UserInfoBatcher userInfoBatcher;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private SubmissionSync.Request statusRequest;
+    private UserInfoBatcher.Lookup userInfoLookup;
+    private Listener listener;
+    private int pendingParts;
+    private boolean progressShown, userInfoShown;
+
+    public ProfileLoader(DataBaseHelper dataBaseHelper, SubmissionSync submissionSync, UserInfoBatcher userInfoBatcher) {
+        this.dataBaseHelper = dataBaseHelper;
+        this.submissionSync = submissionSync;
+        this.userInfoBatcher = userInfoBatcher;
+    }
+
+    public void load(String handle, Listener profileListener) {
+        cancel();
+        listener = profileListener;
+        pendingParts = 2;
+        progressShown = false;
+        userInfoShown = false;
+
+        statusRequest = submissionSync.sync(handle, new SubmissionSync.Listener() {
+            @Override
+            public void onSynced(ProgressResult progress, boolean changed) {
+                if (isActive()) {
+                    if (changed || !progressShown) {
+                        showProgress(progress);
+                    }
+                    partDone();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                fail(t);
+            }
+        });
+
+        userInfoLookup = userInfoBatcher.lookup(handle, new UserInfoBatcher.Listener() {
+            @Override
+            public void onUserInfo(ResultOfUserInfo result) {
+                if (isActive()) {
+                    showUserInfo(result);
+                    store(result);
+                    partDone();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                fail(t);
+            }
+        });
+
+        loadStored(handle);
+    }
+
+    /*
+     * cancelling the calls in flight, the listener isn't called afterwards
+     */
+    public void cancel() {
+        if (statusRequest != null) {
+            statusRequest.cancel();
+            statusRequest = null;
+        }
+        if (userInfoLookup != null) {
+            userInfoLookup.cancel();
+            userInfoLookup = null;
+        }
+        listener = null;
+    }
+
+    /*
+     * a part already refreshed from the network isn't replaced by the stored one
+     */
+    private void loadStored(final String handle) {
+        final SubmissionSync.Request request = statusRequest;
+        storeExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final ProgressResult progress = dataBaseHelper.getProgressSnapshot(handle);
+                final ResultOfUserInfo userInfo = dataBaseHelper.getUserInfo(handle);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isActive() || request != statusRequest) {
+                            return;
+                        }
+                        if (progress != null && !progressShown) {
+                            showProgress(progress);
+                        }
+                        if (userInfo != null && !userInfoShown) {
+                            showUserInfo(userInfo);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void store(final ResultOfUserInfo result) {
+        storeExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                dataBaseHelper.updateHandleInfos(Collections.singletonList(result));
+            }
+        });
+    }
+
+    private void showProgress(ProgressResult progress) {
+        progressShown = true;
+        listener.onProgressLoaded(progress);
+    }
+
+    private void showUserInfo(ResultOfUserInfo result) {
+        userInfoShown = true;
+        listener.onUserInfoLoaded(result);
+    }
+
+    private boolean isActive() {
+        return listener != null;
+    }
+
+    private void partDone() {
+        if (--pendingParts == 0) {
+            Listener done = listener;
+            statusRequest = null;
+            userInfoLookup = null;
+            listener = null;
+            done.onLoaded();
+        }
+    }
+
+    /*
+     * a failed refresh keeps the stored profile if both parts of it are shown
+     */
+    private void fail(Throwable t) {
+        Listener failed = listener;
+        if (failed != null) {
+            boolean storedShown = progressShown && userInfoShown;
+            cancel();
+            if (storedShown) {
+                failed.onLoaded();
+            } else {
+                failed.onFailure(t);
+            }
+        }
+    }
+
+    public interface Listener {
+        // called with the stored analytics first, then again if the refresh changed them
+        void onProgressLoaded(ProgressResult progress);
+
+        // called with the stored result first, then with the refreshed one
+        void onUserInfoLoaded(ResultOfUserInfo result);
+
+        // both parts are loaded
+        void onLoaded();
+
+        void onFailure(Throwable t);
+    }
+}
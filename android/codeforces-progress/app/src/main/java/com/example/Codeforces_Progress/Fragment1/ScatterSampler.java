@@ -0,0 +1,140 @@
+package com.example.Codeforces_Progress.Fragment1;
+
+import android.view.MotionEvent;
+
+import com.example.Codeforces_Progress.Analytics.Downsampler;
+import com.example.Codeforces_Progress.Analytics.ProgressResult;
+import com.github.mikephil.charting.charts.ScatterChart;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.ScatterData;
+import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet;
+import com.github.mikephil.charting.listener.ChartTouchListener;
+import com.github.mikephil.charting.listener.OnChartGestureListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Level of detail of the solved problem scatter.
+ * <p>
+ * Handing every solve of a long history to the chart makes it draw and hit test thousands of
+ * points that share pixels. Only the solves in the visible range and one screen on each side are
+ * kept, reduced by {@link Downsampler#lttb} to about one point per pixel of the chart width,
+ * which keeps the peaks and dips of the rating series. Zooming and panning sample again,
+ * at most once per frame, and every solve keeps one {@link Entry} for all samples.
+ */
+class ScatterSampler implements OnChartGestureListener {
+
+    // screens sampled around the visible one, so panning shows points before the next sample
+    private static final int MARGIN_SCREENS = 1;
+
+    private final ScatterChart chart;
+    private final ProgressResult progress;
+    // entries of the data set of every rating bucket, refilled by each sample
+    private final List<ArrayList<Entry>> bucketEntries;
+    private final Entry[] entries;
+    private final int[] sampled;
+    private boolean samplePosted;
+
+    private final Runnable sampleVisible = new Runnable() {
+        @Override
+        public void run() {
+            samplePosted = false;
+            sampleVisible();
+        }
+    };
+
+    ScatterSampler(ScatterChart chart, ProgressResult progress, List<ArrayList<Entry>> bucketEntries) {
+        this.chart = chart;
+        this.progress = progress;
+        this.bucketEntries = bucketEntries;
+        entries = new Entry[progress.getSolvedCount()];
+        sampled = new int[progress.getSolvedCount()];
+    }
+
+    /*
+     * filling the bucket entries for the whole series, width is the chart width in pixels
+     */
+    void sampleAll(int width) {
+        sample(0, progress.getSolvedCount(), width);
+    }
+
+    private void sampleVisible() {
+        if (chart.getData() == null) {
+            return;
+        }
+        float low = chart.getLowestVisibleX();
+        float high = chart.getHighestVisibleX();
+        float margin = (high - low) * MARGIN_SCREENS;
+        int from = Math.max(0, (int) Math.floor(low - margin));
+        int to = Math.min(progress.getSolvedCount(), (int) Math.ceil(high + margin) + 1);
+        int width = (int) chart.getViewPortHandler().contentWidth();
+        sample(from, to, width * (1 + 2 * MARGIN_SCREENS));
+
+        ScatterData data = chart.getData();
+        for (IScatterDataSet dataSet : data.getDataSets()) {
+            dataSet.calcMinMax();
+        }
+        data.notifyDataChanged();
+        chart.notifyDataSetChanged();
+        chart.invalidate();
+    }
+
+    private void sample(int from, int to, int threshold) {
+        for (ArrayList<Entry> bucket : bucketEntries) {
+            bucket.clear();
+        }
+        int sampledCount = from < to ? Downsampler.sampleSolves(progress, from, to, threshold, sampled) : 0;
+        for (int i = 0; i < sampledCount; i++) {
+            int k = sampled[i];
+            int y = progress.getSolvedRating(k);
+            if (entries[k] == null) {
+                entries[k] = new Entry(k, y);
+            }
+            bucketEntries.get(ProgressResult.bucketOf(y)).add(entries[k]);
+        }
+    }
+
+    private void postSample() {
+        if (!samplePosted) {
+            samplePosted = true;
+            chart.postOnAnimation(sampleVisible);
+        }
+    }
+
+    @Override
+    public void onChartScale(MotionEvent me, float scaleX, float scaleY) {
+        postSample();
+    }
+
+    @Override
+    public void onChartTranslate(MotionEvent me, float dX, float dY) {
+        postSample();
+    }
+
+    @Override
+    public void onChartGestureEnd(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+        // a double tap zooms after its callback, the fling and the zoom end here
+        postSample();
+    }
+
+    @Override
+    public void onChartGestureStart(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+    }
+
+    @Override
+    public void onChartLongPressed(MotionEvent me) {
+    }
+
+    @Override
+    public void onChartDoubleTapped(MotionEvent me) {
+    }
+
+    @Override
+    public void onChartSingleTapped(MotionEvent me) {
+    }
+
+    @Override
+    public void onChartFling(MotionEvent me1, MotionEvent me2, float velocityX, float velocityY) {
+    }
+}
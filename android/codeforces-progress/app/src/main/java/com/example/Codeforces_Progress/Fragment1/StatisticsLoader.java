@@ -0,0 +1,105 @@
+package com.example.Codeforces_Progress.Fragment1;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.Codeforces_Progress.Analytics.StatisticsEngine;
+import com.example.Codeforces_Progress.Analytics.StatisticsResult;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the {@link StatisticsResult} of a handle from its stored submissions.
+ * <p>
+ * Statistics are cached per handle together with the version of the stored submissions they were
+ * computed from ({@link DataBaseHelper#getSubmissionsVersion(String)}), which changes with every write
+ * of the handle's submissions, so opening a handle again only costs looking up its id
+ * until the background sync or a refresh stores something new.
+ * Must be used from the UI thread, the listener is called on it.
+ */
+public class StatisticsLoader {
+
+    private static final int MAX_CACHED_HANDLES = 16;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // lower case handle -> its last statistics, least recently used first, only used on the executor
+    private static final Map<String, Loaded> cache = new LinkedHashMap<String, Loaded>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Loaded> eldest) {
+            return size() > MAX_CACHED_HANDLES;
+        }
+    };
+
+    private final DataBaseHelper dataBaseHelper;
+    private final StatisticsEngine statisticsEngine = new StatisticsEngine();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // bumped by every load and cancel, only the latest load is delivered
+    private int generation;
+
+    public StatisticsLoader(DataBaseHelper dataBaseHelper) {
+        this.dataBaseHelper = dataBaseHelper;
+    }
+
+    /*
+     * streaks are counted in days of the default time zone
+     */
+    public void load(final String handle, final Listener listener) {
+        final int request = ++generation;
+        final String key = handle.toLowerCase(Locale.ROOT);
+        final int utcOffsetSeconds = TimeZone.getDefault().getOffset(System.currentTimeMillis()) / 1000;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                // read before the submissions, a sync merged in between is computed again next time
+                long version = dataBaseHelper.getSubmissionsVersion(handle);
+                Loaded loaded = cache.get(key);
+                if (loaded == null || loaded.version != version || loaded.utcOffsetSeconds != utcOffsetSeconds) {
+                    loaded = new Loaded(statisticsEngine.compute(dataBaseHelper.getSubmissions(handle), utcOffsetSeconds),
+                            version, utcOffsetSeconds);
+                    cache.put(key, loaded);
+                }
+
+                final StatisticsResult statistics = loaded.statistics;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (request == generation) {
+                            listener.onStatisticsLoaded(statistics);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /*
+     * the listener isn't called for the loads in flight
+     */
+    public void cancel() {
+        generation++;
+    }
+
+    private static class Loaded {
+        final StatisticsResult statistics;
+        final long version;
+        final int utcOffsetSeconds;
+
+        Loaded(StatisticsResult statistics, long version, int utcOffsetSeconds) {
+            this.statistics = statistics;
+            this.version = version;
+            this.utcOffsetSeconds = utcOffsetSeconds;
+        }
+    }
+
+    public interface Listener {
+        void onStatisticsLoaded(StatisticsResult statistics);
+    }
+}
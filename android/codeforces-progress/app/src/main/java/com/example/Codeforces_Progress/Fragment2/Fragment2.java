@@ -3,6 +3,8 @@ package com.example.Codeforces_Progress.Fragment2;
 import android.content.Intent;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -17,21 +19,23 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
+import com.example.Codeforces_Progress.APIInterfaces.ApiClient;
 import com.example.Codeforces_Progress.APIInterfaces.ApiInterfaceProblemSet;
+import com.example.Codeforces_Progress.ProblemSearch.ProblemFilter;
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
 import com.example.Codeforces_Progress.ProblemSetClasses.ProblemSet;
-import com.example.Codeforces_Progress.ProblemSetClasses.Problems;
+import com.example.Codeforces_Progress.ProblemSetClasses.ResultOfProblemSet;
 import com.example.Codeforces_Progress.R;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class Fragment2 extends Fragment {
 
@@ -40,17 +44,18 @@ public class Fragment2 extends Fragment {
     }
 
     private static final String TAG = "BUGGUB";
-    private static final String BASE_URL = "https://codeforces.com/api/";
+    // problems read at once while the filter is built
+    private static final int CATALOG_READ_SIZE = 1000;
     private RecyclerView recyclerView;
     private ProblemListAdapter problemListAdapter;
     private SearchView searchView;
     private SwipeRefreshLayout swipeRefreshLayout;
     private ApiInterfaceProblemSet apiInterfacePS;
-    private List<String> problemNames = new ArrayList<>();
-    private List<String> ClonedProblemNames = new ArrayList<>();
-    private List<Integer> problemRating = new ArrayList<>();
-    private List<List<String>> problemTags = new ArrayList<>();
-    private HashMap<String, String> problemUrl = new HashMap<>();
+    private DataBaseHelper dataBaseHelper;
+
+    // reading and writing the problem cache is kept off the UI thread
+    private final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     // arguments for passing as relative url
     String problemSetName = "";
@@ -63,18 +68,19 @@ public class Fragment2 extends Fragment {
         // Inflate(create) the layout(fragment_2) for this fragment(container)
         View view = inflater.inflate(R.layout.fragment_2, container, false);
 
+        dataBaseHelper = DataBaseHelper.getInstance(getContext());
+
         setViews(view);
         setRetrofit();
-        getProblemList();
         setRecyclerView();
+        loadCachedProblemList();
+        getProblemList(false);
 
         swipeRefreshLayout.setOnRefreshListener(new SwipeRefreshLayout.OnRefreshListener() {
             @RequiresApi(api = Build.VERSION_CODES.KITKAT)
             @Override
             public void onRefresh() {
-                problemNames.clear();
-                getProblemList();
-                setRecyclerView();
+                getProblemList(true);
 
                 swipeRefreshLayout.setRefreshing(false);
                 Toast.makeText(getActivity(), "Refreshed", Toast.LENGTH_SHORT).show();
@@ -84,8 +90,12 @@ public class Fragment2 extends Fragment {
         problemListAdapter.setOnItemClickListener(new ProblemListAdapter.ClickListener() {
             @Override
             public void OnItemClick(int position, View v) {
+                String url = problemListAdapter.getUrl(position);
+                if (url == null) {
+                    return; // the row is still empty
+                }
                 Intent intentProblemActivity = new Intent(v.getContext(), ProblemActivity.class);
-                intentProblemActivity.putExtra("tag", problemUrl.get(problemNames.get(position)));
+                intentProblemActivity.putExtra("tag", url);
                 startActivity(intentProblemActivity);
             }
         });
@@ -114,7 +124,7 @@ public class Fragment2 extends Fragment {
 
     @RequiresApi(api = Build.VERSION_CODES.KITKAT)
     private void setRecyclerView() {
-        problemListAdapter = new ProblemListAdapter(getContext(), problemNames, ClonedProblemNames, problemTags, problemRating);
+        problemListAdapter = new ProblemListAdapter(getContext());
         recyclerView.setAdapter(problemListAdapter);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
         recyclerView.addItemDecoration(new DividerItemDecoration(Objects.requireNonNull(getContext()),
@@ -122,41 +132,128 @@ public class Fragment2 extends Fragment {
     }
 
     private void setRetrofit() {
-        // API client library
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
+        apiInterfacePS = ApiClient.getInstance(Objects.requireNonNull(getContext())).getProblemSetApi();
+    }
 
-        apiInterfacePS = retrofit.create(ApiInterfaceProblemSet.class);
+    @Override
+    public void onDestroy() {
+        cacheExecutor.shutdown();
+        super.onDestroy();
     }
 
-    private void getProblemList() {
-        Call<ProblemSet> call = apiInterfacePS.getProblemSet(problemSetName, tags);
+    /*
+     * showing the problems saved by the last successful fetch,
+     * so the list never waits for the network on start up
+     */
+    private void loadCachedProblemList() {
+        cacheExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                String version = dataBaseHelper.getProblemsVersion();
+                if (version != null) {
+                    showProblemsOnUiThread(version);
+                }
+            }
+        });
+    }
+
+    /*
+     * fetching problemset.problems in background,
+     * the cache and the list are only replaced if the content hash changed,
+     * a refresh asked by the user revalidates the HTTP cache instead of reading it
+     */
+    private void getProblemList(boolean refresh) {
+        Call<ProblemSet> call = refresh
+                ? apiInterfacePS.getProblemSet(problemSetName, tags, "no-cache")
+                : apiInterfacePS.getProblemSet(problemSetName, tags);
 
         call.enqueue(new Callback<ProblemSet>() {
 
             @Override
             public void onResponse(Call<ProblemSet> call, Response<ProblemSet> response) {
-                assert response.body() != null;
-                List<Problems> results = response.body().getResults().getProblems();
-                for (Problems result : results) {
-                    String name = result.getContestId() + result.getIndex() + ": " + result.getName();
-                    String url = "https://codeforces.com/problemset/problem/" + result.getContestId() + "/" + result.getIndex() + "?mobile=true";
-                    problemNames.add(name);
-                    ClonedProblemNames.add(name);
-                    problemUrl.put(name, url);
-                    problemRating.add(result.getRating());
-                    problemTags.add(result.getTags());
-                    problemListAdapter.notifyDataSetChanged();
+                if (cacheExecutor.isShutdown()) {
+                    return;
+                }
+                if (response.body() == null || response.body().getResults() == null) {
+                    Log.d(TAG, "getProblemList: empty response " + response.code());
+                    return;
                 }
+                final ResultOfProblemSet results = response.body().getResults();
+
+                cacheExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (dataBaseHelper.replaceProblems(results.getProblems(), results.getContentHash())) {
+                            showProblemsOnUiThread(results.getContentHash());
+                        }
+                    }
+                });
             }
 
             @Override
             public void onFailure(Call<ProblemSet> call, Throwable t) {
-                toastMessage(getString(R.string.warning_2));
+                if (isAdded()) {
+                    toastMessage(getString(R.string.warning_2));
+                }
+            }
+        });
+    }
+
+    /*
+     * the filter is built on the cache executor from the cached problems, CATALOG_READ_SIZE at a time,
+     * the list reads them back page by page as long as the cached version is the given one
+     */
+    private void showProblemsOnUiThread(final String version) {
+        final int ratingLevelCount = problemListAdapter.getRatingLevelCount();
+        final ProblemFilter problemFilter = new ProblemFilter(new ProblemFilter.CatalogSource() {
+            @Override
+            public ProblemCatalog readRows(int fromRow) {
+                return new ProblemCatalog(dataBaseHelper.getProblemPage(fromRow, CATALOG_READ_SIZE));
+            }
+        }, new ProblemFilter.SolvedProblems() {
+            @Override
+            public int[] getSolvedRows(String handle) {
+                return dataBaseHelper.getSolvedProblemRows(handle);
+            }
+
+            @Override
+            public long getVersion(String handle) {
+                return dataBaseHelper.getSubmissionsVersion(handle);
             }
         });
+        final ProblemPager problemPager = new ProblemPager(new ProblemPager.PageSource() {
+            @Override
+            public ProblemPage loadPage(int fromRow, int count) {
+                if (!version.equals(dataBaseHelper.getProblemsVersion())) {
+                    return null; // replaced, the new problems are shown by their own pager
+                }
+                return new ProblemPage(new ProblemCatalog(dataBaseHelper.getProblemPage(fromRow, count)), ratingLevelCount);
+            }
+        }, cacheExecutor, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                mainHandler.post(command);
+            }
+        });
+
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (isAdded()) {
+                    showProblems(problemFilter, problemPager);
+                }
+            }
+        });
+    }
+
+    private void showProblems(ProblemFilter problemFilter, ProblemPager problemPager) {
+        problemListAdapter.setProblemFilter(problemFilter, problemPager);
+
+        // keeping the user's search applied over the new list
+        CharSequence query = searchView.getQuery();
+        if (query != null && query.length() > 0) {
+            problemListAdapter.getFilter().filter(query);
+        }
     }
 
     private void toastMessage(String message) {
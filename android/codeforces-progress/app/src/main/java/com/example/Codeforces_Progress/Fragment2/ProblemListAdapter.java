@@ -1,6 +1,7 @@
 package com.example.Codeforces_Progress.Fragment2;
 
 import android.content.Context;
+import android.content.res.ColorStateList;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,17 +10,21 @@ import android.widget.Filterable;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 
+import com.example.Codeforces_Progress.ProblemSearch.ProblemFilter;
+import com.example.Codeforces_Progress.ProblemSearch.RowDiff;
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+import com.example.Codeforces_Progress.ProblemSetClasses.Problems;
 import com.example.Codeforces_Progress.R;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 
 /**
- * 5 methods, 1 inner-class, 1 interface and 1 constructor
+ * 9 methods, 1 inner-class, 1 interface and 1 constructor
  * overridden methods:
  * {@link #onCreateViewHolder(ViewGroup, int)
  * @link #onBindViewHolder(ViewHolder, int)
@@ -27,7 +32,18 @@ import java.util.List;
  * @link #getFilter()}
  * <p>
  * created methods:
- * {@link #setOnItemClickListener(ClickListener)}
+ * {@link #setOnItemClickListener(ClickListener)
+ * @link #setProblemFilter(ProblemFilter, ProblemPager)
+ * @link #getRow(int)
+ * @link #getUrl(int)
+ * @link #getRatingLevelCount()}
+ * <p>
+ * The adapter shows the rows matched by the {@link ProblemFilter}, so a position has to be
+ * mapped with {@link #getRow(int)}. The problems themselves are read page by page from the
+ * local store by the {@link ProblemPager}, a row is shown empty until its page is read.
+ * A new result is diffed against the shown one on the filtering thread and only
+ * the removed and inserted ranges are notified, see {@link RowDiff}.
+ * The text of a row is built with its {@link ProblemPage}, binding only sets it.
  * <p>
  * interface:
  * {@link ClickListener}
@@ -39,18 +55,64 @@ public class ProblemListAdapter extends RecyclerView.Adapter<ProblemListAdapter.
 
     private static ClickListener clickListener;
     private Context context;
-    private List<String> problemNames;
-    private List<String> CloneProblemNames;
-    private List<Integer> problemRating;
-    private List<List<String>> problemTags;
+    private volatile ProblemFilter problemFilter = new ProblemFilter(new ProblemCatalog(new ArrayList<Problems>()), null);
+    private ProblemPager problemPager = new ProblemPager(null, null, null);
+    // read by the filtering thread to diff the next result against
+    private volatile int[] visibleRows = new int[0];
+
+    // one ColorStateList per rating level, setTextColor(int) would allocate one per bind
+    private final ColorStateList[] ratingColors;
+    private final ColorStateList unratedColor;
 
-    public ProblemListAdapter(Context context, List<String> problemNames, List<String> problemNamesAll,
-                              List<List<String>> problemTags, List<Integer> problemRating) {
+    public ProblemListAdapter(Context context) {
         this.context = context;
-        this.problemNames = problemNames;
-        this.CloneProblemNames = problemNamesAll;
-        this.problemTags = problemTags;
-        this.problemRating = problemRating;
+
+        int[] levelColors = context.getResources().getIntArray(R.array.cf_lvl);
+        ratingColors = new ColorStateList[levelColors.length];
+        for (int i = 0; i < levelColors.length; i++) {
+            ratingColors[i] = ColorStateList.valueOf(levelColors[i]);
+        }
+        unratedColor = ColorStateList.valueOf(ContextCompat.getColor(context, R.color.colorBlueGreen));
+    }
+
+    /*
+     * number of rating colors, a ProblemPage has to be built with it
+     */
+    public int getRatingLevelCount() {
+        return ratingColors.length;
+    }
+
+    /*
+     * the pager has to read the problems the filter was built over,
+     * every problem is shown until the next filtering,
+     * rows of different problemsets can't be diffed so the whole list is rebound
+     */
+    public void setProblemFilter(ProblemFilter problemFilter, ProblemPager problemPager) {
+        this.problemPager.close();
+        this.problemFilter = problemFilter;
+        this.problemPager = problemPager;
+        visibleRows = problemFilter.filter("");
+        problemPager.setRows(visibleRows);
+        problemPager.setPageListener(new ProblemPager.PageListener() {
+            @Override
+            public void onPageLoaded(int fromPosition, int count) {
+                notifyItemRangeChanged(fromPosition, count);
+            }
+        });
+        notifyDataSetChanged();
+    }
+
+    /*
+     * url of the problem shown at position, null while its page is being read
+     */
+    public String getUrl(int position) {
+        ProblemPage page = problemPager.getPage(position);
+        return page == null ? null : page.getUrl(problemPager.getIndexInPage(position));
+    }
+
+    // maps an adapter position to the position of the problem in the problemset
+    public int getRow(int position) {
+        return visibleRows[position];
     }
 
     @NonNull
@@ -63,21 +125,26 @@ public class ProblemListAdapter extends RecyclerView.Adapter<ProblemListAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        holder.problemNameTV.setText(problemNames.get(position));
-        holder.problemRatingTV.setText(String.valueOf("R-" + problemRating.get(position)));
-        String tags = "";
-        for (int i = 0; i < problemTags.get(position).size(); i++) {
-            tags += problemTags.get(position).get(i);
-            if (i != problemTags.get(position).size() - 1) {
-                tags += ", ";
-            }
+        ProblemPage page = problemPager.getPage(position);
+        if (page == null) {
+            // bound again once the page is read
+            holder.problemNameTV.setText("");
+            holder.problemRatingTV.setText("");
+            holder.problemTagTV.setText("");
+            return;
         }
-        holder.problemTagTV.setText(tags);
+        // everything shown was built with the page, nothing is allocated here
+        int i = problemPager.getIndexInPage(position);
+        int level = page.getRatingLevel(i);
+        holder.problemNameTV.setText(page.getLabel(i));
+        holder.problemRatingTV.setText(page.getRatingLabel(i));
+        holder.problemRatingTV.setTextColor(level == ProblemPage.NO_LEVEL ? unratedColor : ratingColors[level]);
+        holder.problemTagTV.setText(page.getTagsLabel(i));
     }
 
     @Override
     public int getItemCount() {
-        return problemNames.size();
+        return visibleRows.length;
     }
 
     @Override
@@ -90,19 +157,14 @@ public class ProblemListAdapter extends RecyclerView.Adapter<ProblemListAdapter.
         // runs on background thread
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
-            List<String> filteredList = new ArrayList<>();
-            if (constraint.toString().isEmpty()) {
-                filteredList.addAll(CloneProblemNames);
-            } else {
-                for (String problemsName : CloneProblemNames) {
-                    if (problemsName.toLowerCase().contains(constraint.toString().toLowerCase())) {
-                        filteredList.add(problemsName);
-                    }
-                }
-            }
+            ProblemFilter filter = problemFilter;
+            int[] shownRows = visibleRows;
+            int[] rows = filter.filter(constraint);
+            RowDiff diff = RowDiff.calculate(shownRows, rows);
 
             FilterResults filterResults = new FilterResults();
-            filterResults.values = filteredList;
+            filterResults.values = new Object[]{filter, rows, shownRows, diff};
+            filterResults.count = rows.length;
 
             return filterResults;
         }
@@ -110,9 +172,19 @@ public class ProblemListAdapter extends RecyclerView.Adapter<ProblemListAdapter.
         // runs on UI thread
         @Override
         protected void publishResults(CharSequence constraint, FilterResults results) {
-            problemNames.clear();
-            problemNames.addAll((Collection<? extends String>) results.values);
-            notifyDataSetChanged();
+            Object[] values = (Object[]) results.values;
+            if (values[0] != problemFilter) {
+                return; // filtered over a replaced list, the new list is filtered again
+            }
+            int[] shownRows = visibleRows;
+            visibleRows = (int[]) values[1];
+            problemPager.setRows(visibleRows);
+            RowDiff diff = (RowDiff) values[3];
+            if (values[2] == shownRows) {
+                diff.dispatchUpdatesTo(new AdapterListUpdateCallback(ProblemListAdapter.this));
+            } else {
+                notifyDataSetChanged(); // the shown rows changed while filtering
+            }
         }
     };
 
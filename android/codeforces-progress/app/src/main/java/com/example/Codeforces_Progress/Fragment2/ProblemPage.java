@@ -0,0 +1,74 @@
+package com.example.Codeforces_Progress.Fragment2;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+
+/**
+ * One page of {@link ProblemPager} with the text shown for each of its problems.
+ * <p>
+ * The label, rating text, joined tags and rating level of every row are built once,
+ * on the load executor, so binding a row only hands out these references and
+ * allocates nothing while the list scrolls.
+ */
+class ProblemPage {
+
+    // rating level of a problem without rating, levels index R.array.cf_lvl otherwise
+    static final int NO_LEVEL = -1;
+
+    private static final int LOWEST_RATING = 800;
+    private static final int RATING_STEP = 100;
+
+    private final ProblemCatalog catalog;
+    private final CharSequence[] labels;
+    private final CharSequence[] ratingLabels;
+    private final CharSequence[] tagLabels;
+    private final int[] ratingLevels;
+
+    /*
+     * levelCount is the number of colors in R.array.cf_lvl
+     */
+    ProblemPage(ProblemCatalog catalog, int levelCount) {
+        this.catalog = catalog;
+        int size = catalog.size();
+        labels = new CharSequence[size];
+        ratingLabels = new CharSequence[size];
+        tagLabels = new CharSequence[size];
+        ratingLevels = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            int rating = catalog.getRating(i);
+            labels[i] = catalog.getLabel(i);
+            ratingLabels[i] = rating == ProblemCatalog.NO_RATING ? "R-null" : "R-" + rating;
+            tagLabels[i] = catalog.getTagsLabel(i);
+            ratingLevels[i] = rating == ProblemCatalog.NO_RATING ? NO_LEVEL
+                    : Math.max(0, Math.min(levelCount - 1, (rating - LOWEST_RATING) / RATING_STEP));
+        }
+    }
+
+    int size() {
+        return labels.length;
+    }
+
+    CharSequence getLabel(int i) {
+        return labels[i];
+    }
+
+    CharSequence getRatingLabel(int i) {
+        return ratingLabels[i];
+    }
+
+    CharSequence getTagsLabel(int i) {
+        return tagLabels[i];
+    }
+
+    /*
+     * index of the rating color in R.array.cf_lvl, NO_LEVEL if the problem has no rating
+     */
+    int getRatingLevel(int i) {
+        return ratingLevels[i];
+    }
+
+    // only built on click, not while scrolling
+    String getUrl(int i) {
+        return catalog.getUrl(i);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.Codeforces_Progress.Fragment2;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Windowed access to the cached problems shown by {@link ProblemListAdapter}.
+ * <p>
+ * The problem table is read in pages of PAGE_SIZE consecutive rows. A page is loaded
+ * the first time one of its rows is bound, and the pages of the rows PREFETCH_DISTANCE
+ * positions ahead and behind are loaded with it. At most MAX_PAGES pages are kept,
+ * the least recently used one is dropped first, so the memory kept for display
+ * doesn't grow with the problemset. Only the rows of a page a bind found missing are
+ * rebound when it arrives, so prefetching never causes rebinds.
+ * <p>
+ * Pages are keyed by row, not by adapter position, so a page stays valid while the
+ * search result changes. The shown rows are set with {@link #setRows(int[])}.
+ * <p>
+ * Every method is called on the UI thread, pages are read on the load executor
+ * and handed back through the main executor.
+ */
+class ProblemPager {
+
+    static final int PAGE_SIZE = 50;
+    static final int MAX_PAGES = 12;
+    static final int PREFETCH_DISTANCE = 25;
+
+    private final PageSource pageSource;
+    private final Executor loadExecutor;
+    private final Executor mainExecutor;
+
+    // page number -> page, in access order
+    private final LinkedHashMap<Integer, ProblemPage> pages = new LinkedHashMap<Integer, ProblemPage>(MAX_PAGES * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ProblemPage> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    // pages requested and not delivered yet, a page is never read twice at the same time
+    private final Set<Integer> loading = new HashSet<>();
+    // pages a bind found missing, only their rows are rebound once read, never the prefetched ones
+    private final Set<Integer> missed = new HashSet<>();
+    private PageListener pageListener;
+    private int[] rows = new int[0];
+    private boolean closed;
+
+    ProblemPager(PageSource pageSource, Executor loadExecutor, Executor mainExecutor) {
+        this.pageSource = pageSource;
+        this.loadExecutor = loadExecutor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    void setPageListener(PageListener pageListener) {
+        this.pageListener = pageListener;
+    }
+
+    /*
+     * rows shown by the adapter, in increasing order
+     */
+    void setRows(int[] rows) {
+        this.rows = rows;
+    }
+
+    /*
+     * the page holding the problem shown at position, null while it's being read,
+     * the problem is at getIndexInPage(position) of the page
+     */
+    ProblemPage getPage(int position) {
+        if (position + PREFETCH_DISTANCE < rows.length) {
+            request(rows[position + PREFETCH_DISTANCE] / PAGE_SIZE);
+        }
+        if (position >= PREFETCH_DISTANCE) {
+            request(rows[position - PREFETCH_DISTANCE] / PAGE_SIZE);
+        }
+
+        int page = rows[position] / PAGE_SIZE;
+        ProblemPage problemPage = pages.get(page);
+        if (problemPage == null) {
+            missed.add(page);
+            request(page);
+        }
+        return problemPage;
+    }
+
+    int getIndexInPage(int position) {
+        return rows[position] % PAGE_SIZE;
+    }
+
+    int getPageCount() {
+        return pages.size();
+    }
+
+    /*
+     * pages read after this are dropped, used once the pager is replaced
+     */
+    void close() {
+        closed = true;
+        pages.clear();
+    }
+
+    private void request(final int page) {
+        if (closed || pages.containsKey(page) || !loading.add(page)) {
+            return;
+        }
+        try {
+            loadExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final ProblemPage problemPage = pageSource.loadPage(page * PAGE_SIZE, PAGE_SIZE);
+                    mainExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            onPageLoaded(page, problemPage);
+                        }
+                    });
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(page); // the screen is being destroyed
+        }
+    }
+
+    private void onPageLoaded(int page, ProblemPage problemPage) {
+        loading.remove(page);
+        boolean wasMissed = missed.remove(page);
+        if (closed || problemPage == null) {
+            return;
+        }
+        pages.put(page, problemPage);
+        if (!wasMissed) {
+            return;
+        }
+
+        // the shown positions of the page's rows are one range, the rows being sorted
+        int from = lowerBound(rows, page * PAGE_SIZE);
+        int to = lowerBound(rows, (page + 1) * PAGE_SIZE);
+        if (from < to && pageListener != null) {
+            pageListener.onPageLoaded(from, to - from);
+        }
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * reads count problems starting at fromRow and builds their text, called on the load executor,
+     * returns null if the cached problems no longer match the shown ones
+     */
+    interface PageSource {
+        ProblemPage loadPage(int fromRow, int count);
+    }
+
+    /*
+     * problems at positions [fromPosition, fromPosition + count) can be bound now
+     */
+    interface PageListener {
+        void onPageLoaded(int fromPosition, int count);
+    }
+}
@@ -10,6 +10,7 @@ import androidx.viewpager.widget.ViewPager;
 
 import com.example.Codeforces_Progress.Fragment1.Fragment1;
 import com.example.Codeforces_Progress.Fragment2.Fragment2;
+import com.example.Codeforces_Progress.Sync.ProfileSyncScheduler;
 import com.google.android.material.tabs.TabLayout;
 
 public class MainActivity extends AppCompatActivity {
@@ -29,6 +30,9 @@ public class MainActivity extends AppCompatActivity {
         setSupportActionBar(toolbar);
         setupViewPager(viewPager);
         tabLayout.setupWithViewPager(viewPager);
+
+        // keeps the saved handles synced in background, so their profiles open from the local store
+        ProfileSyncScheduler.schedule(this);
     }
 
     private void setupViewPager(ViewPager viewPager) {
@@ -0,0 +1,262 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+import com.example.Codeforces_Progress.ProblemSetClasses.Problems;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers a {@link ProblemQuery} over the {@link ProblemCatalog}.
+ * <p>
+ * Every tag keeps a bitset of its rows and the rated rows are sorted by rating,
+ * so a rating range is two binary searches. The facets are intersected as bitsets
+ * and the name part of the query goes through {@link ProblemSearchIndex}.
+ * Results are rows of the catalog in its order.
+ */
+public class ProblemFilter {
+
+    private final int size;
+    private final ProblemSearchIndex searchIndex;
+    private final Map<String, BitSet> tagRows = new HashMap<>();
+    // rated rows sorted by rating, ratings[i] is the rating of ratingRows[i]
+    private final int[] ratingRows;
+    private final int[] ratings;
+    private final SolvedProblems solvedProblems;
+
+    // the solved problems of the last handle asked, the query stays the same while typing,
+    // they are read again once the submissions of the handle change
+    private String lastSolvedHandle;
+    private long lastSolvedVersion;
+    private BitSet lastSolvedRows;
+
+    /*
+     * the catalog is only read here, it isn't kept,
+     * solvedProblems can be null when no handle is known
+     */
+    public ProblemFilter(final ProblemCatalog catalog, SolvedProblems solvedProblems) {
+        this(new CatalogSource() {
+            @Override
+            public ProblemCatalog readRows(int fromRow) {
+                return fromRow == 0 ? catalog : new ProblemCatalog(new ArrayList<Problems>());
+            }
+        }, solvedProblems);
+    }
+
+    /*
+     * the catalog is read one part at a time, only the part being read is kept,
+     * solvedProblems can be null when no handle is known
+     */
+    public ProblemFilter(CatalogSource catalogSource, SolvedProblems solvedProblems) {
+        this.solvedProblems = solvedProblems;
+
+        // the labels are only needed while the index lowercases them
+        List<String> labels = new ArrayList<>();
+        long[] ratedRows = new long[0];
+        int rated = 0;
+        int size = 0;
+        for (ProblemCatalog catalog = catalogSource.readRows(0); catalog.size() > 0; catalog = catalogSource.readRows(size)) {
+            BitSet[] rowsByTagId = new BitSet[catalog.getTagCount()];
+            for (int tagId = 0; tagId < rowsByTagId.length; tagId++) {
+                rowsByTagId[tagId] = tagRows.get(catalog.getTagName(tagId));
+                if (rowsByTagId[tagId] == null) {
+                    rowsByTagId[tagId] = new BitSet();
+                    tagRows.put(catalog.getTagName(tagId), rowsByTagId[tagId]);
+                }
+            }
+
+            if (ratedRows.length < rated + catalog.size()) {
+                ratedRows = Arrays.copyOf(ratedRows, Math.max(ratedRows.length * 2, rated + catalog.size()));
+            }
+            for (int i = 0; i < catalog.size(); i++) {
+                int row = size + i;
+                labels.add(catalog.getLabel(i));
+                if (catalog.getRating(i) != ProblemCatalog.NO_RATING) {
+                    // rating in the high bits, sorting keeps rows of the same rating in order
+                    ratedRows[rated++] = ((long) catalog.getRating(i) << 32) | row;
+                }
+                for (int tagId = 0; tagId < rowsByTagId.length; tagId++) {
+                    if (catalog.hasTag(i, tagId)) {
+                        rowsByTagId[tagId].set(row);
+                    }
+                }
+            }
+            size += catalog.size();
+        }
+        this.size = size;
+        this.searchIndex = new ProblemSearchIndex(labels);
+
+        Arrays.sort(ratedRows, 0, rated);
+        ratingRows = new int[rated];
+        ratings = new int[rated];
+        for (int i = 0; i < rated; i++) {
+            ratings[i] = (int) (ratedRows[i] >>> 32);
+            ratingRows[i] = (int) ratedRows[i];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] filter(CharSequence query) {
+        return filter(ProblemQuery.parse(query));
+    }
+
+    public int[] filter(ProblemQuery query) {
+        BitSet rows = facetRows(query);
+
+        int[] textRows = null;
+        if (!query.getText().isEmpty()) {
+            textRows = searchIndex.search(query.getText());
+            if (textRows.length == 0) {
+                // nothing contains the name as typed, allowing a typo
+                textRows = searchIndex.searchFuzzy(query.getText());
+            }
+        }
+
+        if (rows == null) {
+            return textRows != null ? textRows : searchIndex.search("");
+        }
+        if (textRows == null) {
+            return toArray(rows);
+        }
+        int[] matched = new int[textRows.length];
+        int count = 0;
+        for (int row : textRows) {
+            if (rows.get(row)) {
+                matched[count++] = row;
+            }
+        }
+        return Arrays.copyOf(matched, count);
+    }
+
+    /*
+     * rows matching every facet of the query, null if it has none
+     */
+    private BitSet facetRows(ProblemQuery query) {
+        BitSet rows = null;
+
+        if (query.hasRatingRange()) {
+            rows = ratingRange(query.getMinRating(), query.getMaxRating());
+        }
+        for (String tag : query.getTags()) {
+            rows = and(rows, tagRows(tag));
+        }
+        if (query.getSolvedBy() != null) {
+            rows = and(rows, solvedRows(query.getSolvedBy()));
+        }
+        if (query.getUnsolvedBy() != null) {
+            if (rows == null) {
+                rows = new BitSet(size);
+                rows.set(0, size);
+            }
+            rows.andNot(solvedRows(query.getUnsolvedBy()));
+        }
+        return rows;
+    }
+
+    BitSet ratingRange(int minRating, int maxRating) {
+        int from = minRating == ProblemQuery.ANY_RATING ? 0 : lowerBound(ratings, minRating);
+        int to = maxRating == ProblemQuery.ANY_RATING ? ratings.length : lowerBound(ratings, maxRating + 1);
+        BitSet rows = new BitSet(size);
+        for (int i = from; i < to; i++) {
+            rows.set(ratingRows[i]);
+        }
+        return rows;
+    }
+
+    /*
+     * rows having a tag that starts with the given one
+     */
+    private BitSet tagRows(String tag) {
+        BitSet exact = tagRows.get(tag);
+        if (exact != null) {
+            return exact;
+        }
+        BitSet rows = new BitSet(size);
+        for (Map.Entry<String, BitSet> entry : tagRows.entrySet()) {
+            if (entry.getKey().startsWith(tag)) {
+                rows.or(entry.getValue());
+            }
+        }
+        return rows;
+    }
+
+    private synchronized BitSet solvedRows(String handle) {
+        BitSet rows = new BitSet(size);
+        if (solvedProblems == null) {
+            return rows;
+        }
+        // read before the rows, a write in between only makes the next query read them again
+        long version = solvedProblems.getVersion(handle);
+        if (handle.equalsIgnoreCase(lastSolvedHandle) && version == lastSolvedVersion) {
+            return lastSolvedRows;
+        }
+        for (int row : solvedProblems.getSolvedRows(handle)) {
+            if (row >= 0 && row < size) {
+                rows.set(row);
+            }
+        }
+        lastSolvedHandle = handle;
+        lastSolvedVersion = version;
+        lastSolvedRows = rows;
+        return rows;
+    }
+
+    // the first bitset is copied before it's changed, the second one is never changed
+    private BitSet and(BitSet rows, BitSet other) {
+        if (rows == null) {
+            return (BitSet) other.clone();
+        }
+        rows.and(other);
+        return rows;
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] toArray(BitSet rows) {
+        int[] array = new int[rows.cardinality()];
+        int i = 0;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            array[i++] = row;
+        }
+        return array;
+    }
+
+    /*
+     * the rows of the catalog from fromRow on, as many as the source reads at once,
+     * an empty catalog once there are none, called on the constructing thread
+     */
+    public interface CatalogSource {
+        ProblemCatalog readRows(int fromRow);
+    }
+
+    /*
+     * the rows of the catalog a handle has solved, in any order,
+     * called on the filtering thread
+     */
+    public interface SolvedProblems {
+        int[] getSolvedRows(String handle);
+
+        /*
+         * changes whenever the solved rows of the handle may have changed
+         */
+        long getVersion(String handle);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A problem search typed in the search view.
+ * <p>
+ * Besides the name, a query can hold facets separated by spaces:
+ * a rating range {@code 800-1400} or {@code 1900+}, tags {@code #dp #binary_search}
+ * (an underscore stands for a space, a prefix of a tag is enough) and
+ * {@code solved:handle} or {@code unsolved:handle}. All of them have to match.
+ * Ex. "{@code 800-1400 #dp #greedy unsolved:tourist}"
+ */
+public class ProblemQuery {
+
+    public static final int ANY_RATING = -1;
+
+    private static final Pattern RATING_RANGE = Pattern.compile("(\\d{3,4})-(\\d{3,4})");
+    private static final Pattern MIN_RATING = Pattern.compile("(\\d{3,4})\\+");
+    private static final String TAG_PREFIX = "#";
+    private static final String SOLVED_PREFIX = "solved:";
+    private static final String UNSOLVED_PREFIX = "unsolved:";
+
+    private final String text;
+    private final int minRating;
+    private final int maxRating;
+    private final List<String> tags;
+    private final String solvedBy;
+    private final String unsolvedBy;
+
+    private ProblemQuery(String text, int minRating, int maxRating, List<String> tags, String solvedBy, String unsolvedBy) {
+        this.text = text;
+        this.minRating = minRating;
+        this.maxRating = maxRating;
+        this.tags = tags;
+        this.solvedBy = solvedBy;
+        this.unsolvedBy = unsolvedBy;
+    }
+
+    public static ProblemQuery parse(CharSequence query) {
+        StringBuilder text = new StringBuilder();
+        int minRating = ANY_RATING, maxRating = ANY_RATING;
+        List<String> tags = new ArrayList<>();
+        String solvedBy = null, unsolvedBy = null;
+
+        for (String token : query.toString().trim().split("\\s+")) {
+            String lower = token.toLowerCase(Locale.ROOT);
+            Matcher range = RATING_RANGE.matcher(token);
+            Matcher min = MIN_RATING.matcher(token);
+            if (range.matches()) {
+                minRating = Integer.parseInt(range.group(1));
+                maxRating = Integer.parseInt(range.group(2));
+            } else if (min.matches()) {
+                minRating = Integer.parseInt(min.group(1));
+                maxRating = ANY_RATING;
+            } else if (lower.startsWith(TAG_PREFIX) && lower.length() > TAG_PREFIX.length()) {
+                tags.add(lower.substring(TAG_PREFIX.length()).replace('_', ' '));
+            } else if (lower.startsWith(SOLVED_PREFIX) && lower.length() > SOLVED_PREFIX.length()) {
+                solvedBy = token.substring(SOLVED_PREFIX.length());
+            } else if (lower.startsWith(UNSOLVED_PREFIX) && lower.length() > UNSOLVED_PREFIX.length()) {
+                unsolvedBy = token.substring(UNSOLVED_PREFIX.length());
+            } else if (!token.isEmpty()) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(token);
+            }
+        }
+        return new ProblemQuery(text.toString(), minRating, maxRating, Collections.unmodifiableList(tags), solvedBy, unsolvedBy);
+    }
+
+    // the part of the query matched against problem names
+    public String getText() {
+        return text;
+    }
+
+    public int getMinRating() {
+        return minRating;
+    }
+
+    public int getMaxRating() {
+        return maxRating;
+    }
+
+    public boolean hasRatingRange() {
+        return minRating != ANY_RATING || maxRating != ANY_RATING;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    // null if the query doesn't ask for problems solved by a handle
+    public String getSolvedBy() {
+        return solvedBy;
+    }
+
+    // null if the query doesn't ask for problems unsolved by a handle
+    public String getUnsolvedBy() {
+        return unsolvedBy;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-insensitive substring search over the problem names.
+ * <p>
+ * Names are lowercased once when the index is built, and every trigram of a name
+ * points to the sorted rows containing it. A query intersects the rows of its
+ * trigrams and only checks those candidates, queries shorter than a trigram scan
+ * the lowercased names. While the user keeps typing, the new query is answered
+ * from the rows of the previous one. Results are rows in the order of the given names,
+ * callers must not modify the returned arrays.
+ */
+public class ProblemSearchIndex {
+
+    private static final int GRAM = 3;
+    // a single typo changes at most this many trigrams of the query
+    private static final int GRAMS_PER_EDIT = 3;
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int[] NO_ROWS = new int[0];
+
+    private final String[] lowerNames;
+    private final Map<Long, int[]> postings;
+    private final int[] allRows;
+
+    // the last exact query, typing usually extends it
+    private String lastQuery;
+    private int[] lastRows;
+
+    public ProblemSearchIndex(List<String> names) {
+        lowerNames = new String[names.size()];
+        allRows = new int[names.size()];
+
+        Map<Long, RowList> building = new HashMap<>();
+        for (int row = 0; row < lowerNames.length; row++) {
+            String name = names.get(row).toLowerCase(Locale.ROOT);
+            lowerNames[row] = name;
+            allRows[row] = row;
+            for (int i = 0; i + GRAM <= name.length(); i++) {
+                Long gram = gram(name, i);
+                RowList rows = building.get(gram);
+                if (rows == null) {
+                    rows = new RowList();
+                    building.put(gram, rows);
+                }
+                rows.addOnce(row);
+            }
+        }
+
+        postings = new HashMap<>(building.size() * 2);
+        for (Map.Entry<Long, RowList> entry : building.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().toArray());
+        }
+    }
+
+    public int size() {
+        return lowerNames.length;
+    }
+
+    /*
+     * rows whose name contains the query, ignoring case
+     */
+    public synchronized int[] search(CharSequence query) {
+        String q = query.toString().toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) {
+            return allRows;
+        }
+
+        int[] candidates;
+        if (lastQuery != null && q.contains(lastQuery)) {
+            candidates = lastRows;
+        } else if (q.length() >= GRAM) {
+            candidates = trigramCandidates(q);
+        } else {
+            candidates = allRows;
+        }
+
+        int[] rows = new int[candidates.length];
+        int count = 0;
+        for (int row : candidates) {
+            if (lowerNames[row].contains(q)) {
+                rows[count++] = row;
+            }
+        }
+        rows = count == rows.length ? rows : Arrays.copyOf(rows, count);
+
+        lastQuery = q;
+        lastRows = rows;
+        return rows;
+    }
+
+    /*
+     * rows whose name contains the query with at most one typo
+     * (a character inserted, deleted or replaced), ignoring case
+     * short queries are matched exactly, a typo in them matches almost everything
+     */
+    public int[] searchFuzzy(CharSequence query) {
+        String q = query.toString().toLowerCase(Locale.ROOT);
+        if (q.length() < FUZZY_MIN_LENGTH) {
+            return search(q);
+        }
+
+        // counting for every row how many distinct trigrams of the query it has
+        int[] hits = new int[lowerNames.length];
+        int grams = 0;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            if (q.indexOf(q.substring(i, i + GRAM)) < i) {
+                continue; // counted already
+            }
+            grams++;
+            int[] rows = postings.get(gram(q, i));
+            if (rows != null) {
+                for (int row : rows) {
+                    hits[row]++;
+                }
+            }
+        }
+
+        int threshold = Math.max(1, grams - GRAMS_PER_EDIT);
+        int[] distances = new int[q.length() + 1];
+        int[] rows = new int[lowerNames.length];
+        int count = 0;
+        for (int row = 0; row < lowerNames.length; row++) {
+            if (hits[row] >= threshold && containsWithinOneEdit(lowerNames[row], q, distances)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private int[] trigramCandidates(String q) {
+        int grams = q.length() - GRAM + 1;
+        int[][] lists = new int[grams][];
+        for (int i = 0; i < grams; i++) {
+            int[] rows = postings.get(gram(q, i));
+            if (rows == null) {
+                return NO_ROWS;
+            }
+            lists[i] = rows;
+        }
+
+        // intersecting from the shortest list keeps every step small
+        Arrays.sort(lists, new Comparator<int[]>() {
+            @Override
+            public int compare(int[] a, int[] b) {
+                return a.length - b.length;
+            }
+        });
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                candidates = intersect(candidates, lists[i]);
+            }
+        }
+        return candidates;
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        int[] common = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0, j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                common[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(common, count);
+    }
+
+    /*
+     * Sellers' algorithm: the edit distance between the pattern and the best matching
+     * substring of the text, distances is a buffer of pattern.length() + 1 ints
+     */
+    static boolean containsWithinOneEdit(String text, String pattern, int[] distances) {
+        int m = pattern.length();
+        for (int i = 0; i <= m; i++) {
+            distances[i] = i;
+        }
+        if (distances[m] <= 1) {
+            return true;
+        }
+        for (int j = 0; j < text.length(); j++) {
+            char c = text.charAt(j);
+            int diagonal = distances[0]; // a match may start anywhere in the text
+            for (int i = 1; i <= m; i++) {
+                int above = distances[i];
+                int cost = pattern.charAt(i - 1) == c ? diagonal : diagonal + 1;
+                distances[i] = Math.min(cost, Math.min(above, distances[i - 1]) + 1);
+                diagonal = above;
+            }
+            if (distances[m] <= 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long gram(String s, int start) {
+        return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+
+    // growable, sorted list of rows used while building the postings
+    private static class RowList {
+        private int[] rows = new int[4];
+        private int size;
+
+        void addOnce(int row) {
+            if (size > 0 && rows[size - 1] == row) {
+                return;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
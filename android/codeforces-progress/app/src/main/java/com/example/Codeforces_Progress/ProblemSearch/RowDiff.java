@@ -0,0 +1,95 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import java.util.Arrays;
+
+/**
+ * Difference between two results of the same {@link ProblemFilter}.
+ * <p>
+ * Results are rows in increasing order, so the difference is a merge of the two arrays
+ * in O(old + new) instead of DiffUtil's O((old + new) * edits), which is slow when a
+ * keystroke removes thousands of rows. Rows never move, only ranges are removed and
+ * inserted. Calculated on the filtering thread, dispatched on the UI thread.
+ */
+public class RowDiff {
+
+    private static final int REMOVE = 0;
+    private static final int INSERT = 1;
+
+    // (type, position, count) per update, positions are valid when dispatched in order
+    private final int[] updates;
+    private final int updateCount;
+    private final int changedCount;
+
+    private RowDiff(int[] updates, int updateCount, int changedCount) {
+        this.updates = updates;
+        this.updateCount = updateCount;
+        this.changedCount = changedCount;
+    }
+
+    public static RowDiff calculate(int[] oldRows, int[] newRows) {
+        int[] updates = new int[12];
+        int count = 0, changed = 0;
+        int i = 0, j = 0, position = 0;
+        while (i < oldRows.length || j < newRows.length) {
+            if (i < oldRows.length && j < newRows.length && oldRows[i] == newRows[j]) {
+                i++;
+                j++;
+                position++;
+                continue;
+            }
+
+            int type, run = 0;
+            if (j == newRows.length || (i < oldRows.length && oldRows[i] < newRows[j])) {
+                type = REMOVE;
+                while (i < oldRows.length && (j == newRows.length || oldRows[i] < newRows[j])) {
+                    i++;
+                    run++;
+                }
+            } else {
+                type = INSERT;
+                while (j < newRows.length && (i == oldRows.length || newRows[j] < oldRows[i])) {
+                    j++;
+                    run++;
+                }
+            }
+
+            if (count + 3 > updates.length) {
+                updates = Arrays.copyOf(updates, updates.length * 2);
+            }
+            updates[count++] = type;
+            updates[count++] = position;
+            updates[count++] = run;
+            changed += run;
+            if (type == INSERT) {
+                position += run;
+            }
+        }
+        return new RowDiff(updates, count / 3, changed);
+    }
+
+    public void dispatchUpdatesTo(ListUpdateCallback callback) {
+        for (int u = 0; u < updateCount * 3; u += 3) {
+            if (updates[u] == REMOVE) {
+                callback.onRemoved(updates[u + 1], updates[u + 2]);
+            } else {
+                callback.onInserted(updates[u + 1], updates[u + 2]);
+            }
+        }
+    }
+
+    /*
+     * number of range updates dispatched
+     */
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
+    /*
+     * number of rows removed or inserted
+     */
+    public int getChangedCount() {
+        return changedCount;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.Codeforces_Progress.ProblemSetClasses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Column oriented, read-only copy of the problemset shown on the Problems tab.
+ * <p>
+ * Holds the fields of {@link Problems} in primitive arrays: contest ids in an int[],
+ * the indexes packed in one char[], ratings in a short[] and all names in one string
+ * pool. Every distinct tag gets a dense id and a row keeps its tags as a bitmask,
+ * so the catalog of ~9k problems is a handful of arrays instead of several objects
+ * and boxed numbers per problem.
+ * <p>
+ * Labels and urls are not stored. {@code Fragment2/ProblemPage} builds the labels of a page
+ * once, on the load executor, so binding a row only assigns them, and the url of a problem
+ * is built when it is clicked.
+ */
+public class ProblemCatalog {
+
+    // used when a problem has no rating yet
+    public static final int NO_RATING = -1;
+
+    private static final int TAGS_PER_WORD = 64;
+
+    private final int size;
+    private final int[] contestIds;
+    // the index of row i is indexChars[indexStarts[i], indexStarts[i + 1])
+    private final char[] indexChars;
+    private final int[] indexStarts;
+    private final short[] ratings;
+    // the name of row i is namePool[nameStarts[i], nameStarts[i + 1])
+    private final String namePool;
+    private final int[] nameStarts;
+
+    // tag id -> tag, the tags of row i are the set bits of tagMasks[i * tagWords, (i + 1) * tagWords)
+    private final String[] tagNames;
+    private final int tagWords;
+    private final long[] tagMasks;
+
+    public ProblemCatalog(List<Problems> problems) {
+        size = problems.size();
+        contestIds = new int[size];
+        indexStarts = new int[size + 1];
+        ratings = new short[size];
+        nameStarts = new int[size + 1];
+
+        HashMap<String, Integer> tagIds = new HashMap<>();
+        ArrayList<String> tags = new ArrayList<>();
+        StringBuilder indexes = new StringBuilder(size * 2);
+        StringBuilder names = new StringBuilder(size * 16);
+        for (int i = 0; i < size; i++) {
+            Problems problem = problems.get(i);
+            contestIds[i] = problem.getContestId();
+            indexes.append(problem.getIndex());
+            indexStarts[i + 1] = indexes.length();
+            names.append(problem.getName());
+            nameStarts[i + 1] = names.length();
+            ratings[i] = problem.getRating() == null ? NO_RATING : problem.getRating().shortValue();
+
+            if (problem.getTags() != null) {
+                for (String tag : problem.getTags()) {
+                    if (!tagIds.containsKey(tag)) {
+                        tagIds.put(tag, tags.size());
+                        tags.add(tag);
+                    }
+                }
+            }
+        }
+        indexChars = new char[indexes.length()];
+        indexes.getChars(0, indexes.length(), indexChars, 0);
+        namePool = names.toString();
+        tagNames = tags.toArray(new String[0]);
+
+        tagWords = Math.max(1, (tagNames.length + TAGS_PER_WORD - 1) / TAGS_PER_WORD);
+        tagMasks = new long[size * tagWords];
+        for (int i = 0; i < size; i++) {
+            List<String> rowTags = problems.get(i).getTags();
+            if (rowTags != null) {
+                for (String tag : rowTags) {
+                    int id = tagIds.get(tag);
+                    tagMasks[i * tagWords + id / TAGS_PER_WORD] |= 1L << (id % TAGS_PER_WORD);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getContestId(int i) {
+        return contestIds[i];
+    }
+
+    public String getIndex(int i) {
+        return new String(indexChars, indexStarts[i], indexStarts[i + 1] - indexStarts[i]);
+    }
+
+    public String getName(int i) {
+        return namePool.substring(nameStarts[i], nameStarts[i + 1]);
+    }
+
+    /*
+     * Problem rating (difficulty), NO_RATING if absent
+     */
+    public int getRating(int i) {
+        return ratings[i];
+    }
+
+    /*
+     * contestId followed by index ("4A"), the key used by the submission store
+     */
+    public String getKey(int i) {
+        return new StringBuilder(8).append(contestIds[i]).append(indexChars, indexStarts[i], indexStarts[i + 1] - indexStarts[i]).toString();
+    }
+
+    /*
+     * the text shown for a problem, ex. "4A: Watermelon"
+     */
+    public String getLabel(int i) {
+        StringBuilder label = new StringBuilder(nameStarts[i + 1] - nameStarts[i] + 10);
+        label.append(contestIds[i]).append(indexChars, indexStarts[i], indexStarts[i + 1] - indexStarts[i])
+                .append(": ").append(namePool, nameStarts[i], nameStarts[i + 1]);
+        return label.toString();
+    }
+
+    public String getUrl(int i) {
+        return "https://codeforces.com/problemset/problem/" + contestIds[i] + "/" + getIndex(i) + "?mobile=true";
+    }
+
+    /*
+     * number of distinct tags, tag ids are between 0 and getTagCount() - 1
+     */
+    public int getTagCount() {
+        return tagNames.length;
+    }
+
+    public String getTagName(int tagId) {
+        return tagNames[tagId];
+    }
+
+    public boolean hasTag(int i, int tagId) {
+        return (tagMasks[i * tagWords + tagId / TAGS_PER_WORD] & (1L << (tagId % TAGS_PER_WORD))) != 0;
+    }
+
+    /*
+     * the tags of a row joined by ", " in tag id order
+     */
+    public String getTagsLabel(int i) {
+        StringBuilder tags = new StringBuilder();
+        for (int word = 0; word < tagWords; word++) {
+            long mask = tagMasks[i * tagWords + word];
+            while (mask != 0) {
+                int id = word * TAGS_PER_WORD + Long.numberOfTrailingZeros(mask);
+                if (tags.length() > 0) {
+                    tags.append(", ");
+                }
+                tags.append(tagNames[id]);
+                mask &= mask - 1;
+            }
+        }
+        return tags.toString();
+    }
+}
@@ -9,6 +9,19 @@ public class Problems {
     private Integer rating;
     private ArrayList<String> tags;
 
+    public Problems() {
+        // used by gson
+    }
+
+    // used for problems read back from the local cache
+    public Problems(int contestId, String index, String name, Integer rating, ArrayList<String> tags) {
+        this.contestId = contestId;
+        this.index = index;
+        this.name = name;
+        this.rating = rating;
+        this.tags = tags;
+    }
+
     public int getContestId() {
         return contestId;
     }
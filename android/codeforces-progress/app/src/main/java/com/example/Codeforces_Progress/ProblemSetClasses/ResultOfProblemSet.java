@@ -1,5 +1,8 @@
 package com.example.Codeforces_Progress.ProblemSetClasses;
 
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 public class ResultOfProblemSet {
@@ -14,4 +17,35 @@ public class ResultOfProblemSet {
     public List<ProblemStatistics> getProblemStatistics() {
         return problemStatistics;
     }
+
+    /*
+     * SHA-1 over every field of the problems we keep,
+     * used as the version of the locally cached problemset
+     */
+    public String getContentHash() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Charset utf8 = Charset.forName("UTF-8");
+        StringBuilder row = new StringBuilder();
+        for (Problems problem : problems) {
+            row.setLength(0);
+            row.append(problem.getContestId()).append('|')
+                    .append(problem.getIndex()).append('|')
+                    .append(problem.getName()).append('|')
+                    .append(problem.getRating()).append('|')
+                    .append(problem.getTags()).append('\n');
+            digest.update(row.toString().getBytes(utf8));
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
 }
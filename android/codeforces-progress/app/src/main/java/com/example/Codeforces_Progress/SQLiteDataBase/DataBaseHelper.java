@@ -5,70 +5,564 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 
-import androidx.annotation.Nullable;
+import com.example.Codeforces_Progress.Analytics.ProgressResult;
+import com.example.Codeforces_Progress.ProblemSetClasses.Problems;
+import com.example.Codeforces_Progress.UserInfoClasses.ResultOfUserInfo;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The local store of the app, see {@link Schema} for its tables.
+ * <p>
+ * The store is journaled with WAL, so a sync writing submissions doesn't block the screens reading,
+ * queries go through {@link #getReadableDatabase()} and run on the pool's read-only connections.
+ * Older stores are upgraded step by step, keeping the saved handles and everything synced for them.
+ * <p>
+ * Submissions and problems are written through statements compiled once per call, their
+ * columns bound directly from the columns of the payload, submissions in chunked transactions.
+ */
 public class DataBaseHelper extends SQLiteOpenHelper {
-    private static final String TABLE_NAME = "HandleInfos";
     private static final String DATABASE_NAME = "HandleInfos.db";
-    private static final String HANDLE = "_handle";
-    private static final String IMAGE_URL = "Imageurl";
-    private static final String CREATE_TABLE = "CREATE TABLE " + TABLE_NAME + "( " + HANDLE + " VARCHAR(300) PRIMARY KEY, " + IMAGE_URL + " VARCHAR(200)); ";
-    private static final String DROP_TABLE = "DROP TABLE IF EXISTS " + TABLE_NAME;
-    private static final String SELECT_ALL = "SELECT * FROM " + TABLE_NAME;
-    private static Integer VERSION_NUMBER = 1;
 
-    private Context context;
+    // submissions written per transaction by insertSubmissions()
+    public static final int DEFAULT_CHUNK_SIZE = 2000;
+
+    private static final Gson gson = new Gson();
+
+    private static DataBaseHelper instance;
+
+    // counts the writes of stored submissions, a handle's version is the count at its last write
+    private final AtomicLong submissionWrites = new AtomicLong();
+    private final Map<Long, Long> handleVersions = new ConcurrentHashMap<>();
+    // count at the last write that touched the submissions of every handle
+    private volatile long allHandlesVersion;
+
+    /*
+     * one helper for the app, so every screen and sync shares one connection pool,
+     * separate helpers would each open the file and their writers fail with SQLITE_BUSY instead of waiting
+     */
+    public static synchronized DataBaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new DataBaseHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
 
-    public DataBaseHelper(@Nullable Context context) {
-        super(context, DATABASE_NAME, null, VERSION_NUMBER);
-        this.context = context;
+    private DataBaseHelper(Context context) {
+        super(context, DATABASE_NAME, null, Schema.VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        // deleting a handle deletes its submissions and snapshot, replacing problems their tags
+        db.setForeignKeyConstraintsEnabled(true);
     }
 
     @Override
     public void onCreate(SQLiteDatabase db) {
-        try {
-            db.execSQL(CREATE_TABLE);
-        } catch (Exception e) {
-            // exception
+        for (String statement : Schema.CREATE) {
+            db.execSQL(statement);
         }
     }
 
+    /*
+     * runs in one transaction, a failing step leaves the store at the old version
+     */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        try {
-            db.execSQL(DROP_TABLE);
-            onCreate(db);
-        } catch (Exception e) {
-            // exception
+        for (int version = oldVersion + 1; version <= newVersion; version++) {
+            for (String statement : Schema.migrationTo(version)) {
+                db.execSQL(statement);
+            }
         }
     }
 
     /*
      * inserting in SQLite db
-     * returns -1 if inserting is unsuccessful
+     * returns -1 if inserting is unsuccessful (the handle is saved already, in any case)
      * else returns inserted row number in 1 based index
      */
     public long insertHandle(String handle, String imageUrl) {
         SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
         ContentValues contentValues = new ContentValues();
-        contentValues.put(HANDLE, handle);
-        contentValues.put(IMAGE_URL, imageUrl);
-        return sqLiteDatabase.insert(TABLE_NAME, null, contentValues);
+        contentValues.put(Schema.HANDLE, handle);
+        contentValues.put(Schema.IMAGE_URL, imageUrl);
+        return sqLiteDatabase.insert(Schema.HANDLES_TABLE, null, contentValues);
+    }
+
+    /*
+     * returns handle and avatar url of every saved handle, in the order they were saved
+     */
+    public List<SavedHandle> getAllHandleInfo() {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_HANDLE_INFOS, null);
+        List<SavedHandle> savedHandles = new ArrayList<>(cursor.getCount());
+        try {
+            while (cursor.moveToNext()) {
+                savedHandles.add(new SavedHandle(cursor.getString(0), cursor.getString(1)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return savedHandles;
+    }
+
+    /*
+     * returns every saved handle
+     */
+    public List<String> getAllHandles() {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_HANDLES, null);
+        List<String> handles = new ArrayList<>(cursor.getCount());
+        try {
+            while (cursor.moveToNext()) {
+                handles.add(cursor.getString(0));
+            }
+        } finally {
+            cursor.close();
+        }
+        return handles;
     }
 
-    public Cursor getAllHandleInfo() {
+    /*
+     * updating avatar, rating, rank and the stored user.info of the saved handles in one transaction,
+     * handles are matched ignoring case since Codeforces returns them as registered
+     * returns the number of updated handles
+     */
+    public int updateHandleInfos(List<ResultOfUserInfo> results) {
         SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
-        return sqLiteDatabase.rawQuery(SELECT_ALL, null);
+        int updated = 0;
+        sqLiteDatabase.beginTransaction();
+        try {
+            ContentValues contentValues = new ContentValues();
+            String[] whereArgs = new String[1];
+            for (ResultOfUserInfo result : results) {
+                contentValues.clear();
+                contentValues.put(Schema.IMAGE_URL, result.getTitlePhotoUrl());
+                contentValues.put(Schema.HANDLE_RATING, result.getRating());
+                contentValues.put(Schema.HANDLE_RANK, result.getRank());
+                contentValues.put(Schema.USER_INFO, gson.toJson(result));
+                whereArgs[0] = result.getHandle();
+                updated += sqLiteDatabase.update(Schema.HANDLES_TABLE, contentValues, Schema.HANDLE + " = ?", whereArgs);
+            }
+            sqLiteDatabase.setTransactionSuccessful();
+        } finally {
+            sqLiteDatabase.endTransaction();
+        }
+        return updated;
+    }
+
+    /*
+     * returns the user.info result last stored for the saved handle,
+     * null if it was never looked up
+     */
+    public ResultOfUserInfo getUserInfo(String handle) {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        Cursor cursor = sqLiteDatabase.query(Schema.HANDLES_TABLE, new String[]{Schema.USER_INFO},
+                Schema.HANDLE + " = ?", new String[]{handle}, null, null, null);
+        try {
+            if (!cursor.moveToFirst() || cursor.isNull(0)) {
+                return null;
+            }
+            return gson.fromJson(cursor.getString(0), ResultOfUserInfo.class);
+        } catch (JsonParseException e) {
+            return null;
+        } finally {
+            cursor.close();
+        }
     }
 
     /*
-     * deleting in SQLite dp
+     * deleting in SQLite dp, together with the submissions and the snapshot of the handle
      * returns 0 if deletion is unsuccessful
      * else returns deleted row number
      */
     public Integer deleteHandle(String handle) {
         SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
-        return sqLiteDatabase.delete(TABLE_NAME, HANDLE + " = ?", new String[]{handle});
+        int deleted = sqLiteDatabase.delete(Schema.HANDLES_TABLE, Schema.HANDLE + " = ?", new String[]{handle});
+        if (deleted > 0) {
+            // the handle may be saved again with a new id
+            allHandlesVersion = submissionWrites.incrementAndGet();
+        }
+        return deleted;
+    }
+
+    /*
+     * returns the cached problems at positions [fromRow, fromRow + count) of the problemset,
+     * fewer if the cache ends before
+     */
+    public List<Problems> getProblemPage(int fromRow, int count) {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        return readProblems(sqLiteDatabase.rawQuery(Schema.SELECT_PROBLEM_PAGE,
+                new String[]{String.valueOf(fromRow), String.valueOf(fromRow + count)}));
+    }
+
+    private List<Problems> readProblems(Cursor cursor) {
+        List<Problems> problems = new ArrayList<>(cursor.getCount());
+        try {
+            while (cursor.moveToNext()) {
+                Integer rating = cursor.isNull(3) ? null : cursor.getInt(3);
+                ArrayList<String> tags = new ArrayList<>();
+                String joinedTags = cursor.getString(4);
+                if (joinedTags != null && !joinedTags.isEmpty()) {
+                    tags.addAll(Arrays.asList(joinedTags.split(Schema.TAG_SEPARATOR)));
+                }
+                problems.add(new Problems(cursor.getInt(0), cursor.getString(1), cursor.getString(2), rating, tags));
+            }
+        } finally {
+            cursor.close();
+        }
+        return problems;
+    }
+
+    /*
+     * returns the content hash of the cached problems,
+     * null if nothing is cached yet
+     */
+    public String getProblemsVersion() {
+        return getCacheVersion(Schema.PROBLEMS_KEY);
+    }
+
+    /*
+     * replacing the cached problems in one transaction
+     * returns false if the cached version already matches, nothing is written then
+     */
+    public boolean replaceProblems(List<Problems> problems, String version) {
+        if (version.equals(getProblemsVersion())) {
+            return false;
+        }
+
+        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
+        sqLiteDatabase.beginTransaction();
+        try {
+            // the tags of the problems are deleted with them, the tag names are kept
+            sqLiteDatabase.delete(Schema.PROBLEMS_TABLE, null, null);
+            Map<String, Long> tagIds = getTagIds(sqLiteDatabase);
+
+            SQLiteStatement insertProblem = sqLiteDatabase.compileStatement(Schema.INSERT_PROBLEM);
+            SQLiteStatement insertProblemTag = sqLiteDatabase.compileStatement(Schema.INSERT_PROBLEM_TAG);
+            SQLiteStatement insertTag = sqLiteDatabase.compileStatement(Schema.INSERT_TAG);
+            try {
+                // _id is the position + 1 among the inserted problems, a duplicate doesn't leave a gap
+                long id = 1;
+                for (Problems problem : problems) {
+                    insertProblem.bindLong(1, id);
+                    insertProblem.bindLong(2, problem.getContestId());
+                    bindString(insertProblem, 3, problem.getIndex());
+                    bindString(insertProblem, 4, problem.getName());
+                    if (problem.getRating() != null) {
+                        insertProblem.bindLong(5, problem.getRating());
+                    } else {
+                        insertProblem.bindNull(5);
+                    }
+                    if (insertProblem.executeInsert() == -1) {
+                        continue;
+                    }
+
+                    List<String> tags = problem.getTags();
+                    for (int position = 0; tags != null && position < tags.size(); position++) {
+                        insertProblemTag.bindLong(1, id);
+                        insertProblemTag.bindLong(2, position);
+                        insertProblemTag.bindLong(3, getTagId(insertTag, tagIds, tags.get(position)));
+                        insertProblemTag.executeInsert();
+                    }
+                    id++;
+                }
+            } finally {
+                insertProblem.close();
+                insertProblemTag.close();
+                insertTag.close();
+            }
+
+            setCacheVersion(sqLiteDatabase, Schema.PROBLEMS_KEY, version);
+            // submissions stored before their tags were synced
+            sqLiteDatabase.execSQL(Schema.FILL_SUBMISSION_TAGS);
+            sqLiteDatabase.setTransactionSuccessful();
+        } finally {
+            sqLiteDatabase.endTransaction();
+        }
+        allHandlesVersion = submissionWrites.incrementAndGet();
+        return true;
+    }
+
+    private static Map<String, Long> getTagIds(SQLiteDatabase sqLiteDatabase) {
+        Map<String, Long> tagIds = new HashMap<>();
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_TAGS, null);
+        try {
+            while (cursor.moveToNext()) {
+                tagIds.put(cursor.getString(1), cursor.getLong(0));
+            }
+        } finally {
+            cursor.close();
+        }
+        return tagIds;
+    }
+
+    /*
+     * id of the tag, inserted into the tag table the first time it is seen
+     */
+    private static long getTagId(SQLiteStatement insertTag, Map<String, Long> tagIds, String tag) {
+        Long tagId = tagIds.get(tag);
+        if (tagId == null) {
+            bindString(insertTag, 1, tag);
+            tagId = insertTag.executeInsert();
+            tagIds.put(tag, tagId);
+        }
+        return tagId;
+    }
+
+    /*
+     * returns the id after which submissions of the handle have to be fetched again:
+     * the highest stored id, or just below the oldest stored submission that was still being judged
+     * returns 0 if nothing is stored for the handle
+     */
+    public long getSubmissionSyncStart(String handle) {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        long handleId = getHandleId(sqLiteDatabase, handle);
+        if (handleId == -1) {
+            return 0;
+        }
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_SYNC_START, new String[]{String.valueOf(handleId)});
+        try {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /*
+     * insertSubmissions() in chunks of DEFAULT_CHUNK_SIZE
+     */
+    public void insertSubmissions(String handle, SubmissionColumns submissions, ProgressResult progress) {
+        insertSubmissions(handle, submissions, progress, DEFAULT_CHUNK_SIZE);
+    }
+
+    /*
+     * merging fetched submissions (sorted in decreasing order of id like user.status) into the store,
+     * a submission that is already stored is overwritten with its latest verdict
+     * progress is the snapshot of the handle including them, the stored one is dropped if it is null
+     * every chunkSize submissions are one transaction, written from the oldest one on, so a sync stopped
+     * between two chunks continues after the last written one, the stored snapshot is dropped with the first chunk
+     * and the new one written with the last, a store left between chunks is computed again
+     * nothing is stored for a handle that isn't saved (or is deleted while it is synced)
+     */
+    public void insertSubmissions(String handle, SubmissionColumns submissions, ProgressResult progress, int chunkSize) {
+        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
+        long handleId = getHandleId(sqLiteDatabase, handle);
+        if (handleId == -1) {
+            return;
+        }
+
+        SQLiteStatement insert = sqLiteDatabase.compileStatement(Schema.INSERT_SUBMISSION);
+        try {
+            int end = submissions.size();
+            do {
+                int start = Math.max(0, end - chunkSize);
+                sqLiteDatabase.beginTransaction();
+                try {
+                    if (getHandleId(sqLiteDatabase, handle) != handleId) {
+                        return;
+                    }
+                    if (end == submissions.size()) {
+                        sqLiteDatabase.delete(Schema.SNAPSHOTS_TABLE, Schema.HANDLE_ID + " = ?", new String[]{String.valueOf(handleId)});
+                    }
+                    for (int i = end - 1; i >= start; i--) {
+                        insert.bindLong(1, submissions.getId(i));
+                        insert.bindLong(2, handleId);
+                        insert.bindLong(3, submissions.getContestId(i));
+                        insert.bindLong(4, submissions.getCreationTimeSeconds(i));
+                        bindString(insert, 5, submissions.getProblemIndex(i));
+                        bindString(insert, 6, submissions.getProblemName(i));
+                        insert.bindLong(7, submissions.getRating(i));
+                        bindString(insert, 8, submissions.getParticipantType(i));
+                        bindString(insert, 9, submissions.getVerdict(i));
+                        bindString(insert, 10, joinTags(submissions, submissions.getTags(i)));
+                        insert.executeInsert();
+                    }
+                    if (start == 0 && progress != null) {
+                        putProgressSnapshot(sqLiteDatabase, handleId, progress);
+                    }
+                    sqLiteDatabase.setTransactionSuccessful();
+                } finally {
+                    sqLiteDatabase.endTransaction();
+                }
+                // after the commit, a reader seeing the new version sees the chunk
+                handleVersions.put(handleId, submissionWrites.incrementAndGet());
+                end = start;
+            } while (end > 0);
+        } finally {
+            insert.close();
+        }
+    }
+
+    /*
+     * returns a number that changes whenever stored submissions of the handle are written after a call,
+     * new ones, new verdicts or new tags, and is the same until then
+     * versions are counted by this process, they start again with it
+     */
+    public long getSubmissionsVersion(String handle) {
+        long handleId = getHandleId(this.getReadableDatabase(), handle);
+        Long version = handleVersions.get(handleId);
+        return Math.max(version != null ? version : 0, allHandlesVersion);
+    }
+
+    /*
+     * returns the stored submissions of the handle,
+     * sorted in decreasing order of submission id like user.status
+     */
+    public SubmissionColumns getSubmissions(String handle) {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        long handleId = getHandleId(sqLiteDatabase, handle);
+        if (handleId == -1) {
+            return new SubmissionColumns(0);
+        }
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_SUBMISSIONS, new String[]{String.valueOf(handleId)});
+        SubmissionColumns submissions = new SubmissionColumns(cursor.getCount());
+        try {
+            while (cursor.moveToNext()) {
+                submissions.add(cursor.getLong(0), cursor.getInt(1), cursor.getLong(2), cursor.getString(3),
+                        cursor.getString(4), cursor.getInt(5), cursor.getString(6), cursor.getString(7),
+                        splitTags(submissions, cursor.getString(8)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return submissions;
+    }
+
+    /*
+     * returns the analytics computed from the stored submissions of the handle,
+     * null if there are none or the submissions changed since
+     */
+    public ProgressResult getProgressSnapshot(String handle) {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        long handleId = getHandleId(sqLiteDatabase, handle);
+        if (handleId == -1) {
+            return null;
+        }
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_SNAPSHOT, new String[]{String.valueOf(handleId)});
+        try {
+            return cursor.moveToFirst() && !cursor.isNull(0) ? ProgressResult.fromBytes(cursor.getBlob(0)) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /*
+     * storing the analytics computed from the submissions stored for the handle right now
+     */
+    public void putProgressSnapshot(String handle, ProgressResult progress) {
+        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
+        long handleId = getHandleId(sqLiteDatabase, handle);
+        if (handleId != -1) {
+            putProgressSnapshot(sqLiteDatabase, handleId, progress);
+        }
+    }
+
+    private void putProgressSnapshot(SQLiteDatabase sqLiteDatabase, long handleId, ProgressResult progress) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put(Schema.HANDLE_ID, handleId);
+        contentValues.put(Schema.PROGRESS, progress.toBytes());
+        sqLiteDatabase.insertWithOnConflict(Schema.SNAPSHOTS_TABLE, null, contentValues, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /*
+     * returns the positions in the cached problemset of the problems the handle
+     * has an accepted submission on, the handle is matched ignoring case
+     */
+    public int[] getSolvedProblemRows(String handle) {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        long handleId = getHandleId(sqLiteDatabase, handle);
+        if (handleId == -1) {
+            return new int[0];
+        }
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_SOLVED_PROBLEM_ROWS, new String[]{String.valueOf(handleId)});
+        int[] rows = new int[cursor.getCount()];
+        try {
+            for (int i = 0; cursor.moveToNext(); i++) {
+                rows[i] = cursor.getInt(0);
+            }
+        } finally {
+            cursor.close();
+        }
+        return rows;
+    }
+
+    /*
+     * row id of the saved handle, matched ignoring case, -1 if it isn't saved
+     */
+    private static long getHandleId(SQLiteDatabase sqLiteDatabase, String handle) {
+        Cursor cursor = sqLiteDatabase.rawQuery(Schema.SELECT_HANDLE_ID, new String[]{handle});
+        try {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /*
+     * the tags of the mask joined with TAG_SEPARATOR, null if there are none
+     */
+    private static String joinTags(SubmissionColumns submissions, long tags) {
+        if (tags == 0) {
+            return null;
+        }
+        StringBuilder joined = new StringBuilder();
+        for (; tags != 0; tags &= tags - 1) {
+            if (joined.length() > 0) {
+                joined.append(Schema.TAG_SEPARATOR);
+            }
+            joined.append(submissions.getTagName(Long.numberOfTrailingZeros(tags)));
+        }
+        return joined.toString();
+    }
+
+    private static long splitTags(SubmissionColumns submissions, String joinedTags) {
+        long tags = 0;
+        if (joinedTags != null && !joinedTags.isEmpty()) {
+            for (String tag : joinedTags.split(Schema.TAG_SEPARATOR)) {
+                tags |= submissions.getTagMask(tag);
+            }
+        }
+        return tags;
+    }
+
+    // SQLiteStatement doesn't take null strings
+    private static void bindString(SQLiteStatement statement, int index, String value) {
+        if (value != null) {
+            statement.bindString(index, value);
+        } else {
+            statement.bindNull(index);
+        }
+    }
+
+    private String getCacheVersion(String key) {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        Cursor cursor = sqLiteDatabase.query(Schema.CACHE_VERSION_TABLE, new String[]{Schema.CACHE_VERSION},
+                Schema.CACHE_KEY + " = ?", new String[]{key}, null, null, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private void setCacheVersion(SQLiteDatabase sqLiteDatabase, String key, String version) {
+        ContentValues contentValues = new ContentValues();
+        contentValues.put(Schema.CACHE_KEY, key);
+        contentValues.put(Schema.CACHE_VERSION, version);
+        sqLiteDatabase.insertWithOnConflict(Schema.CACHE_VERSION_TABLE, null, contentValues, SQLiteDatabase.CONFLICT_REPLACE);
     }
 }
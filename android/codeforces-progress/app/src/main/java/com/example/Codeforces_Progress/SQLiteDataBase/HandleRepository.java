@@ -0,0 +1,189 @@
+package com.example.Codeforces_Progress.SQLiteDataBase;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The saved handles, read and written off the UI thread.
+ * <p>
+ * Every operation runs on the I/O thread of the repository and returns a {@link Future},
+ * the callback gets the result on the UI thread unless the future is cancelled before it completes.
+ * Nothing returned holds a cursor, rows are read into lists and the cursor closed on the I/O thread.
+ * Opening and upgrading the store happens with the first operation, so no screen waits on it.
+ * <p>
+ * All operations go through the one {@link DataBaseHelper} of the app, with WAL its reads run
+ * next to the syncs writing, writes wait for each other in its connection pool.
+ * <p>
+ * Observers are told about every saved and deleted handle, on the UI thread. Operations run one
+ * after the other and their results and events reach the UI thread in the same order, so a list
+ * read once and kept up to date by the events stays equal to the table.
+ */
+public class HandleRepository {
+
+    // one thread keeps the events in order with the reads, the handle table is small
+    private static final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+
+    private static HandleRepository instance;
+
+    private final DataBaseHelper dataBaseHelper;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // only used on the UI thread
+    private final List<Observer> observers = new ArrayList<>();
+
+    public static synchronized HandleRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new HandleRepository(DataBaseHelper.getInstance(context));
+        }
+        return instance;
+    }
+
+    private HandleRepository(DataBaseHelper dataBaseHelper) {
+        this.dataBaseHelper = dataBaseHelper;
+    }
+
+    /*
+     * every saved handle with its avatar url, in the order they were saved
+     */
+    public Future<List<SavedHandle>> getSavedHandles(Callback<List<SavedHandle>> callback) {
+        return submit(new Callable<List<SavedHandle>>() {
+            @Override
+            public List<SavedHandle> call() {
+                return dataBaseHelper.getAllHandleInfo();
+            }
+        }, callback);
+    }
+
+    /*
+     * every saved handle, in the order they were saved
+     */
+    public Future<List<String>> getHandles(Callback<List<String>> callback) {
+        return submit(new Callable<List<String>>() {
+            @Override
+            public List<String> call() {
+                return dataBaseHelper.getAllHandles();
+            }
+        }, callback);
+    }
+
+    /*
+     * the result is the row id of the handle, -1 if it is saved already
+     * observers hear about a saved handle before the callback
+     */
+    public Future<Long> insertHandle(final String handle, final String imageUrl, Callback<Long> callback) {
+        return submit(new Callable<Long>() {
+            @Override
+            public Long call() {
+                long rowId = dataBaseHelper.insertHandle(handle, imageUrl);
+                if (rowId != -1) {
+                    notifyInserted(new SavedHandle(handle, imageUrl));
+                }
+                return rowId;
+            }
+        }, callback);
+    }
+
+    /*
+     * the result is the number of deleted handles, 0 if it wasn't saved
+     * observers hear about a deleted handle before the callback
+     */
+    public Future<Integer> deleteHandle(final String handle, Callback<Integer> callback) {
+        return submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                int deleted = dataBaseHelper.deleteHandle(handle);
+                if (deleted > 0) {
+                    notifyDeleted(handle);
+                }
+                return deleted;
+            }
+        }, callback);
+    }
+
+    /*
+     * observers are added and removed on the UI thread,
+     * events of operations that completed before adding aren't delivered
+     */
+    public void addObserver(Observer observer) {
+        observers.add(observer);
+    }
+
+    public void removeObserver(Observer observer) {
+        observers.remove(observer);
+    }
+
+    private void notifyInserted(final SavedHandle savedHandle) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                for (Observer observer : new ArrayList<>(observers)) {
+                    observer.onHandleInserted(savedHandle);
+                }
+            }
+        });
+    }
+
+    private void notifyDeleted(final String handle) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                for (Observer observer : new ArrayList<>(observers)) {
+                    observer.onHandleDeleted(handle);
+                }
+            }
+        });
+    }
+
+    /*
+     * runs the operation on the I/O thread, callback may be null
+     * an operation failing is thrown again on the UI thread, as it was when it ran there
+     */
+    private <T> Future<T> submit(Callable<T> operation, final Callback<T> callback) {
+        FutureTask<T> task = new FutureTask<T>(operation) {
+            @Override
+            protected void done() {
+                if (callback == null || isCancelled()) {
+                    return;
+                }
+                final FutureTask<T> task = this;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        T result;
+                        try {
+                            result = task.get();
+                        } catch (InterruptedException e) {
+                            return;
+                        } catch (ExecutionException e) {
+                            throw new RuntimeException(e.getCause());
+                        }
+                        callback.onResult(result);
+                    }
+                });
+            }
+        };
+        ioExecutor.execute(task);
+        return task;
+    }
+
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    public interface Observer {
+        // a handle saved after the saved ones
+        void onHandleInserted(SavedHandle savedHandle);
+
+        // the handle as it was given to deleteHandle(), saved handles match it ignoring case
+        void onHandleDeleted(String handle);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.Codeforces_Progress.SQLiteDataBase;
+
+/**
+ * A saved handle as the handle list shows it.
+ */
+public class SavedHandle {
+
+    private final String handle;
+    private final String imageUrl;
+
+    public SavedHandle(String handle, String imageUrl) {
+        this.handle = handle;
+        this.imageUrl = imageUrl;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    // null if the avatar was never looked up
+    public String getImageUrl() {
+        return imageUrl;
+    }
+}
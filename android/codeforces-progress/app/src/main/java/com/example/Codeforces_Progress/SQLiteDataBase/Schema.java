@@ -0,0 +1,227 @@
+package com.example.Codeforces_Progress.SQLiteDataBase;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+/**
+ * The tables of the local store, the queries {@link DataBaseHelper} runs on them
+ * and the steps that migrate a store of any older version.
+ * <p>
+ * Plain java without any android dependency, so the SQL can be run and
+ * benchmarked on the JVM. Saved handles are rows of {@link #HANDLES_TABLE} and everything stored
+ * for a handle points at its row id, deleting a handle deletes its submissions and snapshot.
+ * Tags of the cached problems are kept once in {@link #TAGS_TABLE} and linked through
+ * {@link #PROBLEM_TAGS_TABLE}.
+ * <p>
+ * A migration step is frozen once it shipped: step v upgrades a version v - 1 store
+ * and keeps the saved handles and everything synced for them, only caches may be dropped.
+ */
+final class Schema {
+
+    static final int VERSION = 7;
+
+    // saved handles, the handle is matched ignoring case since Codeforces returns it as registered
+    static final String HANDLES_TABLE = "Handles";
+    static final String ID = "_id";
+    static final String HANDLE = "handle";
+    static final String IMAGE_URL = "imageUrl";
+    static final String HANDLE_RATING = "rating";
+    static final String HANDLE_RANK = "rank";
+    // the whole user.info result as json, DataActivity draws the profile from it before asking the network
+    static final String USER_INFO = "userInfo";
+
+    // cached problemset.problems payload, a problem's id is its position in the payload + 1
+    static final String PROBLEMS_TABLE = "Problems";
+    static final String CONTEST_ID = "contestId";
+    static final String PROBLEM_INDEX = "problemIndex";
+    static final String NAME = "name";
+    static final String RATING = "rating";
+
+    static final String TAGS_TABLE = "Tags";
+    static final String PROBLEM_TAGS_TABLE = "ProblemTags";
+    static final String PROBLEM_ID = "problemId";
+    // position of the tag in the problem's tag list
+    static final String POSITION = "position";
+    static final String TAG_ID = "tagId";
+    static final String TAG_SEPARATOR = ";";
+
+    // key-value table holding the version (content hash) of every cached payload
+    static final String CACHE_VERSION_TABLE = "CacheVersions";
+    static final String CACHE_KEY = "_key";
+    static final String CACHE_VERSION = "version";
+    static final String PROBLEMS_KEY = "problemset.problems";
+
+    // every synced submission of the saved handles, keyed by submission id
+    static final String SUBMISSIONS_TABLE = "Submissions";
+    static final String HANDLE_ID = "handleId";
+    static final String CREATION_TIME = "creationTimeSeconds";
+    static final String PARTICIPANT_TYPE = "participantType";
+    static final String VERDICT = "verdict";
+    // tags of the problem joined with TAG_SEPARATOR
+    static final String TAGS = "tags";
+
+    // analytics of a handle computed from its stored submissions, written together with them
+    static final String SNAPSHOTS_TABLE = "Snapshots";
+    static final String PROGRESS = "progress";
+
+    private static final String CREATE_HANDLES_TABLE = "CREATE TABLE " + HANDLES_TABLE + "( " + ID + " INTEGER PRIMARY KEY, "
+            + HANDLE + " VARCHAR(300) NOT NULL UNIQUE COLLATE NOCASE, " + IMAGE_URL + " VARCHAR(200), "
+            + HANDLE_RATING + " INTEGER, " + HANDLE_RANK + " VARCHAR(50), " + USER_INFO + " TEXT)";
+    private static final String CREATE_PROBLEMS_TABLE = "CREATE TABLE " + PROBLEMS_TABLE + "( " + ID + " INTEGER PRIMARY KEY, "
+            + CONTEST_ID + " INTEGER NOT NULL, " + PROBLEM_INDEX + " VARCHAR(10) NOT NULL, " + NAME + " VARCHAR(200), " + RATING + " INTEGER, "
+            + "UNIQUE(" + CONTEST_ID + ", " + PROBLEM_INDEX + "))";
+    private static final String CREATE_PROBLEMS_INDEX = "CREATE INDEX ProblemsByRating ON " + PROBLEMS_TABLE + "(" + RATING + ")";
+    private static final String CREATE_TAGS_TABLE = "CREATE TABLE " + TAGS_TABLE + "( " + ID + " INTEGER PRIMARY KEY, "
+            + NAME + " VARCHAR(50) NOT NULL UNIQUE)";
+    private static final String CREATE_PROBLEM_TAGS_TABLE = "CREATE TABLE " + PROBLEM_TAGS_TABLE + "( "
+            + PROBLEM_ID + " INTEGER NOT NULL REFERENCES " + PROBLEMS_TABLE + "(" + ID + ") ON DELETE CASCADE, "
+            + POSITION + " INTEGER NOT NULL, " + TAG_ID + " INTEGER NOT NULL REFERENCES " + TAGS_TABLE + "(" + ID + "), "
+            + "PRIMARY KEY(" + PROBLEM_ID + ", " + POSITION + "))";
+    private static final String CREATE_PROBLEM_TAGS_INDEX = "CREATE INDEX ProblemTagsByTag ON " + PROBLEM_TAGS_TABLE + "(" + TAG_ID + ", " + PROBLEM_ID + ")";
+    private static final String CREATE_CACHE_VERSION_TABLE = "CREATE TABLE " + CACHE_VERSION_TABLE + "( " + CACHE_KEY + " VARCHAR(50) PRIMARY KEY, "
+            + CACHE_VERSION + " VARCHAR(100))";
+    // the index of the primary key serves every query of a handle's submissions, a team submission is stored for each member
+    private static final String CREATE_SUBMISSIONS_TABLE = "CREATE TABLE " + SUBMISSIONS_TABLE + "( " + ID + " INTEGER NOT NULL, "
+            + HANDLE_ID + " INTEGER NOT NULL REFERENCES " + HANDLES_TABLE + "(" + ID + ") ON DELETE CASCADE, "
+            + CONTEST_ID + " INTEGER, " + CREATION_TIME + " INTEGER, " + PROBLEM_INDEX + " VARCHAR(10), " + NAME + " VARCHAR(200), "
+            + RATING + " INTEGER, " + PARTICIPANT_TYPE + " VARCHAR(30), " + VERDICT + " VARCHAR(40), " + TAGS + " TEXT, "
+            + "PRIMARY KEY(" + HANDLE_ID + ", " + ID + "))";
+    private static final String CREATE_SNAPSHOTS_TABLE = "CREATE TABLE " + SNAPSHOTS_TABLE + "( "
+            + HANDLE_ID + " INTEGER PRIMARY KEY REFERENCES " + HANDLES_TABLE + "(" + ID + ") ON DELETE CASCADE, " + PROGRESS + " BLOB)";
+
+    static final String[] CREATE = {
+            CREATE_HANDLES_TABLE,
+            CREATE_PROBLEMS_TABLE,
+            CREATE_PROBLEMS_INDEX,
+            CREATE_TAGS_TABLE,
+            CREATE_PROBLEM_TAGS_TABLE,
+            CREATE_PROBLEM_TAGS_INDEX,
+            CREATE_CACHE_VERSION_TABLE,
+            CREATE_SUBMISSIONS_TABLE,
+            CREATE_SNAPSHOTS_TABLE,
+    };
+
+    static final String SELECT_HANDLE_INFOS = "SELECT " + HANDLE + ", " + IMAGE_URL + " FROM " + HANDLES_TABLE + " ORDER BY " + ID;
+    static final String SELECT_HANDLES = "SELECT " + HANDLE + " FROM " + HANDLES_TABLE + " ORDER BY " + ID;
+    static final String SELECT_HANDLE_ID = "SELECT " + ID + " FROM " + HANDLES_TABLE + " WHERE " + HANDLE + " = ?";
+
+    // the primary key of ProblemTags walks the tags of a problem in position order
+    private static final String SELECT_PROBLEM_COLUMNS = "SELECT p." + CONTEST_ID + ", p." + PROBLEM_INDEX + ", p." + NAME + ", p." + RATING
+            + ", (SELECT GROUP_CONCAT(t." + NAME + ", '" + TAG_SEPARATOR + "') FROM " + PROBLEM_TAGS_TABLE + " pt JOIN " + TAGS_TABLE
+            + " t ON t." + ID + " = pt." + TAG_ID + " WHERE pt." + PROBLEM_ID + " = p." + ID + ") FROM " + PROBLEMS_TABLE + " p";
+    // the problems are inserted with dense ids, the problem at row r of the problemset has _id r + 1
+    static final String SELECT_PROBLEM_PAGE = SELECT_PROBLEM_COLUMNS + " WHERE p." + ID + " > ? AND p." + ID + " <= ? ORDER BY p." + ID;
+    static final String SELECT_TAGS = "SELECT " + ID + ", " + NAME + " FROM " + TAGS_TABLE;
+
+    static final String SELECT_SUBMISSIONS = "SELECT " + ID + ", " + CONTEST_ID + ", " + CREATION_TIME + ", " + PROBLEM_INDEX + ", "
+            + NAME + ", " + RATING + ", " + PARTICIPANT_TYPE + ", " + VERDICT + ", " + TAGS + " FROM " + SUBMISSIONS_TABLE
+            + " WHERE " + HANDLE_ID + " = ? ORDER BY " + ID + " DESC";
+    static final String SELECT_SOLVED_PROBLEM_ROWS = "SELECT DISTINCT p." + ID + " - 1 FROM " + SUBMISSIONS_TABLE + " s JOIN " + PROBLEMS_TABLE
+            + " p ON p." + CONTEST_ID + " = s." + CONTEST_ID + " AND p." + PROBLEM_INDEX + " = s." + PROBLEM_INDEX
+            + " WHERE s." + HANDLE_ID + " = ? AND s." + VERDICT + " = '" + SubmissionColumns.VERDICT_OK + "'";
+    // judging is not finished for these verdicts, so the submission has to be fetched again
+    static final String SELECT_SYNC_START = "SELECT IFNULL(MIN(" + ID + ") - 1, (SELECT IFNULL(MAX(" + ID + "), 0) FROM " + SUBMISSIONS_TABLE
+            + " WHERE " + HANDLE_ID + " = ?1)) FROM " + SUBMISSIONS_TABLE + " WHERE " + HANDLE_ID + " = ?1 AND (" + VERDICT + " IS NULL OR "
+            + VERDICT + " = 'TESTING')";
+    // the bulk inserts bind their columns in this order, a stored submission is replaced with its latest verdict
+    static final String INSERT_SUBMISSION = "INSERT OR REPLACE INTO " + SUBMISSIONS_TABLE + "(" + ID + ", " + HANDLE_ID + ", " + CONTEST_ID + ", "
+            + CREATION_TIME + ", " + PROBLEM_INDEX + ", " + NAME + ", " + RATING + ", " + PARTICIPANT_TYPE + ", " + VERDICT + ", " + TAGS
+            + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // a problem listed twice keeps its first position, the next problem takes the id the copy was given
+    static final String INSERT_PROBLEM = "INSERT OR IGNORE INTO " + PROBLEMS_TABLE + "(" + ID + ", " + CONTEST_ID + ", " + PROBLEM_INDEX + ", "
+            + NAME + ", " + RATING + ") VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT_PROBLEM_TAG = "INSERT INTO " + PROBLEM_TAGS_TABLE + "(" + PROBLEM_ID + ", " + POSITION + ", " + TAG_ID
+            + ") VALUES (?, ?, ?)";
+    static final String INSERT_TAG = "INSERT INTO " + TAGS_TABLE + "(" + NAME + ") VALUES (?)";
+    // submissions stored without tags get the tags of the cached problem, if it is cached
+    static final String FILL_SUBMISSION_TAGS = "UPDATE " + SUBMISSIONS_TABLE + " SET " + TAGS + " = (SELECT GROUP_CONCAT(t." + NAME
+            + ", '" + TAG_SEPARATOR + "') FROM " + PROBLEMS_TABLE + " p JOIN " + PROBLEM_TAGS_TABLE + " pt ON pt." + PROBLEM_ID + " = p." + ID
+            + " JOIN " + TAGS_TABLE + " t ON t." + ID + " = pt." + TAG_ID + " WHERE p." + CONTEST_ID + " = " + SUBMISSIONS_TABLE + "." + CONTEST_ID
+            + " AND p." + PROBLEM_INDEX + " = " + SUBMISSIONS_TABLE + "." + PROBLEM_INDEX + ") WHERE " + TAGS + " IS NULL";
+    static final String SELECT_SNAPSHOT = "SELECT " + PROGRESS + " FROM " + SNAPSHOTS_TABLE + " WHERE " + HANDLE_ID + " = ?";
+
+    /*
+     * the statements upgrading a store of version - 1 to version, 2 <= version <= VERSION
+     */
+    static String[] migrationTo(int version) {
+        return MIGRATIONS[version - 2];
+    }
+
+    // the store the first release created, the migrations start from it
+    static final String[] VERSION_1 = {
+            "CREATE TABLE HandleInfos( _handle VARCHAR(300) PRIMARY KEY, Imageurl VARCHAR(200)); ",
+    };
+
+    private static final String[][] MIGRATIONS = {
+            // 2: the problem cache
+            {
+                    "CREATE TABLE Problems( contestId INTEGER, problemIndex VARCHAR(10), name VARCHAR(200), rating INTEGER, "
+                            + "tags VARCHAR(300), PRIMARY KEY(contestId, problemIndex)); ",
+                    "CREATE TABLE CacheVersions( _key VARCHAR(50) PRIMARY KEY, version VARCHAR(100)); ",
+            },
+            // 3: the submission store
+            {
+                    "CREATE TABLE Submissions( _id INTEGER PRIMARY KEY, _handle VARCHAR(300), contestId INTEGER, creationTimeSeconds INTEGER, "
+                            + "problemIndex VARCHAR(10), name VARCHAR(200), rating INTEGER, participantType VARCHAR(30), verdict VARCHAR(40)); ",
+                    "CREATE INDEX SubmissionsByHandle ON Submissions(_handle, _id); ",
+            },
+            // 4: rating and rank of the saved handles
+            {
+                    "ALTER TABLE HandleInfos ADD COLUMN rating INTEGER",
+                    "ALTER TABLE HandleInfos ADD COLUMN rank VARCHAR(50)",
+            },
+            // 5: stored profiles
+            {
+                    "ALTER TABLE HandleInfos ADD COLUMN userInfo TEXT",
+                    "CREATE TABLE Snapshots( _handle VARCHAR(300) PRIMARY KEY, progress BLOB); ",
+            },
+            // 6: handles get an id the submissions and snapshots point at, tags get their own tables
+            {
+                    "CREATE TABLE Handles( _id INTEGER PRIMARY KEY, handle VARCHAR(300) NOT NULL UNIQUE COLLATE NOCASE, imageUrl VARCHAR(200), "
+                            + "rating INTEGER, rank VARCHAR(50), userInfo TEXT)",
+                    // handles only differing in case were saved twice before, the first one is kept
+                    "INSERT OR IGNORE INTO Handles(handle, imageUrl, rating, rank, userInfo) "
+                            + "SELECT _handle, Imageurl, rating, rank, userInfo FROM HandleInfos ORDER BY rowid",
+                    "DROP TABLE HandleInfos",
+
+                    "DROP INDEX SubmissionsByHandle",
+                    "ALTER TABLE Submissions RENAME TO SubmissionsVersion5",
+                    "CREATE TABLE Submissions( _id INTEGER NOT NULL, handleId INTEGER NOT NULL REFERENCES Handles(_id) ON DELETE CASCADE, "
+                            + "contestId INTEGER, creationTimeSeconds INTEGER, problemIndex VARCHAR(10), name VARCHAR(200), "
+                            + "rating INTEGER, participantType VARCHAR(30), verdict VARCHAR(40), PRIMARY KEY(handleId, _id))",
+                    // submissions of handles that were deleted are dropped
+                    "INSERT INTO Submissions(_id, handleId, contestId, creationTimeSeconds, problemIndex, name, rating, participantType, verdict) "
+                            + "SELECT s._id, h._id, s.contestId, s.creationTimeSeconds, s.problemIndex, s.name, s.rating, s.participantType, s.verdict "
+                            + "FROM SubmissionsVersion5 s JOIN Handles h ON h.handle = s._handle",
+                    "DROP TABLE SubmissionsVersion5",
+
+                    "ALTER TABLE Snapshots RENAME TO SnapshotsVersion5",
+                    "CREATE TABLE Snapshots( handleId INTEGER PRIMARY KEY REFERENCES Handles(_id) ON DELETE CASCADE, progress BLOB)",
+                    // a snapshot of one case of a handle holds only that case's submissions, it is computed again
+                    "INSERT INTO Snapshots(handleId, progress) SELECT h._id, s.progress FROM SnapshotsVersion5 s JOIN Handles h "
+                            + "ON h.handle = s._handle WHERE (SELECT COUNT(*) FROM SnapshotsVersion5 o WHERE h.handle = o._handle) = 1",
+                    "DROP TABLE SnapshotsVersion5",
+
+                    // the problem cache is fetched again in the new layout
+                    "DROP TABLE Problems",
+                    "DELETE FROM CacheVersions WHERE _key = 'problemset.problems'",
+                    "CREATE TABLE Problems( _id INTEGER PRIMARY KEY, contestId INTEGER NOT NULL, problemIndex VARCHAR(10) NOT NULL, "
+                            + "name VARCHAR(200), rating INTEGER, UNIQUE(contestId, problemIndex))",
+                    "CREATE INDEX ProblemsByRating ON Problems(rating)",
+                    "CREATE TABLE Tags( _id INTEGER PRIMARY KEY, name VARCHAR(50) NOT NULL UNIQUE)",
+                    "CREATE TABLE ProblemTags( problemId INTEGER NOT NULL REFERENCES Problems(_id) ON DELETE CASCADE, position INTEGER NOT NULL, "
+                            + "tagId INTEGER NOT NULL REFERENCES Tags(_id), PRIMARY KEY(problemId, position))",
+                    "CREATE INDEX ProblemTagsByTag ON ProblemTags(tagId, problemId)",
+            },
+            // 7: the tags of the submitted problems
+            {
+                    "ALTER TABLE Submissions ADD COLUMN tags TEXT",
+                    // the stored submissions get the tags of the cached problems, the rest when the problems are cached
+                    "UPDATE Submissions SET tags = (SELECT GROUP_CONCAT(t.name, ';') FROM Problems p JOIN ProblemTags pt "
+                            + "ON pt.problemId = p._id JOIN Tags t ON t._id = pt.tagId "
+                            + "WHERE p.contestId = Submissions.contestId AND p.problemIndex = Submissions.problemIndex)",
+            },
+    };
+
+    private Schema() {
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.Codeforces_Progress.Sync;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.Codeforces_Progress.APIInterfaces.UserInfoBatcher;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.UserInfoClasses.ResultOfUserInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Refreshes avatar, rating and rank of every saved handle.
+ * <p>
+ * All handles are looked up together, {@link UserInfoBatcher} sends them as one
+ * user.info call per {@code MAX_BATCH_SIZE} handles, and the results are written
+ * in a single transaction. Must be used from the UI thread, the listener is called on it.
+ */
+public class HandleInfoRefresh {
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final DataBaseHelper dataBaseHelper;
+    private final UserInfoBatcher userInfoBatcher;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public HandleInfoRefresh(DataBaseHelper dataBaseHelper, UserInfoBatcher userInfoBatcher) {
+        this.dataBaseHelper = dataBaseHelper;
+        this.userInfoBatcher = userInfoBatcher;
+    }
+
+    public void refresh(final Listener listener) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<String> handles = dataBaseHelper.getAllHandles();
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        lookUp(handles, listener);
+                    }
+                });
+            }
+        });
+    }
+
+    private void lookUp(final List<String> handles, final Listener listener) {
+        if (handles.isEmpty()) {
+            listener.onRefreshed(0, 0);
+            return;
+        }
+
+        final List<ResultOfUserInfo> results = new ArrayList<>(handles.size());
+        UserInfoBatcher.Listener collector = new UserInfoBatcher.Listener() {
+            private int pending = handles.size();
+            private int failed;
+
+            @Override
+            public void onUserInfo(ResultOfUserInfo result) {
+                results.add(result);
+                done();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                failed++;
+                done();
+            }
+
+            private void done() {
+                if (--pending == 0) {
+                    save(results, failed, listener);
+                }
+            }
+        };
+
+        for (String handle : handles) {
+            userInfoBatcher.lookup(handle, collector);
+        }
+    }
+
+    private void save(final List<ResultOfUserInfo> results, final int failed, final Listener listener) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final int updated = results.isEmpty() ? 0 : dataBaseHelper.updateHandleInfos(results);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onRefreshed(updated, failed);
+                    }
+                });
+            }
+        });
+    }
+
+    public interface Listener {
+        // failed counts the handles that couldn't be looked up
+        void onRefreshed(int updated, int failed);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.Codeforces_Progress.Sync;
+
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.RequiresApi;
+
+import com.example.Codeforces_Progress.APIInterfaces.ApiClient;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pre-warms the profiles of all saved handles, scheduled by {@link ProfileSyncScheduler}.
+ * <p>
+ * Every handle gets its new submissions merged and its analytics snapshot computed through
+ * {@link SubmissionSync}, and the user.info results of all handles are stored through
+ * {@link HandleInfoRefresh}, so DataActivity draws a profile from the local store.
+ * The two parts run in parallel, the job is finished when both are done.
+ */
+@RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+public class ProfileSyncJobService extends JobService {
+
+    // handles are synced one after the other, the rate limit is shared with the screens anyway
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private volatile SubmissionSync.Request request;
+    private volatile boolean stopped;
+    private int pendingParts;
+
+    @Override
+    public boolean onStartJob(final JobParameters params) {
+        ApiClient apiClient = ApiClient.getInstance(this);
+        final DataBaseHelper dataBaseHelper = DataBaseHelper.getInstance(this);
+        final SubmissionSync submissionSync = new SubmissionSync(dataBaseHelper, apiClient.getStatusApi());
+
+        stopped = false;
+        pendingParts = 2;
+
+        new HandleInfoRefresh(dataBaseHelper, apiClient.getUserInfoBatcher()).refresh(new HandleInfoRefresh.Listener() {
+            @Override
+            public void onRefreshed(int updated, int failed) {
+                partDone(params);
+            }
+        });
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                List<String> handles = dataBaseHelper.getAllHandles();
+                for (String handle : handles) {
+                    request = new SubmissionSync.Request();
+                    // checked after publishing the request, so onStopJob() can always cancel it
+                    if (stopped) {
+                        break;
+                    }
+                    try {
+                        submissionSync.syncNow(handle, request);
+                    } catch (IOException e) {
+                        // the handle is synced again by the next run or when it is opened
+                    }
+                }
+                request = null;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        partDone(params);
+                    }
+                });
+            }
+        });
+        return true;
+    }
+
+    /*
+     * the constraints aren't met anymore, the job is run again later
+     */
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        stopped = true;
+        SubmissionSync.Request inFlight = request;
+        if (inFlight != null) {
+            inFlight.cancel();
+        }
+        return true;
+    }
+
+    private void partDone(JobParameters params) {
+        if (--pendingParts == 0 && !stopped) {
+            // a handle that failed waits for the next period
+            jobFinished(params, false);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.Codeforces_Progress.Sync;
+
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+import android.os.Build;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules {@link ProfileSyncJobService} to run periodically while the device is
+ * charging on an unmetered network, so syncing the saved handles costs neither battery nor data.
+ * JobScheduler needs API 21, older devices load every profile when it is opened.
+ */
+public class ProfileSyncScheduler {
+
+    private static final int JOB_ID = 1;
+    private static final long PERIOD_MILLIS = TimeUnit.HOURS.toMillis(6);
+
+    private ProfileSyncScheduler() {
+    }
+
+    /*
+     * an already scheduled job is kept, so its period doesn't restart on every app start
+     */
+    public static void schedule(Context context) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return;
+        }
+        JobScheduler jobScheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (jobScheduler == null) {
+            return;
+        }
+        for (JobInfo pending : jobScheduler.getAllPendingJobs()) {
+            if (pending.getId() == JOB_ID) {
+                return;
+            }
+        }
+
+        JobInfo jobInfo = new JobInfo.Builder(JOB_ID, new ComponentName(context, ProfileSyncJobService.class))
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresCharging(true)
+                .setPeriodic(PERIOD_MILLIS)
+                .setPersisted(true)
+                .build();
+        jobScheduler.schedule(jobInfo);
+    }
+}
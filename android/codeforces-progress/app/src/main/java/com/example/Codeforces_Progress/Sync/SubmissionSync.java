@@ -0,0 +1,279 @@
+package com.example.Codeforces_Progress.Sync;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.Codeforces_Progress.APIInterfaces.ApiInterfaceGetStatus;
+import com.example.Codeforces_Progress.Analytics.ProgressEngine;
+import com.example.Codeforces_Progress.Analytics.ProgressResult;
+import com.example.Codeforces_Progress.SQLiteDataBase.DataBaseHelper;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Keeps the local submission store of a handle, and the analytics computed from it, up to date.
+ * <p>
+ * The first sync of a handle downloads its whole history, every later sync
+ * pages through user.status (newest first) only until it reaches a stored submission.
+ * The new submissions are folded into the analytics snapshot stored with the submissions,
+ * so a sync costs the work of what it fetched, not of the whole history. The history is only
+ * read and computed again when there is no snapshot yet or one of the fetched submissions
+ * was judged accepted after the snapshot was taken.
+ * <p>
+ * Merging runs on one shared thread. {@link #sync(String, Listener)} fetches on a pool of its own and
+ * {@link #syncNow(String, Request)} on the calling thread, so syncs of different handles fetch
+ * in parallel (paced by the client's rate limit) and only wait for each other to merge.
+ */
+public class SubmissionSync {
+
+    private static final int PAGE_SIZE = 100;
+
+    // one shared thread, so two screens (or a screen and the background sync) never merge into the same handle at once
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // fetches of sync() run here, so a slow response never holds up the merges of other handles
+    private static final ExecutorService fetchExecutor = Executors.newCachedThreadPool();
+
+    private final DataBaseHelper dataBaseHelper;
+    private final ApiInterfaceGetStatus apiInterfaceGS;
+    private final ProgressEngine progressEngine = new ProgressEngine();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public SubmissionSync(DataBaseHelper dataBaseHelper, ApiInterfaceGetStatus apiInterfaceGS) {
+        this.dataBaseHelper = dataBaseHelper;
+        this.apiInterfaceGS = apiInterfaceGS;
+    }
+
+    /*
+     * syncing in background,
+     * the listener is called on the UI thread with the analytics of the full history
+     * nothing is called once the returned request is cancelled
+     */
+    public Request sync(final String handle, final Listener listener) {
+        final Request request = new Request();
+        fetchExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (request.isCancelled()) {
+                    return;
+                }
+                final Fetched fetched;
+                try {
+                    fetched = fetchNew(handle, request);
+                } catch (Exception e) {
+                    postFailure(request, listener, e);
+                    return;
+                }
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (request.isCancelled()) {
+                            return;
+                        }
+                        try {
+                            final Synced synced = merge(handle, fetched);
+                            mainHandler.post(new Runnable() {
+                                @Override
+                                public void run() {
+                                    if (!request.isCancelled()) {
+                                        listener.onSynced(synced.progress, synced.changed);
+                                    }
+                                }
+                            });
+                        } catch (Exception e) {
+                            postFailure(request, listener, e);
+                        }
+                    }
+                });
+            }
+        });
+        return request;
+    }
+
+    private void postFailure(final Request request, final Listener listener, final Exception e) {
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (!request.isCancelled()) {
+                    listener.onFailure(e);
+                }
+            }
+        });
+    }
+
+    /*
+     * blocking version of sync(), must not be called on the UI thread
+     * fetches on the calling thread and waits for the merges queued before, cancelling the request makes it throw
+     */
+    public ProgressResult syncNow(final String handle, final Request request) throws IOException {
+        final Fetched fetched = fetchNew(handle, request);
+        Future<Synced> synced = executor.submit(new Callable<Synced>() {
+            @Override
+            public Synced call() {
+                return merge(handle, fetched);
+            }
+        });
+        try {
+            return synced.get().progress;
+        } catch (InterruptedException e) {
+            request.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("sync of " + handle + " interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private Fetched fetchNew(String handle, Request request) throws IOException {
+        if (request.isCancelled()) {
+            throw new IOException("Canceled");
+        }
+        long syncStart = dataBaseHelper.getSubmissionSyncStart(handle);
+
+        SubmissionColumns newSubmissions;
+        if (syncStart == 0) {
+            newSubmissions = fetch(handle, null, null, request);
+        } else {
+            newSubmissions = fetchNewerThan(handle, syncStart, request);
+        }
+        return new Fetched(syncStart, newSubmissions);
+    }
+
+    /*
+     * must run on the executor
+     */
+    private Synced merge(String handle, Fetched fetched) {
+        long syncStart = dataBaseHelper.getSubmissionSyncStart(handle);
+        SubmissionColumns newSubmissions = fetched.submissions;
+        if (syncStart != fetched.syncStart) {
+            // another sync of the handle was merged while this one was fetching
+            newSubmissions = newerThan(newSubmissions, syncStart);
+        }
+
+        ProgressResult progress = dataBaseHelper.getProgressSnapshot(handle);
+        if (newSubmissions.size() == 0) {
+            if (progress != null) {
+                return new Synced(progress, false);
+            }
+        } else {
+            if (progress != null) {
+                progress = progressEngine.fold(progress, newSubmissions);
+            } else if (syncStart == 0) {
+                // the first sync fetched the whole history
+                progress = progressEngine.compute(newSubmissions);
+            }
+            // the snapshot is stored with the submissions, dropped if it couldn't be folded
+            dataBaseHelper.insertSubmissions(handle, newSubmissions, progress);
+            if (progress != null) {
+                return new Synced(progress, true);
+            }
+        }
+
+        progress = progressEngine.compute(dataBaseHelper.getSubmissions(handle));
+        dataBaseHelper.putProgressSnapshot(handle, progress);
+        return new Synced(progress, true);
+    }
+
+    private SubmissionColumns fetchNewerThan(String handle, long syncStart, Request request) throws IOException {
+        SubmissionColumns newSubmissions = new SubmissionColumns();
+        int from = 1;
+        while (true) {
+            SubmissionColumns page = fetch(handle, from, PAGE_SIZE, request);
+            for (int i = 0; i < page.size(); i++) {
+                if (page.getId(i) <= syncStart) {
+                    return newSubmissions;
+                }
+                newSubmissions.add(page, i);
+            }
+            if (page.size() < PAGE_SIZE) {
+                return newSubmissions;
+            }
+            from += PAGE_SIZE;
+        }
+    }
+
+    private static SubmissionColumns newerThan(SubmissionColumns submissions, long syncStart) {
+        SubmissionColumns newer = new SubmissionColumns();
+        for (int i = 0; i < submissions.size() && submissions.getId(i) > syncStart; i++) {
+            newer.add(submissions, i);
+        }
+        return newer;
+    }
+
+    private SubmissionColumns fetch(String handle, Integer from, Integer count, Request request) throws IOException {
+        Call<SubmissionColumns> call = apiInterfaceGS.getUserStatusColumns(handle, from, count);
+        request.track(call);
+        Response<SubmissionColumns> response = call.execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("user.status failed for " + handle + " with code " + response.code());
+        }
+        return response.body();
+    }
+
+    /*
+     * an ongoing sync, cancelling it also cancels the request in flight
+     */
+    public static class Request {
+        private volatile boolean cancelled;
+        private volatile Call<?> call;
+
+        public void cancel() {
+            cancelled = true;
+            Call<?> inFlight = call;
+            if (inFlight != null) {
+                inFlight.cancel();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void track(Call<?> call) throws IOException {
+            this.call = call;
+            if (cancelled) {
+                throw new IOException("Canceled");
+            }
+        }
+    }
+
+    private static class Fetched {
+        // sync start the submissions were fetched from, 0 for the whole history
+        final long syncStart;
+        final SubmissionColumns submissions;
+
+        Fetched(long syncStart, SubmissionColumns submissions) {
+            this.syncStart = syncStart;
+            this.submissions = submissions;
+        }
+    }
+
+    private static class Synced {
+        final ProgressResult progress;
+        final boolean changed;
+
+        Synced(ProgressResult progress, boolean changed) {
+            this.progress = progress;
+            this.changed = changed;
+        }
+    }
+
+    public interface Listener {
+        // changed is false if the stored snapshot was still up to date
+        void onSynced(ProgressResult progress, boolean changed);
+
+        void onFailure(Throwable t);
+    }
+}
@@ -33,7 +33,13 @@ public class ResultOfUserInfo {
         return titlePhoto;
     }
 
-    public int getRating() {
+    // titlePhoto comes without a scheme ("//userpic.codeforces.com/...")
+    public String getTitlePhotoUrl() {
+        return titlePhoto != null && titlePhoto.startsWith("//") ? "https:" + titlePhoto : titlePhoto;
+    }
+
+    // null for unrated users
+    public Integer getRating() {
         return rating;
     }
 
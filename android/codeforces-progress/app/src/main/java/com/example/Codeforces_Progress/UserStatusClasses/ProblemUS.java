@@ -1,9 +1,20 @@
 package com.example.Codeforces_Progress.UserStatusClasses;
 
+import java.util.List;
+
 public class ProblemUS {
 
+    private String index;
     private String name;
     private Integer rating = -1;
+    private List<String> tags;
+
+    /*
+     * Usually a letter or letter with digit(s) indicating the problem index in a contest.
+     */
+    public String getIndex() {
+        return index;
+    }
 
     /*
      * Problem name
@@ -20,4 +31,11 @@ public class ProblemUS {
     public int getRating() {
         return rating;
     }
-}
\ No newline at end of file
+
+    /*
+     * Problem tags.
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.Codeforces_Progress.UserStatusClasses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Column oriented list of submissions.
+ * <p>
+ * Holds the same fields as {@link ResultUS} in primitive arrays, so a history of
+ * tens of thousands of submissions costs a handful of arrays instead of
+ * three objects and four boxed numbers per submission.
+ * Rows keep the order they were added in, user.status order is decreasing submission id.
+ * <p>
+ * Every distinct problem name gets a dense int id, so callers can dedup
+ * problems on ints and the name itself is stored once.
+ * <p>
+ * The tags of a problem are kept once per problem as a bit mask, every distinct tag gets
+ * one of the {@link #MAX_TAGS} bits. Codeforces uses less than 40 tags, further ones are dropped.
+ */
+public class SubmissionColumns {
+
+    public static final String VERDICT_OK = "OK";
+    public static final String PARTICIPANT_CONTESTANT = "CONTESTANT";
+
+    // used when a field is absent in the response
+    public static final int NO_CONTEST = 0;
+    public static final int NO_RATING = -1;
+
+    public static final int MAX_TAGS = 64;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size;
+    private long[] ids;
+    private int[] contestIds;
+    private long[] creationTimes;
+    private int[] ratings;
+    private String[] problemIndexes;
+    private int[] problemIds;
+    private String[] participantTypes;
+    private String[] verdicts;
+
+    // verdicts, participant types and indexes repeat a lot, only one instance of each is kept
+    private final HashMap<String, String> canonical = new HashMap<>();
+
+    // problem name <-> problem id
+    private final HashMap<String, Integer> problemIdsByName = new HashMap<>();
+    private final ArrayList<String> problemNames = new ArrayList<>();
+    // tag mask of every problem id
+    private long[] problemTags = new long[INITIAL_CAPACITY];
+
+    // tag <-> bit of the tag
+    private final HashMap<String, Integer> tagBitsByName = new HashMap<>();
+    private final ArrayList<String> tagNames = new ArrayList<>();
+
+    public SubmissionColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public SubmissionColumns(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new long[capacity];
+        contestIds = new int[capacity];
+        creationTimes = new long[capacity];
+        ratings = new int[capacity];
+        problemIndexes = new String[capacity];
+        problemIds = new int[capacity];
+        participantTypes = new String[capacity];
+        verdicts = new String[capacity];
+    }
+
+    public void add(long id, int contestId, long creationTimeSeconds, String problemIndex, String problemName,
+                    int rating, String participantType, String verdict) {
+        add(id, contestId, creationTimeSeconds, problemIndex, problemName, rating, participantType, verdict, 0);
+    }
+
+    /*
+     * tags is the mask of the problem's tags, built with getTagMask()
+     */
+    public void add(long id, int contestId, long creationTimeSeconds, String problemIndex, String problemName,
+                    int rating, String participantType, String verdict, long tags) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        contestIds[size] = contestId;
+        creationTimes[size] = creationTimeSeconds;
+        ratings[size] = rating;
+        problemIndexes[size] = canonical(problemIndex);
+        problemIds[size] = problemId(problemName);
+        participantTypes[size] = canonical(participantType);
+        verdicts[size] = canonical(verdict);
+        problemTags[problemIds[size]] |= tags;
+        size++;
+    }
+
+    /*
+     * appending row i of other
+     */
+    public void add(SubmissionColumns other, int i) {
+        long tags = 0;
+        for (long otherTags = other.getTags(i); otherTags != 0; otherTags &= otherTags - 1) {
+            tags |= getTagMask(other.getTagName(Long.numberOfTrailingZeros(otherTags)));
+        }
+        add(other.ids[i], other.contestIds[i], other.creationTimes[i], other.problemIndexes[i], other.getProblemName(i),
+                other.ratings[i], other.participantTypes[i], other.verdicts[i], tags);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /*
+     * submission id
+     */
+    public long getId(int i) {
+        return ids[i];
+    }
+
+    /*
+     * Id of the contest, NO_CONTEST if absent
+     */
+    public int getContestId(int i) {
+        return contestIds[i];
+    }
+
+    /*
+     * when the code is submitted
+     */
+    public long getCreationTimeSeconds(int i) {
+        return creationTimes[i];
+    }
+
+    public String getProblemIndex(int i) {
+        return problemIndexes[i];
+    }
+
+    public String getProblemName(int i) {
+        return problemNames.get(problemIds[i]);
+    }
+
+    /*
+     * dense id of the problem name, between 0 and getProblemCount() - 1
+     * ids are only comparable within the same SubmissionColumns
+     */
+    public int getProblemId(int i) {
+        return problemIds[i];
+    }
+
+    /*
+     * number of distinct problem names
+     */
+    public int getProblemCount() {
+        return problemNames.size();
+    }
+
+    /*
+     * Problem rating (difficulty), NO_RATING if absent
+     */
+    public int getRating(int i) {
+        return ratings[i];
+    }
+
+    public String getParticipantType(int i) {
+        return participantTypes[i];
+    }
+
+    /*
+     * Verdict of the submission, null while the submission is in queue
+     */
+    public String getVerdict(int i) {
+        return verdicts[i];
+    }
+
+    /*
+     * tag mask of the problem, bit t set if it has tag getTagName(t)
+     * 0 if its tags are unknown
+     */
+    public long getTags(int i) {
+        return problemTags[problemIds[i]];
+    }
+
+    /*
+     * number of distinct tags, at most MAX_TAGS
+     */
+    public int getTagCount() {
+        return tagNames.size();
+    }
+
+    public String getTagName(int bit) {
+        return tagNames.get(bit);
+    }
+
+    /*
+     * the mask with only the bit of the tag set, the tag gets the next free bit the first time
+     * 0 if all MAX_TAGS bits are taken by other tags
+     */
+    public long getTagMask(String tag) {
+        Integer bit = tagBitsByName.get(tag);
+        if (bit == null) {
+            if (tagNames.size() == MAX_TAGS) {
+                return 0;
+            }
+            bit = tagNames.size();
+            tagBitsByName.put(tag, bit);
+            tagNames.add(tag);
+        }
+        return 1L << bit;
+    }
+
+    public boolean isAccepted(int i) {
+        return VERDICT_OK.equals(verdicts[i]);
+    }
+
+    public boolean isContestant(int i) {
+        return PARTICIPANT_CONTESTANT.equals(participantTypes[i]);
+    }
+
+    private String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String known = canonical.get(value);
+        if (known == null) {
+            canonical.put(value, value);
+            known = value;
+        }
+        return known;
+    }
+
+    private int problemId(String problemName) {
+        Integer id = problemIdsByName.get(problemName);
+        if (id == null) {
+            id = problemNames.size();
+            problemIdsByName.put(problemName, id);
+            problemNames.add(problemName);
+            if (id == problemTags.length) {
+                problemTags = Arrays.copyOf(problemTags, id * 2);
+            }
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        contestIds = Arrays.copyOf(contestIds, capacity);
+        creationTimes = Arrays.copyOf(creationTimes, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        problemIndexes = Arrays.copyOf(problemIndexes, capacity);
+        problemIds = Arrays.copyOf(problemIds, capacity);
+        participantTypes = Arrays.copyOf(participantTypes, capacity);
+        verdicts = Arrays.copyOf(verdicts, capacity);
+    }
+}
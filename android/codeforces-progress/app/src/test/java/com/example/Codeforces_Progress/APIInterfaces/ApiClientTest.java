@@ -0,0 +1,174 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemSet;
+import com.example.Codeforces_Progress.UserInfoClasses.UserInfo;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the shared client against a local server to check that the per-endpoint
+ * cache policy is applied, that connections are reused between calls and that
+ * identical calls in flight are joined.
+ */
+public class ApiClientTest {
+
+    private static final String PROBLEM_SET_JSON = "{\"status\":\"OK\",\"result\":{\"problems\":[],\"problemStatistics\":[]}}";
+    private static final String USER_INFO_JSON = "{\"status\":\"OK\",\"result\":[{\"handle\":\"tourist\"}]}";
+    private static final String USER_STATUS_JSON = "{\"status\":\"OK\",\"result\":[]}";
+
+    @Rule
+    public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient(server.url("/api/"), cacheFolder.getRoot(), new TokenBucket(100, 1, TimeUnit.MILLISECONDS));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void problemSet_secondCallIsServedFromCache() throws IOException {
+        server.enqueue(new MockResponse().setBody(PROBLEM_SET_JSON).setHeader("Cache-Control", "no-cache"));
+
+        Response<ProblemSet> first = apiClient.getProblemSetApi().getProblemSet("", "").execute();
+        Response<ProblemSet> second = apiClient.getProblemSetApi().getProblemSet("", "").execute();
+
+        assertNotNull(first.raw().networkResponse());
+        assertNull(second.raw().networkResponse());
+        assertNotNull(second.raw().cacheResponse());
+        assertNotNull(second.body());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void problemSet_refreshRevalidatesCache() throws IOException {
+        server.enqueue(new MockResponse().setBody(PROBLEM_SET_JSON));
+        server.enqueue(new MockResponse().setBody(PROBLEM_SET_JSON));
+
+        apiClient.getProblemSetApi().getProblemSet("", "").execute();
+        Response<ProblemSet> refreshed = apiClient.getProblemSetApi().getProblemSet("", "", "no-cache").execute();
+
+        assertNotNull(refreshed.raw().networkResponse());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void userInfo_isCachedForMinutes() throws IOException {
+        server.enqueue(new MockResponse().setBody(USER_INFO_JSON));
+
+        Response<UserInfo> response = apiClient.getUserInfoApi().getUserInfo("tourist").execute();
+
+        assertEquals("public, max-age=" + ApiClient.CachePolicyInterceptor.USER_INFO_MAX_AGE,
+                response.headers().get("Cache-Control"));
+        assertNotNull(apiClient.getUserInfoApi().getUserInfo("tourist").execute().raw().cacheResponse());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void userStatus_isNeverCachedAndReusesConnection() throws IOException, InterruptedException {
+        server.enqueue(new MockResponse().setBody(USER_STATUS_JSON));
+        server.enqueue(new MockResponse().setBody(USER_STATUS_JSON));
+
+        Response<SubmissionColumns> first = apiClient.getStatusApi().getUserStatusColumns("tourist", 1, 100).execute();
+        Response<SubmissionColumns> second = apiClient.getStatusApi().getUserStatusColumns("tourist", 1, 100).execute();
+
+        assertEquals(0, first.body().size());
+        assertNotNull(second.raw().networkResponse());
+        assertEquals(2, server.getRequestCount());
+
+        // the sequence number counts requests made on the same connection
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+        assertEquals(1, apiClient.getOkHttpClient().connectionPool().connectionCount());
+    }
+
+    @Test
+    public void identicalCallsInFlight_shareOneRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody(USER_STATUS_JSON).setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final Response<?>[] second = new Response<?>[1];
+        Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    second[0] = apiClient.getStatusApi().getUserStatusColumns("tourist", 1, 100).execute();
+                } catch (IOException e) {
+                    // asserted below
+                }
+            }
+        });
+        other.start();
+        started.await();
+        Response<SubmissionColumns> first = apiClient.getStatusApi().getUserStatusColumns("tourist", 1, 100).execute();
+        other.join();
+
+        assertEquals(0, first.body().size());
+        assertNotNull(second[0]);
+        assertEquals(0, ((SubmissionColumns) second[0].body()).size());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void image_isServedFromDiskCacheAfterRestart() throws IOException {
+        server.enqueue(new MockResponse().setBody("avatar").setHeader("Cache-Control", "no-cache"));
+        File imageCache = cacheFolder.newFolder("avatar-cache");
+
+        okhttp3.Response first = apiClient.newImageClient(imageCache, 1024 * 1024)
+                .newCall(new Request.Builder().url(server.url("/userpic/1.jpg")).build()).execute();
+        assertEquals("avatar", first.body().string());
+
+        // a new process opens the same cache directory
+        ApiClient restarted = new ApiClient(server.url("/api/"), cacheFolder.newFolder(), new TokenBucket(100, 1, TimeUnit.MILLISECONDS));
+        okhttp3.Response second = restarted.newImageClient(imageCache, 1024 * 1024)
+                .newCall(new Request.Builder().url(server.url("/userpic/1.jpg")).build()).execute();
+
+        assertEquals("avatar", second.body().string());
+        assertNull(second.networkResponse());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void image_isNotPacedAndSharesConnections() throws IOException {
+        // one call per hour, an image must not wait for it
+        ApiClient paced = new ApiClient(server.url("/api/"), cacheFolder.newFolder(), new TokenBucket(1, 1, TimeUnit.HOURS));
+        OkHttpClient imageClient = paced.newImageClient(cacheFolder.newFolder(), 1024 * 1024);
+        server.enqueue(new MockResponse().setBody("avatar 1"));
+        server.enqueue(new MockResponse().setBody("avatar 2"));
+
+        long start = System.nanoTime();
+        imageClient.newCall(new Request.Builder().url(server.url("/userpic/1.jpg")).build()).execute().body().close();
+        imageClient.newCall(new Request.Builder().url(server.url("/userpic/2.jpg")).build()).execute().body().close();
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertSame(paced.getOkHttpClient().connectionPool(), imageClient.connectionPool());
+        assertEquals(2, server.getRequestCount());
+    }
+}
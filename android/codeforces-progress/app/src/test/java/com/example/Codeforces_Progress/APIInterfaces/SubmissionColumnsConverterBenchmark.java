@@ -0,0 +1,62 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import com.example.Codeforces_Progress.Benchmark;
+import com.example.Codeforces_Progress.UserStatusClasses.ResultUS;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+import com.example.Codeforces_Progress.UserStatusClasses.UserStatus;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares how much heap the streaming user.status converter and the gson mapping keep on a large history.
+ */
+@Category(Benchmark.class)
+public class SubmissionColumnsConverterBenchmark {
+
+    private static final int LARGE_HISTORY = 50000;
+
+    @Test
+    public void streamingRetainsLessThanGson() throws IOException {
+        String json = SubmissionColumnsConverterFactoryTest.userStatusJson(LARGE_HISTORY);
+
+        // warming up both paths
+        for (int i = 0; i < 3; i++) {
+            parseWithGson(json);
+            SubmissionColumnsConverterFactoryTest.parseStreaming(json);
+        }
+
+        long heapBefore = retainedBytes();
+        List<ResultUS> results = parseWithGson(json);
+        long gsonRetained = retainedBytes() - heapBefore;
+        assertEquals(LARGE_HISTORY, results.size());
+        results = null;
+
+        heapBefore = retainedBytes();
+        SubmissionColumns columns = SubmissionColumnsConverterFactoryTest.parseStreaming(json);
+        long streamingRetained = retainedBytes() - heapBefore;
+        assertEquals(LARGE_HISTORY, columns.size());
+
+        assertTrue("streaming retained " + streamingRetained / 1024 + " KB, gson " + gsonRetained / 1024 + " KB",
+                streamingRetained < gsonRetained);
+    }
+
+    private static List<ResultUS> parseWithGson(String json) {
+        return new Gson().fromJson(json, UserStatus.class).getResults();
+    }
+
+    // heap in use after a full collection, the parsed result is still referenced by the caller
+    private static long retainedBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
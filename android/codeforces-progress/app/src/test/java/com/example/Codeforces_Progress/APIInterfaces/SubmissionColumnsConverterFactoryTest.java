@@ -0,0 +1,119 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import com.example.Codeforces_Progress.UserStatusClasses.ResultUS;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+import com.example.Codeforces_Progress.UserStatusClasses.UserStatus;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the streaming user.status converter against the gson mapping.
+ */
+public class SubmissionColumnsConverterFactoryTest {
+
+    private static final int LARGE_HISTORY = 50000;
+
+    @Test
+    public void streamingConverter_readsSameFieldsAsGson() throws IOException {
+        String json = userStatusJson(500);
+
+        SubmissionColumns columns = SubmissionColumnsConverterFactory.readResponse(new JsonReader(new StringReader(json)));
+        List<ResultUS> results = new Gson().fromJson(json, UserStatus.class).getResults();
+
+        assertEquals(results.size(), columns.size());
+        for (int i = 0; i < results.size(); i++) {
+            ResultUS result = results.get(i);
+            assertEquals(result.getId(), columns.getId(i));
+            assertEquals(result.getContestId(), columns.getContestId(i));
+            assertEquals(result.getCreationTimeSeconds(), columns.getCreationTimeSeconds(i));
+            assertEquals(result.getProblem().getName(), columns.getProblemName(i));
+            assertEquals(result.getProblem().getIndex(), columns.getProblemIndex(i));
+            assertEquals(result.getProblem().getRating(), columns.getRating(i));
+            assertEquals(result.getAuthor().getParticipantType(), columns.getParticipantType(i));
+            assertEquals(result.getVerdict(), columns.getVerdict(i));
+            assertEquals(result.getProblem().getTags(), tagNames(columns, i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void streamingConverter_failsOnFailedStatus() throws IOException {
+        String json = "{\"status\":\"FAILED\",\"comment\":\"handle: User with handle x not found\"}";
+        SubmissionColumnsConverterFactory.readResponse(new JsonReader(new StringReader(json)));
+    }
+
+    @Test
+    public void streamingConverter_keepsRepeatedValuesOnce() throws IOException {
+        SubmissionColumns columns = parseStreaming(userStatusJson(LARGE_HISTORY));
+        assertEquals(LARGE_HISTORY, columns.size());
+
+        // gson keeps a string per field of every submission, the columns one per distinct value
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < columns.size(); i++) {
+            names.add(columns.getProblemName(i));
+        }
+        assertEquals(names.size(), columns.getProblemCount());
+        assertEquals(2, columns.getTagCount());
+        for (int i = 6; i < columns.size(); i++) {
+            assertSame(columns.getVerdict(i - 5), columns.getVerdict(i));
+            assertSame(columns.getParticipantType(i - 3), columns.getParticipantType(i));
+            assertSame(columns.getProblemIndex(i - 6), columns.getProblemIndex(i));
+        }
+    }
+
+    // the tags of the row's problem in the order the columns first saw them
+    private static List<String> tagNames(SubmissionColumns columns, int i) {
+        List<String> names = new ArrayList<>();
+        for (long tags = columns.getTags(i); tags != 0; tags &= tags - 1) {
+            names.add(columns.getTagName(Long.numberOfTrailingZeros(tags)));
+        }
+        return names;
+    }
+
+    static SubmissionColumns parseStreaming(String json) throws IOException {
+        return SubmissionColumnsConverterFactory.readResponse(new JsonReader(new StringReader(json)));
+    }
+
+    // a user.status response shaped like the real one, newest submission first
+    static String userStatusJson(int count) {
+        String[] verdicts = {"OK", "WRONG_ANSWER", "TIME_LIMIT_EXCEEDED", "OK", "RUNTIME_ERROR"};
+        StringBuilder json = new StringBuilder("{\"status\":\"OK\",\"result\":[");
+        for (int i = 0; i < count; i++) {
+            int contestId = 1 + (count - i) / 7;
+            char index = (char) ('A' + i % 6);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(100000000L + count - i)
+                    .append(",\"contestId\":").append(contestId)
+                    .append(",\"creationTimeSeconds\":").append(1500000000L + (count - i) * 3600L)
+                    .append(",\"relativeTimeSeconds\":2147483647")
+                    .append(",\"problem\":{\"contestId\":").append(contestId)
+                    .append(",\"index\":\"").append(index).append('"')
+                    .append(",\"name\":\"Problem ").append(contestId).append(index).append('"')
+                    .append(",\"type\":\"PROGRAMMING\"");
+            if (i % 4 != 0) {
+                json.append(",\"rating\":").append(800 + (i % 28) * 100);
+            }
+            json.append(",\"tags\":[\"dp\",\"greedy\"]}")
+                    .append(",\"author\":{\"contestId\":").append(contestId)
+                    .append(",\"members\":[{\"handle\":\"tourist\"}],\"participantType\":\"")
+                    .append(i % 3 == 0 ? "CONTESTANT" : "PRACTICE")
+                    .append("\",\"ghost\":false,\"startTimeSeconds\":1500000000}")
+                    .append(",\"programmingLanguage\":\"GNU C++17\"")
+                    .append(",\"verdict\":\"").append(verdicts[i % verdicts.length]).append('"')
+                    .append(",\"testset\":\"TESTS\",\"passedTestCount\":12,\"timeConsumedMillis\":46,\"memoryConsumedBytes\":0}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1000000000L;
+
+    @Test
+    public void reserve_allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 2 * SECOND, 0);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(2 * SECOND, bucket.reserve(0));
+    }
+
+    @Test
+    public void reserve_queuesCallersOnePeriodApart() {
+        TokenBucket bucket = new TokenBucket(1, 2 * SECOND, 0);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(2 * SECOND, bucket.reserve(0));
+        assertEquals(4 * SECOND, bucket.reserve(0));
+        // the fourth caller gets the slot after the third one
+        assertEquals(3 * SECOND, bucket.reserve(3 * SECOND));
+    }
+
+    @Test
+    public void reserve_doesNotSaveTokensBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(1, 2 * SECOND, 0);
+
+        assertEquals(0, bucket.reserve(60 * SECOND));
+        assertEquals(2 * SECOND, bucket.reserve(60 * SECOND));
+    }
+
+    @Test
+    public void reserve_countsPartialPeriods() {
+        TokenBucket bucket = new TokenBucket(1, 2 * SECOND, 0);
+
+        assertEquals(0, bucket.reserve(0));
+        assertEquals(SECOND / 2, bucket.reserve(3 * SECOND / 2));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.Codeforces_Progress.APIInterfaces;
+
+import com.example.Codeforces_Progress.UserInfoClasses.ResultOfUserInfo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+public class UserInfoBatcherTest {
+
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private MockWebServer server;
+    private UserInfoBatcher batcher;
+    private final Map<String, Object> delivered = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(server.url("/api/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+        batcher = new UserInfoBatcher(retrofit.create(ApiInterfaceGetUserInfo.class), DIRECT);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void lookups_areSentAsOneCall() throws Exception {
+        server.enqueue(new MockResponse().setBody(userInfoJson("tourist", "Petr", "Um_nik")));
+
+        CountDownLatch done = new CountDownLatch(4);
+        batcher.lookup("tourist", listener("a", done));
+        batcher.lookup("Petr", listener("b", done));
+        batcher.lookup("TOURIST", listener("c", done));
+        batcher.lookup("Um_nik", listener("d", done));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals("tourist;Petr;Um_nik", server.takeRequest().getRequestUrl().queryParameter("handles"));
+        assertEquals("tourist", ((ResultOfUserInfo) delivered.get("a")).getHandle());
+        assertEquals("Petr", ((ResultOfUserInfo) delivered.get("b")).getHandle());
+        assertEquals("tourist", ((ResultOfUserInfo) delivered.get("c")).getHandle());
+        assertEquals("Um_nik", ((ResultOfUserInfo) delivered.get("d")).getHandle());
+    }
+
+    @Test
+    public void watchList_isOneCallPerBatch() throws Exception {
+        String[] handles = new String[UserInfoBatcher.MAX_BATCH_SIZE + 1];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = "handle_" + i;
+        }
+        server.enqueue(new MockResponse().setBody(userInfoJson(Arrays.copyOf(handles, UserInfoBatcher.MAX_BATCH_SIZE))));
+        server.enqueue(new MockResponse().setBody(userInfoJson(handles[UserInfoBatcher.MAX_BATCH_SIZE])));
+
+        CountDownLatch done = new CountDownLatch(handles.length);
+        for (String handle : handles) {
+            batcher.lookup(handle, listener(handle, done));
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, server.getRequestCount());
+        for (String handle : handles) {
+            assertEquals(handle, ((ResultOfUserInfo) delivered.get(handle)).getHandle());
+        }
+    }
+
+    @Test
+    public void missingHandle_failsAloneAndTheRestIsRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400)
+                .setBody("{\"status\":\"FAILED\",\"comment\":\"handles: User with handle nobody_42 not found\"}"));
+        server.enqueue(new MockResponse().setBody(userInfoJson("tourist", "Petr")));
+
+        CountDownLatch done = new CountDownLatch(3);
+        batcher.lookup("tourist", listener("a", done));
+        batcher.lookup("nobody_42", listener("b", done));
+        batcher.lookup("Petr", listener("c", done));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, server.getRequestCount());
+        server.takeRequest();
+        assertEquals("tourist;Petr", server.takeRequest().getRequestUrl().queryParameter("handles"));
+        assertEquals("tourist", ((ResultOfUserInfo) delivered.get("a")).getHandle());
+        assertTrue(delivered.get("b") instanceof IOException);
+        assertEquals("Petr", ((ResultOfUserInfo) delivered.get("c")).getHandle());
+    }
+
+    @Test
+    public void cancelledLookup_isNotSent() throws Exception {
+        server.enqueue(new MockResponse().setBody(userInfoJson("Petr")));
+
+        CountDownLatch done = new CountDownLatch(1);
+        batcher.lookup("tourist", listener("a", new CountDownLatch(1))).cancel();
+        batcher.lookup("Petr", listener("b", done));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals("Petr", server.takeRequest().getRequestUrl().queryParameter("handles"));
+        assertFalse(delivered.containsKey("a"));
+    }
+
+    private UserInfoBatcher.Listener listener(final String name, final CountDownLatch done) {
+        return new UserInfoBatcher.Listener() {
+            @Override
+            public void onUserInfo(ResultOfUserInfo result) {
+                delivered.put(name, result);
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                delivered.put(name, t);
+                done.countDown();
+            }
+        };
+    }
+
+    private static String userInfoJson(String... handles) {
+        StringBuilder json = new StringBuilder("{\"status\":\"OK\",\"result\":[");
+        for (int i = 0; i < handles.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"handle\":\"").append(handles[i]).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
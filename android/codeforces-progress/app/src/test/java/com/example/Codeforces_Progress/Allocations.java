@@ -0,0 +1,22 @@
+package com.example.Codeforces_Progress;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Bytes allocated by the current thread, for the {@link Benchmark} tests measuring allocation.
+ * A benchmark calling it is skipped on a JVM that can't count them.
+ */
+public final class Allocations {
+
+    private Allocations() {
+    }
+
+    public static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("the JVM can't count allocated bytes", threads instanceof com.sun.management.ThreadMXBean);
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
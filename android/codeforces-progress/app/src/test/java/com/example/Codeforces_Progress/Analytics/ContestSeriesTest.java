@@ -0,0 +1,79 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class ContestSeriesTest {
+
+    @Test
+    public void groupsSolvesByContestInSolveOrder() {
+        // contest ids past the old 2000 slot limit, gym contests are above 100000
+        int[] contestIds = {1900, 102000, 1900, 4, 2500, 102000, 1900};
+        int[] ratings = {1400, 2100, 1600, 800, 1900, 2000, 1200};
+
+        ContestSeries series = new ContestSeries(contestIds, ratings, contestIds.length);
+
+        assertEquals(4, series.size());
+        assertEquals(4, series.getContestId(0));
+        assertEquals(1900, series.getContestId(1));
+        assertEquals(2500, series.getContestId(2));
+        assertEquals(102000, series.getContestId(3));
+
+        assertEquals(3, series.getSolveCount(1));
+        assertEquals(1400, series.getRating(1, 0));
+        assertEquals(1600, series.getRating(1, 1));
+        assertEquals(1200, series.getRating(1, 2));
+        assertEquals(2, series.getSolveCount(3));
+        assertEquals(2100, series.getRating(3, 0));
+        assertEquals(2000, series.getRating(3, 1));
+
+        assertEquals(3, series.indexOf(102000));
+        assertEquals(-1, series.indexOf(2000));
+    }
+
+    @Test
+    public void of_hasOneSeriesPerDistinctContest() {
+        SubmissionColumns submissions = ProgressEngineTest.syntheticHistory(20000, 9);
+        ProgressResult progress = new ProgressEngine().compute(submissions);
+
+        ContestSeries series = ContestSeries.of(progress);
+
+        // the same grouping done with boxed collections
+        Map<Integer, List<Integer>> expected = new TreeMap<>();
+        for (int k = 0; k < progress.getContestSolveCount(); k++) {
+            List<Integer> contestRatings = expected.get(progress.getContestSolveId(k));
+            if (contestRatings == null) {
+                contestRatings = new ArrayList<>();
+                expected.put(progress.getContestSolveId(k), contestRatings);
+            }
+            contestRatings.add(progress.getContestSolveRating(k));
+        }
+
+        assertEquals(expected.size(), series.size());
+        int c = 0;
+        for (Map.Entry<Integer, List<Integer>> contest : expected.entrySet()) {
+            assertEquals((int) contest.getKey(), series.getContestId(c));
+            assertEquals(contest.getValue().size(), series.getSolveCount(c));
+            for (int k = 0; k < series.getSolveCount(c); k++) {
+                assertEquals((int) contest.getValue().get(k), series.getRating(c, k));
+            }
+            c++;
+        }
+    }
+
+    @Test
+    public void emptyHistory() {
+        ContestSeries series = ContestSeries.of(new ProgressEngine().compute(new SubmissionColumns()));
+
+        assertEquals(0, series.size());
+        assertEquals(-1, series.indexOf(1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.Benchmark;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * Times sampling the solved problem scatter and preparing the sampled points for the chart.
+ */
+@Category(Benchmark.class)
+public class DownsamplerBenchmark {
+
+    // a frame at 60 fps
+    private static final long FRAME_NANOS = 16000000;
+
+    @Test
+    public void samplingA100kScatterTakesLessThanAFrame() {
+        int n = 100000;
+        int[] ys = DownsamplerTest.randomRatings(n, n);
+        int[] out = new int[n];
+        // x, y pairs like the buffers the chart fills for every point it is handed
+        float[] points = new float[2 * n];
+
+        for (int i = 0; i < 200; i++) {
+            prepare(ys, Downsampler.lttb(ys, 0, n, DownsamplerTest.THRESHOLD, out), out, points);
+        }
+
+        int runs = 200;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            prepare(ys, Downsampler.lttb(ys, 0, n, DownsamplerTest.THRESHOLD, out), out, points);
+        }
+        long sampledNanos = (System.nanoTime() - start) / runs;
+
+        assertTrue("sampled and prepared in " + sampledNanos / 1000 + " us", sampledNanos < FRAME_NANOS);
+    }
+
+    private static void prepare(int[] ys, int count, int[] positions, float[] points) {
+        for (int i = 0; i < count; i++) {
+            points[2 * i] = positions[i];
+            points[2 * i + 1] = ys[positions[i]];
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DownsamplerTest {
+
+    // about three screens of a 1080 pixel wide chart, what a zoomed in scatter samples
+    static final int THRESHOLD = 3 * 1080;
+
+    @Test
+    public void keepsFirstAndLastAndIncreasingPositions() {
+        int[] ys = randomRatings(10000, 3);
+        int[] out = new int[ys.length];
+
+        int count = Downsampler.lttb(ys, 0, ys.length, 500, out);
+
+        assertEquals(500, count);
+        assertEquals(0, out[0]);
+        assertEquals(ys.length - 1, out[count - 1]);
+        for (int i = 1; i < count; i++) {
+            assertTrue(out[i] > out[i - 1]);
+        }
+    }
+
+    @Test
+    public void keepsAnIsolatedPeak() {
+        int[] ys = new int[5000];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = 1200;
+        }
+        ys[3210] = 3500;
+        int[] out = new int[ys.length];
+
+        int count = Downsampler.lttb(ys, 0, ys.length, 100, out);
+
+        boolean kept = false;
+        for (int i = 0; i < count; i++) {
+            kept |= out[i] == 3210;
+        }
+        assertTrue(kept);
+    }
+
+    @Test
+    public void keepsEveryPointOfASmallRange() {
+        int[] ys = randomRatings(1000, 5);
+        int[] out = new int[ys.length];
+
+        int count = Downsampler.lttb(ys, 200, 260, 100, out);
+
+        assertEquals(60, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(200 + i, out[i]);
+        }
+        assertEquals(0, Downsampler.lttb(ys, 10, 10, 100, out));
+    }
+
+    @Test
+    public void samplesARangeInsideIt() {
+        int[] ys = randomRatings(20000, 7);
+        int[] out = new int[ys.length];
+
+        int count = Downsampler.lttb(ys, 5000, 15000, 1000, out);
+
+        assertEquals(1000, count);
+        assertEquals(5000, out[0]);
+        assertEquals(14999, out[count - 1]);
+    }
+
+    @Test
+    public void boundsThePointsOfALargeScatter() {
+        for (int n : new int[]{1000, 10000, 100000}) {
+            int[] ys = randomRatings(n, n);
+            int[] out = new int[n];
+
+            assertEquals(Math.min(n, THRESHOLD), Downsampler.lttb(ys, 0, n, THRESHOLD, out));
+        }
+    }
+
+    static int[] randomRatings(int n, long seed) {
+        Random random = new Random(seed);
+        int[] ys = new int[n];
+        for (int i = 0; i < n; i++) {
+            ys[i] = 800 + 100 * random.nextInt(28);
+        }
+        return ys;
+    }
+}
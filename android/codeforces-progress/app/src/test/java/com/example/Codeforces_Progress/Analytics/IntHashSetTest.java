@@ -0,0 +1,58 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntHashSetTest {
+
+    @Test
+    public void add_reportsOnlyNewKeys() {
+        IntHashSet set = new IntHashSet();
+
+        assertTrue(set.add(7));
+        assertFalse(set.add(7));
+        assertTrue(set.add(0));
+        assertTrue(set.add(-3));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(-3));
+        assertFalse(set.contains(8));
+    }
+
+    @Test
+    public void growsAndMatchesHashSet() {
+        IntHashSet set = new IntHashSet(4);
+        HashSet<Integer> expected = new HashSet<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(20000);
+            assertEquals(expected.add(key), set.add(key));
+        }
+
+        assertEquals(expected.size(), set.size());
+        int[] keys = set.toArray();
+        Arrays.sort(keys);
+        assertEquals(expected.size(), keys.length);
+        for (int key : keys) {
+            assertTrue(expected.contains(key));
+        }
+    }
+
+    @Test
+    public void clear_removesEverything() {
+        IntHashSet set = new IntHashSet();
+        set.add(1);
+        set.add(2);
+
+        set.clear();
+
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.Benchmark;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static com.example.Codeforces_Progress.Allocations.allocatedBytes;
+import static org.junit.Assert.*;
+
+/**
+ * Measures {@link ProgressEngine} over 100k synthetic submissions, against the loop it replaced
+ * and against folding only the new submissions into a snapshot.
+ */
+@Category(Benchmark.class)
+public class ProgressEngineBenchmark {
+
+    private static final int LARGE_HISTORY = 100000;
+
+    private final ProgressEngine engine = new ProgressEngine();
+
+    @Test
+    public void foldingNewSubmissionsIsFasterThanComputingFromScratch() {
+        SubmissionColumns all = ProgressEngineTest.syntheticHistory(LARGE_HISTORY, 11);
+        int newCount = 20;
+        ProgressResult snapshot = ProgressResult.fromBytes(engine.compute(ProgressEngineTest.rows(all, newCount, all.size())).toBytes());
+        SubmissionColumns newSubmissions = ProgressEngineTest.rows(all, 0, newCount);
+
+        for (int i = 0; i < 20; i++) {
+            engine.compute(all);
+            engine.fold(snapshot, newSubmissions);
+        }
+
+        int runs = 50;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            engine.fold(snapshot, newSubmissions);
+        }
+        long foldNanos = (System.nanoTime() - start) / runs;
+
+        start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            engine.compute(all);
+        }
+        long computeNanos = (System.nanoTime() - start) / runs;
+
+        assertTrue("folding " + foldNanos / 1000 + " us/op, computing from scratch " + computeNanos / 1000 + " us/op",
+                foldNanos < computeNanos);
+    }
+
+    @Test
+    public void computeAllocatesLessThanTheHashSetLoop() {
+        SubmissionColumns submissions = ProgressEngineTest.syntheticHistory(LARGE_HISTORY, 7);
+
+        for (int i = 0; i < 20; i++) {
+            engine.compute(submissions);
+            new ProgressEngineTest.Reference(submissions);
+        }
+
+        int runs = 50;
+        long before = allocatedBytes();
+        for (int i = 0; i < runs; i++) {
+            engine.compute(submissions);
+        }
+        long engineBytes = (allocatedBytes() - before) / runs;
+
+        before = allocatedBytes();
+        for (int i = 0; i < runs; i++) {
+            new ProgressEngineTest.Reference(submissions);
+        }
+        long referenceBytes = (allocatedBytes() - before) / runs;
+
+        assertTrue("ProgressEngine allocates " + engineBytes / 1024 + " KB, the HashSet<String> loop " + referenceBytes / 1024 + " KB",
+                engineBytes < referenceBytes);
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ProgressEngineTest {
+
+    private static final int LARGE_HISTORY = 100000;
+    private static final long DAY = 86400;
+
+    private final ProgressEngine engine = new ProgressEngine();
+
+    @Test
+    public void compute_dedupsSolvedProblemsAndSkipsUnratedOnes() {
+        SubmissionColumns submissions = new SubmissionColumns();
+        // newest first, like user.status
+        submissions.add(5, 3, 5 * DAY, "A", "Same", 1200, "PRACTICE", "OK");
+        submissions.add(4, 2, 4 * DAY, "C", "Unrated", SubmissionColumns.NO_RATING, "CONTESTANT", "OK");
+        submissions.add(3, 2, 3 * DAY, "B", "Hard", 3600, "CONTESTANT", "OK");
+        submissions.add(2, 1, 2 * DAY, "A", "Same", 1200, "CONTESTANT", "OK");
+        submissions.add(1, 1, DAY, "A", "Same", 1200, "CONTESTANT", "WRONG_ANSWER");
+
+        ProgressResult result = engine.compute(submissions);
+
+        assertEquals(1, result.getSolvedCount());
+        assertEquals(1200, result.getSolvedRating(0));
+        assertEquals(1, result.getBucketCount(ProgressResult.bucketOf(1200)));
+        assertEquals(1, result.getContestSolveCount());
+        assertEquals(1, result.getContestSolveId(0));
+        assertEquals("Same", result.getLastAcceptedName());
+        assertEquals(1200, result.getLastAcceptedRating());
+        assertEquals(5 * DAY, result.getLastAcceptedTimeSeconds());
+    }
+
+    @Test
+    public void compute_appliesDailyPenalty() {
+        SubmissionColumns submissions = new SubmissionColumns();
+        submissions.add(2, 1, 11 * DAY, "B", "Second", 1600, "PRACTICE", "OK");
+        submissions.add(1, 1, DAY, "A", "First", 800, "PRACTICE", "OK");
+
+        ProgressResult result = engine.compute(submissions);
+
+        // the first solve has no penalty, the second one is 10 days later
+        long expected = 800;
+        expected += (1600 - 1600 * ProgressEngine.penalty(1600) * 10);
+        assertEquals(expected, result.getCurrentValue());
+        assertEquals(expected / 35 / 2, result.getUserScore());
+    }
+
+    @Test
+    public void compute_emptyHistory() {
+        ProgressResult result = engine.compute(new SubmissionColumns());
+
+        assertEquals(0, result.getSolvedCount());
+        assertEquals(0, result.getUserScore());
+        assertEquals(0, result.getContestSolveCount());
+        assertNull(result.getLastAcceptedName());
+    }
+
+    @Test
+    public void snapshot_readsBackTheSameResult() {
+        ProgressResult result = engine.compute(syntheticHistory(5000, 3));
+
+        ProgressResult read = ProgressResult.fromBytes(result.toBytes());
+
+        assertNotNull(read);
+        assertSameResult(result, read);
+    }
+
+    @Test
+    public void snapshot_damagedBytesAreNotRead() {
+        byte[] snapshot = engine.compute(syntheticHistory(100, 5)).toBytes();
+
+        assertNull(ProgressResult.fromBytes(new byte[]{0, 0, 0, 0}));
+        assertNull(ProgressResult.fromBytes(Arrays.copyOf(snapshot, snapshot.length / 2)));
+        assertNotNull(ProgressResult.fromBytes(engine.compute(new SubmissionColumns()).toBytes()));
+    }
+
+    @Test
+    public void compute_matchesPreviousAlgorithmOn100kSubmissions() {
+        SubmissionColumns submissions = syntheticHistory(LARGE_HISTORY, 42);
+
+        ProgressResult result = engine.compute(submissions);
+        Reference reference = new Reference(submissions);
+
+        assertEquals(reference.solvedRatings.size(), result.getSolvedCount());
+        for (int k = 0; k < result.getSolvedCount(); k++) {
+            assertEquals((int) reference.solvedRatings.get(k), result.getSolvedRating(k));
+        }
+        assertEquals(reference.contestIds.size(), result.getContestSolveCount());
+        for (int k = 0; k < result.getContestSolveCount(); k++) {
+            assertEquals((int) reference.contestIds.get(k), result.getContestSolveId(k));
+        }
+        assertEquals(reference.currentValue, result.getCurrentValue());
+        assertEquals(reference.userScore, result.getUserScore());
+    }
+
+    @Test
+    public void fold_inStoredChunksMatchesComputingFromScratch() {
+        for (long seed = 1; seed <= 5; seed++) {
+            SubmissionColumns all = syntheticHistory(20000, seed);
+            ProgressResult fromScratch = engine.compute(all);
+
+            // folding the history oldest chunk first, every snapshot goes through the store
+            Random random = new Random(seed);
+            ProgressResult snapshot = ProgressResult.fromBytes(engine.compute(new SubmissionColumns()).toBytes());
+            int to = all.size();
+            while (to > 0) {
+                int from = Math.max(0, to - 1 - random.nextInt(random.nextBoolean() ? 10 : 3000));
+                ProgressResult folded = engine.fold(snapshot, rows(all, from, to));
+                assertNotNull(folded);
+                snapshot = ProgressResult.fromBytes(folded.toBytes());
+                to = from;
+            }
+
+            assertSameResult(fromScratch, snapshot);
+        }
+    }
+
+    @Test
+    public void fold_skipsSeenSubmissionsUnlessTheyWereAcceptedSince() {
+        SubmissionColumns before = new SubmissionColumns();
+        before.add(3, 2, 3 * DAY, "B", "Judged late", 1500, "CONTESTANT", "TESTING");
+        before.add(2, 1, 2 * DAY, "A", "First", 800, "PRACTICE", "OK");
+        ProgressResult snapshot = engine.compute(before);
+        assertEquals(3, snapshot.getLastSubmissionId());
+
+        // a sync fetches again from the submission that was being judged
+        SubmissionColumns rejected = new SubmissionColumns();
+        rejected.add(4, 2, 4 * DAY, "C", "Next", 1600, "CONTESTANT", "OK");
+        rejected.add(3, 2, 3 * DAY, "B", "Judged late", 1500, "CONTESTANT", "WRONG_ANSWER");
+        SubmissionColumns all = new SubmissionColumns();
+        all.add(rejected, 0);
+        all.add(rejected, 1);
+        all.add(before, 1);
+        assertSameResult(engine.compute(all), engine.fold(snapshot, rejected));
+
+        SubmissionColumns accepted = new SubmissionColumns();
+        accepted.add(4, 2, 4 * DAY, "C", "Next", 1600, "CONTESTANT", "OK");
+        accepted.add(3, 2, 3 * DAY, "B", "Judged late", 1500, "CONTESTANT", "OK");
+        assertNull(engine.fold(snapshot, accepted));
+    }
+
+    @Test
+    public void fold_newSubmissionsInto100kSnapshotMatchesComputingFromScratch() {
+        SubmissionColumns all = syntheticHistory(LARGE_HISTORY, 11);
+        ProgressResult snapshot = ProgressResult.fromBytes(engine.compute(rows(all, 20, all.size())).toBytes());
+
+        assertSameResult(engine.compute(all), engine.fold(snapshot, rows(all, 0, 20)));
+    }
+
+    // rows [from, to) of the submissions, in the same order
+    static SubmissionColumns rows(SubmissionColumns submissions, int from, int to) {
+        SubmissionColumns rows = new SubmissionColumns(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(submissions, i);
+        }
+        return rows;
+    }
+
+    private static void assertSameResult(ProgressResult expected, ProgressResult actual) {
+        assertEquals(expected.getSolvedCount(), actual.getSolvedCount());
+        for (int k = 0; k < expected.getSolvedCount(); k++) {
+            assertEquals(expected.getSolvedRating(k), actual.getSolvedRating(k));
+        }
+        for (int bucket = 0; bucket < ProgressEngine.BUCKETS; bucket++) {
+            assertEquals(expected.getBucketCount(bucket), actual.getBucketCount(bucket));
+        }
+        assertEquals(expected.getContestSolveCount(), actual.getContestSolveCount());
+        for (int k = 0; k < expected.getContestSolveCount(); k++) {
+            assertEquals(expected.getContestSolveId(k), actual.getContestSolveId(k));
+            assertEquals(expected.getContestSolveRating(k), actual.getContestSolveRating(k));
+        }
+        assertEquals(expected.getMinContestId(), actual.getMinContestId());
+        assertEquals(expected.getMaxContestId(), actual.getMaxContestId());
+        assertEquals(expected.getCurrentValue(), actual.getCurrentValue());
+        assertEquals(expected.getUserScore(), actual.getUserScore());
+        assertEquals(expected.getLastAcceptedName(), actual.getLastAcceptedName());
+        assertEquals(expected.getLastAcceptedRating(), actual.getLastAcceptedRating());
+        assertEquals(expected.getLastAcceptedTimeSeconds(), actual.getLastAcceptedTimeSeconds());
+        assertEquals(expected.getLastSubmissionId(), actual.getLastSubmissionId());
+        assertEquals(expected.lastSolveTime, actual.lastSolveTime);
+        assertArrayEquals(expected.solvedNames, actual.solvedNames);
+    }
+
+    // random history, newest submission first
+    static SubmissionColumns syntheticHistory(int count, long seed) {
+        Random random = new Random(seed);
+        String[] verdicts = {"OK", "WRONG_ANSWER", "TIME_LIMIT_EXCEEDED", "OK"};
+        String[] participantTypes = {"CONTESTANT", "PRACTICE", "VIRTUAL"};
+        SubmissionColumns submissions = new SubmissionColumns(count);
+        long time = 1600000000L + count * 3600L;
+        for (int i = 0; i < count; i++) {
+            int contestId = 1 + random.nextInt(2500);
+            char index = (char) ('A' + random.nextInt(6));
+            int rating = random.nextInt(10) == 0 ? SubmissionColumns.NO_RATING : 800 + 100 * random.nextInt(28);
+            time -= random.nextInt(3 * 86400);
+            submissions.add(count - i, contestId, time, String.valueOf(index), "Problem " + contestId + index, rating,
+                    participantTypes[random.nextInt(participantTypes.length)], verdicts[random.nextInt(verdicts.length)]);
+        }
+        return submissions;
+    }
+
+    // the loop DataActivity used before ProgressEngine, kept to compare results
+    static class Reference {
+        final List<Integer> solvedRatings = new ArrayList<>();
+        final List<Integer> contestIds = new ArrayList<>();
+        long currentValue, userScore;
+
+        Reference(SubmissionColumns results) {
+            HashSet<String> solvedProblems = new HashSet<>();
+            boolean firstTime = true;
+            long prevSubmissionTime = 0, diff = 0;
+            int x = 0;
+            for (int i = results.size() - 1; i >= 0; i--) {
+                if (results.getVerdict(i).equals("OK")) {
+                    int y = results.getRating(i);
+                    String problemName = results.getProblemName(i);
+                    if (y >= 800 && y <= 3500 && !solvedProblems.contains(problemName)) {
+                        solvedRatings.add(y);
+                        solvedProblems.add(problemName);
+                        x++;
+                        if (firstTime) {
+                            prevSubmissionTime = results.getCreationTimeSeconds(i);
+                            firstTime = false;
+                        } else {
+                            diff = (results.getCreationTimeSeconds(i) - prevSubmissionTime) / 86400;
+                            prevSubmissionTime = results.getCreationTimeSeconds(i);
+                        }
+                        Double penalty;
+                        if (y < 2500) {
+                            penalty = (Math.sqrt(2500 - y) + 1) * 0.005;
+                        } else {
+                            penalty = ((y / 6000 - 0.6) * (y / 6000 - 0.6)) + 0.01;
+                        }
+                        currentValue += (y - y * penalty * diff);
+                        if (results.getParticipantType(i).equals("CONTESTANT")) {
+                            contestIds.add(results.getContestId(i));
+                        }
+                    }
+                }
+            }
+            if (x > 0) {
+                userScore = currentValue / 35 / x;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RatingProgressTest {
+
+    @Test
+    public void meanOfTheLastWindowOfSolves() {
+        int[] ratings = new int[RatingProgress.WINDOW + 10];
+        for (int k = 0; k < ratings.length; k++) {
+            ratings[k] = 800 + 100 * (k % 5);
+        }
+
+        RatingProgress ratingProgress = new RatingProgress(ratings, ratings.length);
+
+        assertEquals(ratings.length, ratingProgress.size());
+        for (int k = 0; k < ratings.length; k++) {
+            long sum = 0;
+            int from = Math.max(0, k - RatingProgress.WINDOW + 1);
+            for (int j = from; j <= k; j++) {
+                sum += ratings[j];
+            }
+            assertEquals((int) (sum / (k - from + 1)), ratingProgress.getMean(k));
+        }
+    }
+
+    @Test
+    public void of_hasOnePointPerSolve() {
+        SubmissionColumns submissions = ProgressEngineTest.syntheticHistory(20000, 13);
+        ProgressResult progress = new ProgressEngine().compute(submissions);
+
+        RatingProgress ratingProgress = RatingProgress.of(progress);
+        int[] sampled = new int[ratingProgress.size()];
+        int count = ratingProgress.sample(500, sampled);
+
+        assertEquals(progress.getSolvedCount(), ratingProgress.size());
+        assertEquals(progress.getSolvedRating(0), ratingProgress.getMean(0));
+        assertEquals(Math.min(500, ratingProgress.size()), count);
+        assertEquals(ratingProgress.size() - 1, sampled[count - 1]);
+    }
+}
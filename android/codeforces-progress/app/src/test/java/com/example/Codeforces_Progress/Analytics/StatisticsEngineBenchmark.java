@@ -0,0 +1,40 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.Benchmark;
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static com.example.Codeforces_Progress.Allocations.allocatedBytes;
+import static org.junit.Assert.*;
+
+/**
+ * Measures what {@link StatisticsEngine} allocates over 100k synthetic submissions.
+ */
+@Category(Benchmark.class)
+public class StatisticsEngineBenchmark {
+
+    private static final int LARGE_HISTORY = 100000;
+
+    private final StatisticsEngine engine = new StatisticsEngine();
+
+    @Test
+    public void computeAllocatesLessThanALongPerSubmission() {
+        SubmissionColumns submissions = ProgressEngineTest.syntheticHistory(LARGE_HISTORY, 7);
+
+        for (int i = 0; i < 20; i++) {
+            engine.compute(submissions, 0);
+        }
+
+        int runs = 50;
+        long before = allocatedBytes();
+        for (int i = 0; i < runs; i++) {
+            engine.compute(submissions, 0);
+        }
+        long bytes = (allocatedBytes() - before) / runs;
+
+        assertTrue("computing " + LARGE_HISTORY + " submissions allocates " + bytes / 1024 + " KB",
+                bytes < 8L * LARGE_HISTORY);
+    }
+}
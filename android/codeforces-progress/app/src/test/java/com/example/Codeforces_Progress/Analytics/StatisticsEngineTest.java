@@ -0,0 +1,143 @@
+package com.example.Codeforces_Progress.Analytics;
+
+import com.example.Codeforces_Progress.UserStatusClasses.SubmissionColumns;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class StatisticsEngineTest {
+
+    private static final long DAY = StatisticsEngine.SECONDS_PER_DAY;
+    // midnight UTC
+    private static final long START = 1600041600L;
+
+    private final StatisticsEngine engine = new StatisticsEngine();
+
+    @Test
+    public void countsSolvesTagsAndVerdictsOfFirstAcceptedSubmissions() {
+        SubmissionColumns submissions = new SubmissionColumns();
+        long dp = submissions.getTagMask("dp"), greedy = submissions.getTagMask("greedy"), math = submissions.getTagMask("math");
+        // newest first like user.status
+        submissions.add(7, 4, START + 3 * DAY, "A", "Watermelon", 800, "PRACTICE", "OK", math);
+        submissions.add(6, 5, START + 2 * DAY + 100, "B", "Frog", 1500, "PRACTICE", null, dp);
+        submissions.add(5, 5, START + 2 * DAY, "A", "Coins", SubmissionColumns.NO_RATING, "PRACTICE", "OK", greedy | math);
+        submissions.add(4, 3, START + DAY + 700, "C", "Knapsack", 2100, "CONTESTANT", "OK", dp);
+        submissions.add(3, 3, START + DAY + 600, "C", "Knapsack", 2100, "CONTESTANT", "WRONG_ANSWER", dp);
+        submissions.add(2, 3, START + DAY, "C", "Knapsack", 2100, "CONTESTANT", "TIME_LIMIT_EXCEEDED", dp);
+        submissions.add(1, 3, START, "A", "Watermelon", 800, "CONTESTANT", "OK", math);
+
+        StatisticsResult statistics = engine.compute(submissions, 0);
+
+        // Watermelon is solved once, the second accepted submission only counts as a verdict
+        assertEquals(3, statistics.getSolvedCount());
+        assertEquals("Watermelon", statistics.getSolvedName(0));
+        assertEquals("Knapsack", statistics.getSolvedName(1));
+        assertEquals("Coins", statistics.getSolvedName(2));
+        assertEquals(1, statistics.getAttemptsToAccepted(0));
+        assertEquals(3, statistics.getAttemptsToAccepted(1));
+        assertEquals(700, statistics.getSecondsToAccepted(1));
+        assertEquals(0, statistics.getSecondsToAccepted(2));
+        assertEquals(2, statistics.getFirstTrySolvedCount());
+
+        assertEquals(3, statistics.getTagCount());
+        assertEquals("dp", statistics.getTagName(0));
+        assertEquals(1, statistics.getTagSolvedCount(0));
+        assertEquals(1, statistics.getTagSolvedCount(1));
+        assertEquals(2, statistics.getTagSolvedCount(2));
+
+        assertEquals(1, statistics.getRatingHistogramCount(ProgressResult.bucketOf(800)));
+        assertEquals(1, statistics.getRatingHistogramCount(ProgressResult.bucketOf(2100)));
+        assertEquals(1, statistics.getUnratedSolvedCount());
+
+        assertEquals(4, statistics.getVerdictCount(verdict("OK")));
+        assertEquals(1, statistics.getVerdictCount(verdict("WRONG_ANSWER")));
+        assertEquals(1, statistics.getVerdictCount(verdict("TIME_LIMIT_EXCEEDED")));
+        assertEquals(1, statistics.getVerdictCount(verdict("TESTING")));
+        assertEquals(0, statistics.getVerdictCount(StatisticsEngine.OTHER_VERDICT));
+
+        // solves on the first three days, the later Watermelon isn't a solve
+        assertEquals(3, statistics.getActiveDays());
+        assertEquals(3, statistics.getLongestStreak());
+        assertEquals(3, statistics.getCurrentStreak(START + 3 * DAY + 5));
+        assertEquals(0, statistics.getCurrentStreak(START + 4 * DAY));
+    }
+
+    @Test
+    public void streaksFollowTheLocalDay() {
+        SubmissionColumns submissions = new SubmissionColumns();
+        // 23:00 and 01:00 UTC, the same day two hours east of UTC
+        submissions.add(2, 1, START + DAY + 3600, "B", "Second", 800, "PRACTICE", "OK");
+        submissions.add(1, 1, START + DAY - 3600, "A", "First", 800, "PRACTICE", "OK");
+
+        assertEquals(2, engine.compute(submissions, 0).getLongestStreak());
+        assertEquals(1, engine.compute(submissions, 2 * 3600).getActiveDays());
+        assertEquals(1, engine.compute(submissions, 2 * 3600).getLongestStreak());
+    }
+
+    @Test
+    public void syntheticHistory_matchesBoxedReference() {
+        SubmissionColumns submissions = ProgressEngineTest.syntheticHistory(20000, 3);
+
+        StatisticsResult statistics = engine.compute(submissions, 0);
+
+        // the same counts kept in boxed collections
+        Map<String, Integer> verdicts = new HashMap<>();
+        Map<String, Integer> attempts = new HashMap<>();
+        HashSet<String> solved = new HashSet<>();
+        HashSet<Long> days = new HashSet<>();
+        int solvedCount = 0, firstTry = 0, unrated = 0;
+        for (int i = submissions.size() - 1; i >= 0; i--) {
+            String verdict = submissions.getVerdict(i);
+            verdicts.put(verdict, verdicts.containsKey(verdict) ? verdicts.get(verdict) + 1 : 1);
+            String name = submissions.getProblemName(i);
+            if (solved.contains(name)) {
+                continue;
+            }
+            int tries = attempts.containsKey(name) ? attempts.get(name) + 1 : 1;
+            attempts.put(name, tries);
+            if (submissions.isAccepted(i)) {
+                solved.add(name);
+                assertEquals(name, statistics.getSolvedName(solvedCount));
+                assertEquals(tries, statistics.getAttemptsToAccepted(solvedCount));
+                solvedCount++;
+                firstTry += tries == 1 ? 1 : 0;
+                unrated += submissions.getRating(i) == SubmissionColumns.NO_RATING ? 1 : 0;
+                days.add(submissions.getCreationTimeSeconds(i) / DAY);
+            }
+        }
+
+        assertEquals(solvedCount, statistics.getSolvedCount());
+        assertEquals(firstTry, statistics.getFirstTrySolvedCount());
+        assertEquals(unrated, statistics.getUnratedSolvedCount());
+        assertEquals(days.size(), statistics.getActiveDays());
+        for (Map.Entry<String, Integer> verdict : verdicts.entrySet()) {
+            assertEquals((int) verdict.getValue(), statistics.getVerdictCount(verdict(verdict.getKey())));
+        }
+        int histogramTotal = 0;
+        for (int bucket = 0; bucket < ProgressEngine.BUCKETS; bucket++) {
+            histogramTotal += statistics.getRatingHistogramCount(bucket);
+        }
+        assertEquals(solvedCount - unrated, histogramTotal);
+    }
+
+    @Test
+    public void emptyHistory() {
+        StatisticsResult statistics = engine.compute(new SubmissionColumns(), 0);
+
+        assertEquals(0, statistics.getSolvedCount());
+        assertEquals(0, statistics.getTagCount());
+        assertEquals(0, statistics.getLongestStreak());
+        assertEquals(0, statistics.getCurrentStreak(START));
+    }
+
+    private static int verdict(String verdict) {
+        int index = Arrays.asList(StatisticsEngine.VERDICTS).indexOf(verdict);
+        return index != -1 ? index : StatisticsEngine.OTHER_VERDICT;
+    }
+}
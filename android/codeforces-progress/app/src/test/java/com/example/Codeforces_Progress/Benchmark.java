@@ -0,0 +1,8 @@
+package com.example.Codeforces_Progress;
+
+/**
+ * JUnit category of the tests measuring time or heap, whose results depend on the machine.
+ * The unit tests leave them out, they run with {@code ./gradlew testDebugUnitTest -Pbenchmarks}.
+ */
+public interface Benchmark {
+}
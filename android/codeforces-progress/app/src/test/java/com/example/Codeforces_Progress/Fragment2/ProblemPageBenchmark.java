@@ -0,0 +1,49 @@
+package com.example.Codeforces_Progress.Fragment2;
+
+import com.example.Codeforces_Progress.Benchmark;
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static com.example.Codeforces_Progress.Allocations.allocatedBytes;
+import static org.junit.Assert.*;
+
+/**
+ * Measures what a bind allocates while scrolling, against building the text at bind time as the adapter used to.
+ */
+@Category(Benchmark.class)
+public class ProblemPageBenchmark {
+
+    private static final int LEVEL_COUNT = 28;
+    private static final int BINDS = 200000;
+
+    @Test
+    public void bindingAPageAllocatesNothing() {
+        ProblemCatalog catalog = new ProblemCatalog(ProblemPageTest.pageOfProblems());
+        ProblemPage page = new ProblemPage(catalog, LEVEL_COUNT);
+        ProblemPageTest.RowViews views = new ProblemPageTest.RowViews();
+
+        // warming up both paths before measuring
+        for (int i = 0; i < BINDS; i++) {
+            ProblemPageTest.bindPage(page, i % page.size(), views);
+            ProblemPageTest.bindAtBindTime(catalog, i % catalog.size(), views);
+        }
+
+        long bytes = allocatedBytes();
+        for (int i = 0; i < BINDS; i++) {
+            ProblemPageTest.bindPage(page, i % page.size(), views);
+        }
+        long pageBytes = allocatedBytes() - bytes;
+
+        bytes = allocatedBytes();
+        for (int i = 0; i < BINDS; i++) {
+            ProblemPageTest.bindAtBindTime(catalog, i % catalog.size(), views);
+        }
+        long bindTimeBytes = allocatedBytes() - bytes;
+
+        // the counter itself may allocate a few bytes, never one per bind
+        assertTrue("a page bind allocates " + pageBytes / BINDS + " bytes", pageBytes < BINDS);
+        assertTrue("building at bind time allocates " + bindTimeBytes / BINDS + " bytes", bindTimeBytes > pageBytes);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Codeforces_Progress.Fragment2;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+import com.example.Codeforces_Progress.ProblemSetClasses.Problems;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the text built for a page against building it at bind time as the adapter used to.
+ */
+public class ProblemPageTest {
+
+    private static final int LEVEL_COUNT = 28;
+
+    @Test
+    public void page_buildsTheShownText() {
+        ProblemPage page = new ProblemPage(new ProblemCatalog(Arrays.asList(
+                new Problems(4, "A", "Watermelon", 800, new ArrayList<>(Arrays.asList("brute force", "math"))),
+                new Problems(1500, "F2", "Cycle (hard)", null, new ArrayList<String>()),
+                new Problems(1, "A", "Theatre Square", 1950, new ArrayList<>(Arrays.asList("math"))),
+                new Problems(2, "B", "Too Hard", 3800, new ArrayList<String>()))), LEVEL_COUNT);
+
+        assertEquals(4, page.size());
+        assertEquals("4A: Watermelon", page.getLabel(0).toString());
+        assertEquals("R-800", page.getRatingLabel(0).toString());
+        assertEquals("R-null", page.getRatingLabel(1).toString());
+        assertEquals("brute force, math", page.getTagsLabel(0).toString());
+        assertEquals("", page.getTagsLabel(1).toString());
+        assertEquals(0, page.getRatingLevel(0));
+        assertEquals(ProblemPage.NO_LEVEL, page.getRatingLevel(1));
+        assertEquals(11, page.getRatingLevel(2));
+        assertEquals(LEVEL_COUNT - 1, page.getRatingLevel(3));
+        assertEquals("https://codeforces.com/problemset/problem/1500/F2?mobile=true", page.getUrl(1));
+    }
+
+    @Test
+    public void page_showsTheTextBuiltAtBindTime() {
+        ProblemCatalog catalog = new ProblemCatalog(pageOfProblems());
+        ProblemPage page = new ProblemPage(catalog, LEVEL_COUNT);
+        RowViews pageViews = new RowViews();
+        RowViews bindTimeViews = new RowViews();
+
+        for (int i = 0; i < page.size(); i++) {
+            bindPage(page, i, pageViews);
+            bindAtBindTime(catalog, i, bindTimeViews);
+            assertEquals(bindTimeViews.name.toString(), pageViews.name.toString());
+            assertEquals(bindTimeViews.rating.toString(), pageViews.rating.toString());
+            assertEquals(bindTimeViews.tags.toString(), pageViews.tags.toString());
+        }
+    }
+
+    static List<Problems> pageOfProblems() {
+        List<Problems> problems = new ArrayList<>();
+        for (int i = 0; i < ProblemPager.PAGE_SIZE; i++) {
+            problems.add(new Problems(2000 - i, "C", "Problem number " + i, i % 5 == 0 ? null : 800 + 100 * (i % 28),
+                    new ArrayList<>(Arrays.asList("dp", "greedy", "math"))));
+        }
+        return problems;
+    }
+
+    // what onBindViewHolder does with a page
+    static void bindPage(ProblemPage page, int i, RowViews views) {
+        views.name = page.getLabel(i);
+        views.rating = page.getRatingLabel(i);
+        views.level = page.getRatingLevel(i);
+        views.tags = page.getTagsLabel(i);
+    }
+
+    // what onBindViewHolder did before: the text was built for every bind
+    static void bindAtBindTime(ProblemCatalog catalog, int i, RowViews views) {
+        int rating = catalog.getRating(i);
+        views.name = catalog.getLabel(i);
+        views.rating = rating == ProblemCatalog.NO_RATING ? "R-null" : "R-" + rating;
+        views.level = rating;
+        views.tags = catalog.getTagsLabel(i);
+    }
+
+    // stands for the TextViews of a row
+    static class RowViews {
+        CharSequence name, rating, tags;
+        int level;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.Codeforces_Progress.Fragment2;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+import com.example.Codeforces_Progress.ProblemSetClasses.Problems;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives the pager over a fake problem table with queued executors, so every read
+ * and every hand back to the UI thread happens when the test runs it.
+ */
+public class ProblemPagerTest {
+
+    private static final int PROBLEM_SET_SIZE = 9000;
+
+    private final QueueExecutor loadExecutor = new QueueExecutor();
+    private final QueueExecutor mainExecutor = new QueueExecutor();
+    private final List<Integer> pagesRead = new ArrayList<>();
+    private final List<int[]> rebound = new ArrayList<>();
+
+    @Test
+    public void getPage_readsOnceAndRebindsTheMissedRows() {
+        ProblemPager pager = pager(allRows());
+
+        assertNull(pager.getPage(0));
+        assertNull(pager.getPage(30));
+        loadExecutor.runAll();
+        // the bound page and the one prefetched for position 30 + PREFETCH_DISTANCE, each read once
+        assertEquals(2, pagesRead.size());
+        assertTrue(pagesRead.contains(0));
+        assertTrue(pagesRead.contains(50));
+
+        mainExecutor.runAll();
+        // the prefetched page wasn't bound yet, its rows aren't rebound
+        assertEquals(1, rebound.size());
+        assertArrayEquals(new int[]{0, 50}, rebound.get(0));
+
+        ProblemPage page = pager.getPage(1);
+        assertNotNull(page);
+        assertEquals("2A: Problem 1", page.getLabel(pager.getIndexInPage(1)));
+        assertNotNull(pager.getPage(60));
+        assertEquals("61A: Problem 60", pager.getPage(60).getLabel(pager.getIndexInPage(60)));
+    }
+
+    @Test
+    public void getPage_keepsAtMostMaxPages() {
+        ProblemPager pager = pager(allRows());
+
+        for (int position = 0; position < PROBLEM_SET_SIZE; position++) {
+            ProblemPage page = pager.getPage(position);
+            // only the first page is waited for, the next ones are prefetched before they're bound
+            assertEquals(position == 0, page == null);
+            loadExecutor.runAll();
+            mainExecutor.runAll();
+            assertTrue(pager.getPageCount() <= ProblemPager.MAX_PAGES);
+        }
+        // scrolling down reads every page once
+        assertEquals(PROBLEM_SET_SIZE / ProblemPager.PAGE_SIZE, pagesRead.size());
+        assertEquals(1, rebound.size());
+    }
+
+    @Test
+    public void getPage_mapsFilteredPositionsToRows() {
+        int[] rows = {3, 120, 121, 4999, 8999};
+        ProblemPager pager = pager(rows);
+
+        assertNull(pager.getPage(2));
+        loadExecutor.runAll();
+        mainExecutor.runAll();
+        assertArrayEquals(new int[]{1, 2}, rebound.get(0));
+        assertEquals("122A: Problem 121", pager.getPage(2).getLabel(pager.getIndexInPage(2)));
+
+        // a new result reuses the pages read for the previous one
+        pager.setRows(new int[]{100, 121});
+        assertNotNull(pager.getPage(1));
+        assertEquals("122A: Problem 121", pager.getPage(1).getLabel(pager.getIndexInPage(1)));
+    }
+
+    @Test
+    public void close_dropsPagesReadAfter() {
+        ProblemPager pager = pager(allRows());
+
+        assertNull(pager.getPage(0));
+        loadExecutor.runAll();
+        pager.close();
+        mainExecutor.runAll();
+
+        assertEquals(0, pager.getPageCount());
+        assertTrue(rebound.isEmpty());
+        assertNull(pager.getPage(0));
+        assertTrue(loadExecutor.tasks.isEmpty());
+    }
+
+    private ProblemPager pager(int[] rows) {
+        ProblemPager pager = new ProblemPager(new ProblemPager.PageSource() {
+            @Override
+            public ProblemPage loadPage(int fromRow, int count) {
+                pagesRead.add(fromRow);
+                List<Problems> problems = new ArrayList<>();
+                for (int row = fromRow; row < Math.min(PROBLEM_SET_SIZE, fromRow + count); row++) {
+                    problems.add(new Problems(row + 1, "A", "Problem " + row, 800, new ArrayList<String>()));
+                }
+                return new ProblemPage(new ProblemCatalog(problems), 28);
+            }
+        }, loadExecutor, mainExecutor);
+        pager.setRows(rows);
+        pager.setPageListener(new ProblemPager.PageListener() {
+            @Override
+            public void onPageLoaded(int fromPosition, int count) {
+                rebound.add(new int[]{fromPosition, count});
+            }
+        });
+        return pager;
+    }
+
+    private static int[] allRows() {
+        int[] rows = new int[PROBLEM_SET_SIZE];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    private static class QueueExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+import com.example.Codeforces_Progress.ProblemSetClasses.Problems;
+import com.example.Codeforces_Progress.ProblemSetClasses.SyntheticProblemSet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the facets of a query against a per problem scan of the same conditions.
+ */
+public class ProblemFilterTest {
+
+
+    @Test
+    public void parse_splitsFacetsFromName() {
+        ProblemQuery query = ProblemQuery.parse("  water 800-1400 #dp #binary_search melon unsolved:Tourist ");
+
+        assertEquals("water melon", query.getText());
+        assertEquals(800, query.getMinRating());
+        assertEquals(1400, query.getMaxRating());
+        assertEquals(Arrays.asList("dp", "binary search"), query.getTags());
+        assertEquals("Tourist", query.getUnsolvedBy());
+        assertNull(query.getSolvedBy());
+
+        query = ProblemQuery.parse("1900+");
+        assertEquals(1900, query.getMinRating());
+        assertEquals(ProblemQuery.ANY_RATING, query.getMaxRating());
+        assertEquals("", query.getText());
+        assertFalse(ProblemQuery.parse("4A").hasRatingRange());
+    }
+
+    @Test
+    public void filter_combinedFacets() {
+        List<Problems> problems = Arrays.asList(
+                problem(1, "A", "Theatre Square", 1000, "math"),
+                problem(4, "A", "Watermelon", 800, "brute force", "math"),
+                problem(71, "A", "Way Too Long Words", 800, "strings"),
+                problem(189, "A", "Cut Ribbon", 1300, "brute force", "dp"),
+                problem(455, "A", "Boredom", 1500, "dp"),
+                problem(1700, "A", "Unrated", null, "dp", "greedy"));
+        ProblemFilter filter = new ProblemFilter(new ProblemCatalog(problems), new ProblemFilter.SolvedProblems() {
+            @Override
+            public int[] getSolvedRows(String handle) {
+                return handle.equals("me") ? new int[]{3, 1} : new int[0];
+            }
+
+            @Override
+            public long getVersion(String handle) {
+                return 0;
+            }
+        });
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5}, filter.filter(""));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, filter.filter("800-1400"));
+        assertArrayEquals(new int[]{3}, filter.filter("800-1400 #dp"));
+        assertArrayEquals(new int[]{2}, filter.filter("800-1400 unsolved:me #str"));
+        assertArrayEquals(new int[]{1, 3}, filter.filter("solved:me"));
+        assertArrayEquals(new int[]{4}, filter.filter("#dp 1400+ bored"));
+        assertArrayEquals(new int[]{1}, filter.filter("#math watermlon"));
+        assertEquals(0, filter.filter("#dp #strings").length);
+    }
+
+    @Test
+    public void filter_readsSolvedRowsAgainOnceTheSubmissionsChange() {
+        List<Problems> problems = Arrays.asList(
+                problem(1, "A", "Theatre Square", 1000, "math"),
+                problem(4, "A", "Watermelon", 800, "brute force", "math"),
+                problem(71, "A", "Way Too Long Words", 800, "strings"));
+        final int[][] solvedRows = {{1}};
+        final long[] version = {0};
+        ProblemFilter filter = new ProblemFilter(new ProblemCatalog(problems), new ProblemFilter.SolvedProblems() {
+            @Override
+            public int[] getSolvedRows(String handle) {
+                return solvedRows[0];
+            }
+
+            @Override
+            public long getVersion(String handle) {
+                return version[0];
+            }
+        });
+
+        assertArrayEquals(new int[]{1}, filter.filter("solved:me"));
+
+        // a sync stores a new accepted submission
+        solvedRows[0] = new int[]{1, 2};
+        version[0]++;
+        assertArrayEquals(new int[]{1, 2}, filter.filter("solved:me"));
+        assertArrayEquals(new int[]{0}, filter.filter("unsolved:me"));
+    }
+
+    @Test
+    public void filter_matchesScan() {
+        Random random = new Random(3);
+        List<Problems> problems = SyntheticProblemSet.problems(9000, 3);
+        Set<Integer> solved = new HashSet<>();
+        for (int row = 0; row < problems.size(); row++) {
+            if (random.nextInt(3) == 0) {
+                solved.add(row);
+            }
+        }
+        final int[] solvedRows = new int[solved.size()];
+        int i = 0;
+        for (int row : solved) {
+            solvedRows[i++] = row;
+        }
+        // read in parts like the cached problems, every part numbering its tags on its own
+        final List<Problems> readProblems = problems;
+        ProblemFilter filter = new ProblemFilter(new ProblemFilter.CatalogSource() {
+            @Override
+            public ProblemCatalog readRows(int fromRow) {
+                return new ProblemCatalog(readProblems.subList(fromRow, Math.min(fromRow + 700, readProblems.size())));
+            }
+        }, new ProblemFilter.SolvedProblems() {
+            @Override
+            public int[] getSolvedRows(String handle) {
+                return solvedRows;
+            }
+
+            @Override
+            public long getVersion(String handle) {
+                return 0;
+            }
+        });
+
+        for (int query = 0; query < 200; query++) {
+            int min = 800 + 100 * random.nextInt(28);
+            int max = min + 100 * random.nextInt(8);
+            String tag = SyntheticProblemSet.TAGS[random.nextInt(SyntheticProblemSet.TAGS.length)];
+            boolean unsolved = random.nextBoolean();
+            String text = min + "-" + max + " #" + tag.replace(' ', '_') + (unsolved ? " unsolved:me" : " solved:me");
+
+            assertArrayEquals(text, scan(problems, solved, min, max, tag, unsolved), filter.filter(text));
+        }
+    }
+
+    private static int[] scan(List<Problems> problems, Set<Integer> solved, int min, int max, String tag, boolean unsolved) {
+        int[] rows = new int[problems.size()];
+        int count = 0;
+        for (int row = 0; row < problems.size(); row++) {
+            Problems problem = problems.get(row);
+            Integer rating = problem.getRating();
+            if (rating != null && rating >= min && rating <= max && problem.getTags().contains(tag)
+                    && solved.contains(row) != unsolved) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private static Problems problem(int contestId, String index, String name, Integer rating, String... tags) {
+        return new Problems(contestId, index, name, rating, new ArrayList<>(Arrays.asList(tags)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import com.example.Codeforces_Progress.Benchmark;
+import com.example.Codeforces_Progress.ProblemSetClasses.SyntheticProblemSet;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Times the index against the linear toLowerCase().contains scan over typing sessions on a problemset sized list.
+ */
+@Category(Benchmark.class)
+public class ProblemSearchIndexBenchmark {
+
+    private static final int PROBLEM_SET_SIZE = 9000;
+
+    @Test
+    public void typingSessionsAreFasterThanTheLinearScan() {
+        List<String> names = SyntheticProblemSet.labels(PROBLEM_SET_SIZE, 11);
+        List<String> keystrokes = ProblemSearchIndexTest.typingSessions(names, 13);
+        ProblemSearchIndex index = new ProblemSearchIndex(names);
+
+        for (int warmUp = 0; warmUp < 3; warmUp++) {
+            for (String query : keystrokes) {
+                index.search(query);
+                ProblemSearchIndexTest.linearScan(names, query);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (String query : keystrokes) {
+            index.search(query);
+        }
+        long indexNanos = (System.nanoTime() - start) / keystrokes.size();
+
+        start = System.nanoTime();
+        for (String query : keystrokes) {
+            ProblemSearchIndexTest.linearScan(names, query);
+        }
+        long scanNanos = (System.nanoTime() - start) / keystrokes.size();
+
+        assertTrue("index " + indexNanos / 1000 + " us/keystroke, scan " + scanNanos / 1000 + " us/keystroke", indexNanos < scanNanos);
+    }
+}
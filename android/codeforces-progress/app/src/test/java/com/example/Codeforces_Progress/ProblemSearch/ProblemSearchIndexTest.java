@@ -0,0 +1,108 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.SyntheticProblemSet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the index against the linear toLowerCase().contains scan it replaces.
+ */
+public class ProblemSearchIndexTest {
+
+    private static final int PROBLEM_SET_SIZE = 9000;
+
+    @Test
+    public void search_matchesLinearScan() {
+        List<String> names = SyntheticProblemSet.labels(PROBLEM_SET_SIZE, 3);
+        ProblemSearchIndex index = new ProblemSearchIndex(names);
+        Random random = new Random(5);
+
+        for (int i = 0; i < 500; i++) {
+            String name = names.get(random.nextInt(names.size()));
+            int start = random.nextInt(name.length());
+            String query = name.substring(start, Math.min(name.length(), start + 1 + random.nextInt(8)));
+            if (random.nextBoolean()) {
+                query = query.toUpperCase();
+            }
+            assertArrayEquals(query, linearScan(names, query), index.search(query));
+        }
+        assertEquals(0, index.search("zzzz").length);
+        assertEquals(PROBLEM_SET_SIZE, index.search("").length);
+    }
+
+    @Test
+    public void search_afterExtendingAndDeletingQuery() {
+        List<String> names = SyntheticProblemSet.labels(PROBLEM_SET_SIZE, 4);
+        ProblemSearchIndex index = new ProblemSearchIndex(names);
+
+        for (String query : new String[]{"b", "ba", "bal", "bala", "bal", "b", "", "tree q", "tree", "ee q"}) {
+            assertArrayEquals(query, linearScan(names, query), index.search(query));
+        }
+    }
+
+    @Test
+    public void searchFuzzy_findsNamesWithOneTypo() {
+        List<String> names = Arrays.asList("1A: Theatre Square", "4A: Watermelon", "71A: Way Too Long Words", "158A: Next Round");
+        ProblemSearchIndex index = new ProblemSearchIndex(names);
+
+        assertArrayEquals(new int[]{1}, index.searchFuzzy("watermlon"));
+        assertArrayEquals(new int[]{1}, index.searchFuzzy("watermelo n"));
+        assertArrayEquals(new int[]{0}, index.searchFuzzy("theater"));
+        assertArrayEquals(new int[]{2}, index.searchFuzzy("long wrds"));
+        assertEquals(0, index.searchFuzzy("wtaremelon").length);
+        assertEquals(0, index.search("watermlon").length);
+    }
+
+    @Test
+    public void containsWithinOneEdit_allowsOneEditAnywhere() {
+        int[] buffer = new int[16];
+        assertTrue(ProblemSearchIndex.containsWithinOneEdit("next round", "round", buffer));
+        assertTrue(ProblemSearchIndex.containsWithinOneEdit("next round", "rond", buffer));
+        assertTrue(ProblemSearchIndex.containsWithinOneEdit("next round", "rouund", buffer));
+        assertTrue(ProblemSearchIndex.containsWithinOneEdit("next round", "rpund", buffer));
+        assertFalse(ProblemSearchIndex.containsWithinOneEdit("next round", "rpnd", buffer));
+    }
+
+    @Test
+    public void search_typingSessionsMatchLinearScan() {
+        List<String> names = SyntheticProblemSet.labels(PROBLEM_SET_SIZE, 11);
+        ProblemSearchIndex index = new ProblemSearchIndex(names);
+
+        for (String query : typingSessions(names, 13)) {
+            assertArrayEquals(query, linearScan(names, query), index.search(query));
+        }
+    }
+
+    // the filtering ProblemListAdapter used to do
+    static int[] linearScan(List<String> names, String query) {
+        int[] rows = new int[names.size()];
+        int count = 0;
+        for (int row = 0; row < names.size(); row++) {
+            if (names.get(row).toLowerCase().contains(query.toLowerCase())) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // the queries of 200 users typing a phrase of a problem name letter by letter
+    static List<String> typingSessions(List<String> names, long seed) {
+        Random random = new Random(seed);
+        List<String> keystrokes = new ArrayList<>();
+        for (int session = 0; session < 200; session++) {
+            String name = names.get(random.nextInt(names.size()));
+            String phrase = name.substring(name.indexOf(':') + 2);
+            for (int i = 1; i <= Math.min(phrase.length(), 12); i++) {
+                keystrokes.add(phrase.substring(0, i));
+            }
+        }
+        return keystrokes;
+    }
+}
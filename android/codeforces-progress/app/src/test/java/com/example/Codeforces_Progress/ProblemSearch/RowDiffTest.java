@@ -0,0 +1,166 @@
+package com.example.Codeforces_Progress.ProblemSearch;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.Codeforces_Progress.ProblemSetClasses.ProblemCatalog;
+import com.example.Codeforces_Progress.ProblemSetClasses.SyntheticProblemSet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the dispatched updates turn the shown rows into the new result and counts
+ * the binds of typing sessions against rebinding the screen on every keystroke.
+ */
+public class RowDiffTest {
+
+    // rows a phone shows on the Problems tab
+    private static final int VISIBLE_ROWS = 12;
+
+    @Test
+    public void dispatchUpdatesTo_producesNewRows() {
+        Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            int[] oldRows = randomRows(random, 1 + random.nextInt(60));
+            int[] newRows = randomRows(random, 1 + random.nextInt(60));
+
+            RowsCallback callback = new RowsCallback(oldRows, newRows);
+            RowDiff diff = RowDiff.calculate(oldRows, newRows);
+            diff.dispatchUpdatesTo(callback);
+
+            assertEquals(toList(newRows), callback.rows);
+            assertEquals(diff.getUpdateCount(), callback.updates);
+        }
+        assertEquals(0, RowDiff.calculate(new int[]{1, 2, 3}, new int[]{1, 2, 3}).getUpdateCount());
+        assertEquals(1, RowDiff.calculate(new int[]{1, 2, 3, 4}, new int[]{1, 4}).getUpdateCount());
+        assertEquals(2, RowDiff.calculate(new int[0], new int[]{1, 4}).getChangedCount());
+    }
+
+    @Test
+    public void rangeUpdates_bindFewerRowsThanRebindingTheScreen() {
+        ProblemFilter filter = new ProblemFilter(new ProblemCatalog(SyntheticProblemSet.problems(9000, 19)), null);
+
+        long rebindAll = 0, rebindDiff = 0;
+        for (String phrase : new String[]{"permutation", "tree queries", "binary string", "1500-1800", "array sum"}) {
+            int[] shown = filter.filter("");
+            // typing the phrase, then deleting it again
+            List<String> session = new ArrayList<>();
+            for (int i = 1; i <= phrase.length(); i++) {
+                session.add(phrase.substring(0, i));
+            }
+            for (int i = phrase.length() - 1; i >= 0; i--) {
+                session.add(phrase.substring(0, i));
+            }
+            for (String query : session) {
+                int[] rows = filter.filter(query);
+                ViewportCallback viewport = new ViewportCallback(shown, rows);
+                RowDiff.calculate(shown, rows).dispatchUpdatesTo(viewport);
+
+                assertEquals(query, toList(rows), viewport.rows);
+                rebindAll += Math.min(VISIBLE_ROWS, rows.length);
+                rebindDiff += viewport.binds();
+                shown = rows;
+            }
+        }
+
+        assertTrue(rebindDiff + " binds with range updates, " + rebindAll + " with notifyDataSetChanged", rebindDiff < rebindAll);
+    }
+
+    private static int[] randomRows(Random random, int bound) {
+        int[] rows = new int[bound];
+        int count = 0;
+        for (int row = 0; row < bound; row++) {
+            if (random.nextBoolean()) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private static List<Integer> toList(int[] rows) {
+        List<Integer> list = new ArrayList<>();
+        for (int row : rows) {
+            list.add(row);
+        }
+        return list;
+    }
+
+    // applies the updates to a copy of the shown rows, the way RecyclerView moves its items
+    private static class RowsCallback implements ListUpdateCallback {
+        final List<Integer> rows;
+        final int[] newRows;
+        int updates;
+
+        RowsCallback(int[] shownRows, int[] newRows) {
+            this.rows = toList(shownRows);
+            this.newRows = newRows;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            updates++;
+            // updates are dispatched in order, every position before this one is final already
+            for (int i = 0; i < count; i++) {
+                rows.add(position + i, newRows[position + i]);
+            }
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            updates++;
+            rows.subList(position, position + count).clear();
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            fail("rows never move");
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            fail("rows never change");
+        }
+    }
+
+    // the list scrolled to the top: the first VISIBLE_ROWS items have views, an item inserted or
+    // shifted into them by a removal is bound, an item that stays on screen keeps its view
+    private static class ViewportCallback extends RowsCallback {
+        final List<Boolean> bound = new ArrayList<>();
+
+        ViewportCallback(int[] shownRows, int[] newRows) {
+            super(shownRows, newRows);
+            for (int i = 0; i < shownRows.length; i++) {
+                bound.add(i < VISIBLE_ROWS);
+            }
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            super.onInserted(position, count);
+            bound.addAll(position, Collections.nCopies(count, false));
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            super.onRemoved(position, count);
+            bound.subList(position, position + count).clear();
+        }
+
+        int binds() {
+            int binds = 0;
+            for (int i = 0; i < Math.min(VISIBLE_ROWS, bound.size()); i++) {
+                if (!bound.get(i)) {
+                    binds++;
+                }
+            }
+            return binds;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Codeforces_Progress.ProblemSetClasses;
+
+import com.example.Codeforces_Progress.Benchmark;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the retained heap of the catalog with the parallel lists the Problems tab used to keep.
+ */
+@Category(Benchmark.class)
+public class ProblemCatalogBenchmark {
+
+    private static final int PROBLEM_SET_SIZE = 9000;
+    private static final int COPIES = 10;
+
+    @Test
+    public void catalogRetainsLessThanHalfOfTheParallelLists() {
+        // warming up both paths, so only the built structures are left on the heap when measured
+        parallelLists(SyntheticProblemSet.problems(PROBLEM_SET_SIZE, 7));
+        new ProblemCatalog(SyntheticProblemSet.problems(PROBLEM_SET_SIZE, 7));
+
+        // several copies are kept, so the heap grows well past what a collection leaves behind at random,
+        // the problems parsed from the response are dropped once a structure is built
+        Object[][] lists = new Object[COPIES][];
+        long before = usedHeap();
+        for (int i = 0; i < COPIES; i++) {
+            lists[i] = parallelLists(SyntheticProblemSet.problems(PROBLEM_SET_SIZE, 7));
+        }
+        long listsBytes = (usedHeap() - before) / COPIES;
+
+        ProblemCatalog[] catalogs = new ProblemCatalog[COPIES];
+        before = usedHeap();
+        for (int i = 0; i < COPIES; i++) {
+            catalogs[i] = new ProblemCatalog(SyntheticProblemSet.problems(PROBLEM_SET_SIZE, 7));
+        }
+        long catalogBytes = (usedHeap() - before) / COPIES;
+
+        assertEquals(PROBLEM_SET_SIZE, ((List<?>) lists[COPIES - 1][0]).size());
+        assertEquals(PROBLEM_SET_SIZE, catalogs[COPIES - 1].size());
+        assertTrue("parallel lists retain " + listsBytes / 1024 + " KB, ProblemCatalog " + catalogBytes / 1024 + " KB",
+                catalogBytes * 2 < listsBytes);
+    }
+
+    // the names, ratings, tags and url map Fragment2 used to keep
+    private static Object[] parallelLists(List<Problems> problems) {
+        List<String> problemNames = new ArrayList<>();
+        List<String> clonedProblemNames = new ArrayList<>();
+        List<Integer> problemRating = new ArrayList<>();
+        List<List<String>> problemTags = new ArrayList<>();
+        HashMap<String, String> problemUrl = new HashMap<>();
+        for (Problems problem : problems) {
+            String name = problem.getContestId() + problem.getIndex() + ": " + problem.getName();
+            problemNames.add(name);
+            clonedProblemNames.add(name);
+            problemUrl.put(name, "https://codeforces.com/problemset/problem/" + problem.getContestId() + "/" + problem.getIndex() + "?mobile=true");
+            problemRating.add(problem.getRating());
+            problemTags.add(problem.getTags());
+        }
+        return new Object[]{problemNames, clonedProblemNames, problemRating, problemTags, problemUrl};
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.Codeforces_Progress.ProblemSetClasses;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the catalog returns the problems it was built from.
+ */
+public class ProblemCatalogTest {
+
+    private static final int PROBLEM_SET_SIZE = 9000;
+
+    @Test
+    public void catalog_returnsTheProblems() {
+        List<Problems> problems = Arrays.asList(
+                new Problems(4, "A", "Watermelon", 800, new ArrayList<>(Arrays.asList("brute force", "math"))),
+                new Problems(1500, "F2", "Cycle (hard)", null, new ArrayList<String>()),
+                new Problems(71, "A", "Way Too Long Words", 800, new ArrayList<>(Arrays.asList("strings"))));
+        ProblemCatalog catalog = new ProblemCatalog(problems);
+
+        assertEquals(3, catalog.size());
+        assertEquals(1500, catalog.getContestId(1));
+        assertEquals("F2", catalog.getIndex(1));
+        assertEquals("Cycle (hard)", catalog.getName(1));
+        assertEquals(ProblemCatalog.NO_RATING, catalog.getRating(1));
+        assertEquals(800, catalog.getRating(0));
+        assertEquals("1500F2", catalog.getKey(1));
+        assertEquals("4A: Watermelon", catalog.getLabel(0));
+        assertEquals("https://codeforces.com/problemset/problem/71/A?mobile=true", catalog.getUrl(2));
+        assertEquals("brute force, math", catalog.getTagsLabel(0));
+        assertEquals("", catalog.getTagsLabel(1));
+        assertEquals(3, catalog.getTagCount());
+        assertTrue(catalog.hasTag(2, 2));
+        assertFalse(catalog.hasTag(0, 2));
+        assertEquals("strings", catalog.getTagName(2));
+    }
+
+    @Test
+    public void catalog_holdsMoreThan64Tags() {
+        List<Problems> problems = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            problems.add(new Problems(i + 1, "A", "Problem " + i, 800, new ArrayList<>(Arrays.asList("tag" + i, "tag" + (99 - i)))));
+        }
+        ProblemCatalog catalog = new ProblemCatalog(problems);
+
+        assertEquals(100, catalog.getTagCount());
+        for (int i = 0; i < 100; i++) {
+            for (int tagId = 0; tagId < 100; tagId++) {
+                String tag = catalog.getTagName(tagId);
+                assertEquals(tag.equals("tag" + i) || tag.equals("tag" + (99 - i)), catalog.hasTag(i, tagId));
+            }
+        }
+    }
+
+    @Test
+    public void catalog_matchesTheProblemsOfAProblemset() {
+        List<Problems> problems = SyntheticProblemSet.problems(PROBLEM_SET_SIZE, 7);
+        ProblemCatalog catalog = new ProblemCatalog(problems);
+
+        assertEquals(problems.size(), catalog.size());
+        for (int i = 0; i < problems.size(); i++) {
+            Problems problem = problems.get(i);
+            assertEquals(problem.getContestId() + problem.getIndex() + ": " + problem.getName(), catalog.getLabel(i));
+            assertEquals(problem.getRating() == null ? ProblemCatalog.NO_RATING : problem.getRating(), catalog.getRating(i));
+            for (int tagId = 0; tagId < catalog.getTagCount(); tagId++) {
+                assertEquals(problem.getTags().contains(catalog.getTagName(tagId)), catalog.hasTag(i, tagId));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.Codeforces_Progress.ProblemSetClasses;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Problemset sized lists of made up problems for the catalog, search and filter tests.
+ * The same seed gives the same problems.
+ */
+public final class SyntheticProblemSet {
+
+    public static final String[] TAGS = {"dp", "greedy", "math", "graphs", "binary search", "implementation",
+            "brute force", "strings", "trees", "number theory", "constructive algorithms", "sortings"};
+    private static final String[] WORDS = {"Vasya", "and", "Array", "Tree", "Queries", "Game", "Petya", "String",
+            "Graph", "Permutation", "Maximum", "Minimum", "Sum", "Subsequence", "Binary", "Strings", "the",
+            "of", "Two", "Paths", "Coloring", "Segments", "Divisors", "XOR", "Matrix", "Robot", "Candies",
+            "Balanced", "Brackets", "Shortest", "Beautiful", "Numbers", "Cities", "Roads", "Palindrome"};
+
+    private SyntheticProblemSet() {
+    }
+
+    /*
+     * six problems per contest, newest contest first like problemset.problems,
+     * tags are parsed by gson, so every problem has its own strings and list
+     */
+    public static List<Problems> problems(int size, long seed) {
+        Random random = new Random(seed);
+        List<Problems> problems = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int words = 1 + random.nextInt(4); words > 0; words--) {
+                name.append(name.length() > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            ArrayList<String> tags = new ArrayList<>();
+            for (int tag = random.nextInt(4); tag > 0; tag--) {
+                tags.add(new String(TAGS[random.nextInt(TAGS.length)]));
+            }
+            Integer rating = random.nextInt(10) == 0 ? null : 800 + 100 * random.nextInt(28);
+            problems.add(new Problems(2000 - i / 6, new String(new char[]{(char) ('A' + i % 6)}), name.toString(), rating, tags));
+        }
+        return problems;
+    }
+
+    /*
+     * the labels of the problems, as the Problems tab shows them
+     */
+    public static List<String> labels(int size, long seed) {
+        List<String> labels = new ArrayList<>(size);
+        for (Problems problem : problems(size, seed)) {
+            labels.add(problem.getContestId() + problem.getIndex() + ": " + problem.getName());
+        }
+        return labels;
+    }
+}
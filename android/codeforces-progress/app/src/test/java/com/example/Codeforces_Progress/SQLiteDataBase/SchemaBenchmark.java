@@ -0,0 +1,272 @@
+package com.example.Codeforces_Progress.SQLiteDataBase;
+
+import com.example.Codeforces_Progress.Benchmark;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Times the SQL of {@link Schema} on sqlite-jdbc: the common queries over a store of 1M submissions
+ * and the bulk insert of submissions.
+ */
+@Category(Benchmark.class)
+public class SchemaBenchmark {
+
+    private static final int HANDLES = 20;
+    private static final int SUBMISSIONS_PER_HANDLE = 50000;
+    private static final int PROBLEMS = 10000;
+
+    // the queries of a screen, run off the UI thread, the submissions of a handle are read once per sync
+    private static final long QUERY_BUDGET_NANOS = 100000000;
+    private static final long SUBMISSIONS_BUDGET_NANOS = 2000000000;
+
+    private File file;
+    private Connection connection;
+
+    @Before
+    public void open() throws IOException, SQLException {
+        file = File.createTempFile("store", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+        execute("PRAGMA journal_mode = WAL");
+        execute("PRAGMA foreign_keys = ON");
+    }
+
+    @After
+    public void close() throws SQLException {
+        connection.close();
+        file.delete();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+    }
+
+    @Test
+    public void commonQueriesAt1MSubmissionsStayInBudget() throws SQLException {
+        execute(Schema.CREATE);
+        fill();
+
+        int runs = 20;
+        long handleId = queryLong(Schema.SELECT_HANDLE_ID, "HANDLE7");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            assertEquals(SUBMISSIONS_PER_HANDLE, list(Schema.SELECT_SUBMISSIONS, handleId).size());
+        }
+        long submissionsNanos = (System.nanoTime() - start) / runs;
+
+        start = System.nanoTime();
+        for (int i = 0; i < runs * 50; i++) {
+            queryLong(Schema.SELECT_SYNC_START, handleId);
+        }
+        long syncStartNanos = (System.nanoTime() - start) / (runs * 50);
+
+        start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            list(Schema.SELECT_SOLVED_PROBLEM_ROWS, handleId);
+        }
+        long solvedNanos = (System.nanoTime() - start) / runs;
+
+        start = System.nanoTime();
+        for (int i = 0; i < runs * 50; i++) {
+            list(Schema.SELECT_PROBLEM_PAGE, (i * 50) % PROBLEMS, (i * 50) % PROBLEMS + 50);
+        }
+        long pageNanos = (System.nanoTime() - start) / (runs * 50);
+
+        start = System.nanoTime();
+        for (int i = 0; i < runs * 50; i++) {
+            queryLong("SELECT COUNT(*) FROM Problems WHERE rating BETWEEN ? AND ?", 1500 + i % 10 * 100, 1900 + i % 10 * 100);
+        }
+        long ratingNanos = (System.nanoTime() - start) / (runs * 50);
+
+        assertTrue("submissions of a handle " + submissionsNanos / 1000 + " us", submissionsNanos < SUBMISSIONS_BUDGET_NANOS);
+        assertTrue("sync start " + syncStartNanos / 1000 + " us", syncStartNanos < QUERY_BUDGET_NANOS);
+        assertTrue("solved problem rows " + solvedNanos / 1000 + " us", solvedNanos < QUERY_BUDGET_NANOS);
+        assertTrue("problem page " + pageNanos / 1000 + " us", pageNanos < QUERY_BUDGET_NANOS);
+        assertTrue("rating range count " + ratingNanos / 1000 + " us", ratingNanos < QUERY_BUDGET_NANOS);
+    }
+
+    @Test
+    public void bulkInsertIsFasterThanPerRowInserts() throws SQLException {
+        execute(Schema.CREATE);
+        execute("INSERT INTO Handles(handle) VALUES ('tourist')");
+        int rows = 100000;
+
+        // warm up, then every run inserts the same rows again, replacing them
+        insertPerRow(rows / 10);
+        insertBulk(rows / 10, DataBaseHelper.DEFAULT_CHUNK_SIZE);
+
+        long start = System.nanoTime();
+        insertPerRow(rows);
+        long perRowNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        insertBulk(rows, DataBaseHelper.DEFAULT_CHUNK_SIZE);
+        long bulkNanos = System.nanoTime() - start;
+        assertEquals(rows, queryLong("SELECT COUNT(*) FROM Submissions"));
+
+        assertTrue("a statement built per row from a column map: " + rowsPerSecond(rows, perRowNanos) + " rows/s, chunks of "
+                + DataBaseHelper.DEFAULT_CHUNK_SIZE + ": " + rowsPerSecond(rows, bulkNanos) + " rows/s", bulkNanos < perRowNanos);
+    }
+
+    // the column map, the SQL built from it and the statement compiled for every row, like insertWithOnConflict()
+    private void insertPerRow(int rows) throws SQLException {
+        connection.setAutoCommit(false);
+        for (int i = 0; i < rows; i++) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put(Schema.ID, (long) i);
+            values.put(Schema.HANDLE_ID, 1L);
+            values.put(Schema.CONTEST_ID, i / 7);
+            values.put(Schema.CREATION_TIME, 1500000000L + i);
+            values.put(Schema.PROBLEM_INDEX, "A");
+            values.put(Schema.NAME, "Problem " + i % 1000);
+            values.put(Schema.RATING, 800 + i % 28 * 100);
+            values.put(Schema.PARTICIPANT_TYPE, "PRACTICE");
+            values.put(Schema.VERDICT, "OK");
+            values.put(Schema.TAGS, "dp;greedy");
+
+            StringBuilder sql = new StringBuilder("INSERT OR REPLACE INTO " + Schema.SUBMISSIONS_TABLE + "(");
+            StringBuilder parameters = new StringBuilder();
+            for (String column : values.keySet()) {
+                sql.append(parameters.length() > 0 ? "," : "").append(column);
+                parameters.append(parameters.length() > 0 ? ",?" : "?");
+            }
+            sql.append(") VALUES (").append(parameters).append(")");
+
+            PreparedStatement insert = connection.prepareStatement(sql.toString());
+            int index = 1;
+            for (Object value : values.values()) {
+                insert.setObject(index++, value);
+            }
+            insert.executeUpdate();
+            insert.close();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    // one statement compiled for all rows, columns bound directly, a transaction per chunk, like insertSubmissions()
+    private void insertBulk(int rows, int chunkSize) throws SQLException {
+        connection.setAutoCommit(false);
+        PreparedStatement insert = connection.prepareStatement(Schema.INSERT_SUBMISSION);
+        for (int i = 0; i < rows; i++) {
+            insert.setLong(1, i);
+            insert.setLong(2, 1);
+            insert.setInt(3, i / 7);
+            insert.setLong(4, 1500000000L + i);
+            insert.setString(5, "A");
+            insert.setString(6, "Problem " + i % 1000);
+            insert.setInt(7, 800 + i % 28 * 100);
+            insert.setString(8, "PRACTICE");
+            insert.setString(9, "OK");
+            insert.setString(10, "dp;greedy");
+            insert.executeUpdate();
+            if ((i + 1) % chunkSize == 0) {
+                connection.commit();
+            }
+        }
+        connection.commit();
+        insert.close();
+        connection.setAutoCommit(true);
+    }
+
+    private static long rowsPerSecond(int rows, long nanos) {
+        return rows * 1000000000L / Math.max(nanos, 1);
+    }
+
+    private void fill() throws SQLException {
+        Random random = new Random(5);
+        connection.setAutoCommit(false);
+        PreparedStatement problem = connection.prepareStatement("INSERT INTO Problems VALUES (?, ?, ?, ?, ?)");
+        for (int row = 1; row <= PROBLEMS; row++) {
+            problem.setInt(1, row);
+            problem.setInt(2, row / 5 + 1);
+            problem.setString(3, String.valueOf((char) ('A' + row % 5)));
+            problem.setString(4, "Problem " + row);
+            problem.setInt(5, 800 + 100 * random.nextInt(28));
+            problem.addBatch();
+        }
+        problem.executeBatch();
+
+        PreparedStatement handle = connection.prepareStatement("INSERT INTO Handles(handle) VALUES (?)");
+        PreparedStatement submission = connection.prepareStatement("INSERT INTO Submissions VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        long id = 1;
+        for (int h = 1; h <= HANDLES; h++) {
+            handle.setString(1, "handle" + h);
+            handle.executeUpdate();
+            for (int k = 0; k < SUBMISSIONS_PER_HANDLE; k++) {
+                int row = 1 + random.nextInt(PROBLEMS);
+                submission.setLong(1, id++);
+                submission.setInt(2, h);
+                submission.setInt(3, row / 5 + 1);
+                submission.setLong(4, 1500000000L + id);
+                submission.setString(5, String.valueOf((char) ('A' + row % 5)));
+                submission.setString(6, "Problem " + row);
+                submission.setInt(7, 800 + 100 * random.nextInt(28));
+                submission.setString(8, "PRACTICE");
+                submission.setString(9, random.nextInt(3) == 0 ? "OK" : "WRONG_ANSWER");
+                submission.setString(10, "dp;greedy");
+                submission.addBatch();
+            }
+            submission.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private void execute(String... statements) throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    private long queryLong(String query, Object... args) throws SQLException {
+        return Long.parseLong(list(query, args).get(0));
+    }
+
+    // every row as its columns joined by |
+    private List<String> list(String query, Object... args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            List<String> rows = new ArrayList<>();
+            ResultSet resultSet = statement.executeQuery();
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int c = 1; c <= columns; c++) {
+                    if (c > 1) {
+                        row.append('|');
+                    }
+                    row.append(resultSet.getString(c));
+                }
+                rows.add(row.toString());
+            }
+            return rows;
+        } finally {
+            statement.close();
+        }
+    }
+}
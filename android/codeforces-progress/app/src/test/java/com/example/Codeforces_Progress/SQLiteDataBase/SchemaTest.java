@@ -0,0 +1,228 @@
+package com.example.Codeforces_Progress.SQLiteDataBase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the SQL of {@link Schema} on sqlite-jdbc: the migrations from the first release
+ * and the query plans.
+ */
+public class SchemaTest {
+
+    private File file;
+    private Connection connection;
+
+    @Before
+    public void open() throws IOException, SQLException {
+        file = File.createTempFile("store", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+        execute("PRAGMA journal_mode = WAL");
+        execute("PRAGMA foreign_keys = ON");
+    }
+
+    @After
+    public void close() throws SQLException {
+        connection.close();
+        file.delete();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+    }
+
+    @Test
+    public void migratingTheFirstStoreKeepsTheHandlesAndTheirSubmissions() throws SQLException {
+        execute(Schema.VERSION_1);
+        execute("INSERT INTO HandleInfos VALUES ('tourist', 'a.jpg')",
+                "INSERT INTO HandleInfos VALUES ('Petr', 'b.jpg')");
+        for (int version = 2; version <= 5; version++) {
+            execute(Schema.migrationTo(version));
+        }
+        execute("INSERT INTO Submissions VALUES (10, 'tourist', 4, 100, 'A', 'Watermelon', 800, 'CONTESTANT', 'OK')",
+                "INSERT INTO Submissions VALUES (11, 'petr', 4, 200, 'A', 'Watermelon', 800, 'PRACTICE', 'TESTING')",
+                "INSERT INTO Submissions VALUES (12, 'deleted', 4, 300, 'A', 'Watermelon', 800, 'PRACTICE', 'OK')",
+                "INSERT INTO Snapshots VALUES ('tourist', x'0102')",
+                "INSERT INTO CacheVersions VALUES ('problemset.problems', 'hash')",
+                "INSERT INTO Problems VALUES (4, 'A', 'Watermelon', 800, 'brute force;math')");
+
+        execute(Schema.migrationTo(6));
+
+        assertEquals("[tourist|a.jpg, Petr|b.jpg]", list(Schema.SELECT_HANDLE_INFOS).toString());
+        long petr = queryLong(Schema.SELECT_HANDLE_ID, "PETR");
+        // a submission of a handle saved in another case belongs to it, the one of a deleted handle is dropped
+        assertEquals("[11|2]", list("SELECT _id, handleId FROM Submissions WHERE handleId = " + petr).toString());
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM Submissions"));
+        assertEquals(10, queryLong(Schema.SELECT_SYNC_START, petr));
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM Snapshots WHERE handleId = " + queryLong(Schema.SELECT_HANDLE_ID, "tourist")));
+        // the problem cache is fetched again
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM CacheVersions"));
+
+        execute("DELETE FROM Handles WHERE handle = 'TOURIST'");
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM Submissions"));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM Snapshots"));
+    }
+
+    @Test
+    public void migratingToTagsKeepsTheSubmissionsAndTakesTheTagsOfTheCachedProblems() throws SQLException {
+        execute(Schema.VERSION_1);
+        execute("INSERT INTO HandleInfos VALUES ('tourist', 'a.jpg')");
+        for (int version = 2; version <= 6; version++) {
+            execute(Schema.migrationTo(version));
+        }
+        long tourist = queryLong(Schema.SELECT_HANDLE_ID, "tourist");
+        execute("INSERT INTO Submissions VALUES (10, " + tourist + ", 4, 100, 'A', 'Watermelon', 800, 'CONTESTANT', 'OK')",
+                "INSERT INTO Submissions VALUES (11, " + tourist + ", 1, 200, 'A', 'Theatre Square', 1000, 'PRACTICE', 'OK')",
+                "INSERT INTO Snapshots VALUES (" + tourist + ", x'0102')",
+                "INSERT INTO Problems VALUES (1, 4, 'A', 'Watermelon', 800)",
+                "INSERT INTO Tags VALUES (1, 'math'), (2, 'brute force')",
+                "INSERT INTO ProblemTags VALUES (1, 0, 2), (1, 1, 1)");
+
+        execute(Schema.migrationTo(7));
+
+        assertEquals(describeSchema(), describeSchemaOfNewStore());
+        assertEquals("[tourist|a.jpg]", list(Schema.SELECT_HANDLE_INFOS).toString());
+        assertEquals(11, queryLong(Schema.SELECT_SYNC_START, tourist));
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM Snapshots"));
+        assertEquals("[10|brute force;math, 11|null]", list("SELECT _id, tags FROM Submissions ORDER BY _id").toString());
+
+        // the problem not cached yet gets its tags with the problem cache
+        execute("INSERT INTO Problems VALUES (2, 1, 'A', 'Theatre Square', 1000)",
+                "INSERT INTO ProblemTags VALUES (2, 0, 1)",
+                Schema.FILL_SUBMISSION_TAGS);
+        assertEquals("[10|brute force;math, 11|math]", list("SELECT _id, tags FROM Submissions ORDER BY _id").toString());
+    }
+
+    @Test
+    public void problemsKeepTheirTagsInOrder() throws SQLException {
+        execute(Schema.CREATE);
+        execute("INSERT INTO Problems VALUES (1, 4, 'A', 'Watermelon', 800)",
+                "INSERT INTO Problems VALUES (2, 1, 'A', 'Theatre Square', 1000)",
+                "INSERT INTO Tags VALUES (1, 'math'), (2, 'brute force')",
+                "INSERT INTO ProblemTags VALUES (1, 0, 2), (1, 1, 1), (2, 0, 1)");
+
+        assertEquals("[4|A|Watermelon|800|brute force;math, 1|A|Theatre Square|1000|math]", list(Schema.SELECT_PROBLEM_PAGE, 0, 2).toString());
+        assertEquals("[1|A|Theatre Square|1000|math]", list(Schema.SELECT_PROBLEM_PAGE, 1, 2).toString());
+
+        execute("DELETE FROM Problems");
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM ProblemTags"));
+    }
+
+    @Test
+    public void queriesUseTheIndexes() throws SQLException {
+        execute(Schema.CREATE);
+
+        assertTrue(plan(Schema.SELECT_SUBMISSIONS).contains("sqlite_autoindex_Submissions_1"));
+        assertTrue(plan(Schema.SELECT_SYNC_START).contains("sqlite_autoindex_Submissions_1"));
+        assertTrue(plan(Schema.SELECT_SOLVED_PROBLEM_ROWS).contains("sqlite_autoindex_Submissions_1"));
+        assertTrue(plan("SELECT COUNT(*) FROM Problems WHERE rating BETWEEN ? AND ?").contains("ProblemsByRating"));
+        assertFalse(plan(Schema.SELECT_SUBMISSIONS).contains("SCAN"));
+    }
+
+    @Test
+    public void insertingAStoredSubmissionReplacesItsVerdict() throws SQLException {
+        execute(Schema.CREATE);
+        execute("INSERT INTO Handles(handle) VALUES ('tourist'), ('petr')");
+        insertSubmission(10, 1, "TESTING");
+        insertSubmission(10, 2, "TESTING");
+        insertSubmission(10, 1, "OK");
+
+        assertEquals("[10|1|OK, 10|2|TESTING]", list("SELECT _id, handleId, verdict FROM Submissions ORDER BY handleId").toString());
+        assertEquals(10, queryLong(Schema.SELECT_SYNC_START, 1));
+    }
+
+    private void insertSubmission(long id, long handleId, String verdict) throws SQLException {
+        PreparedStatement insert = connection.prepareStatement(Schema.INSERT_SUBMISSION);
+        try {
+            Object[] values = {id, handleId, 4, 100, "A", "Watermelon", 800, "PRACTICE", verdict, null};
+            for (int i = 0; i < values.length; i++) {
+                insert.setObject(i + 1, values[i]);
+            }
+            insert.executeUpdate();
+        } finally {
+            insert.close();
+        }
+    }
+
+    // table columns, foreign keys and index columns of the store, by name
+    private List<String> describeSchema() throws SQLException {
+        List<String> description = new ArrayList<>();
+        for (String name : list("SELECT name FROM sqlite_master WHERE name NOT LIKE 'sqlite_%' ORDER BY name")) {
+            description.add(name + " " + list("PRAGMA table_info(" + name + ")") + " " + list("PRAGMA foreign_key_list(" + name + ")")
+                    + " " + list("PRAGMA index_info(" + name + ")"));
+        }
+        return description;
+    }
+
+    private List<String> describeSchemaOfNewStore() throws SQLException {
+        Connection migrated = connection;
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try {
+            execute(Schema.CREATE);
+            return describeSchema();
+        } finally {
+            connection.close();
+            connection = migrated;
+        }
+    }
+
+    private String plan(String query) throws SQLException {
+        Object[] args = new Object[query.length() - query.replace("?", "").length()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = 1;
+        }
+        return list("EXPLAIN QUERY PLAN " + query.replace("?1", "?"), args).toString();
+    }
+
+    private void execute(String... statements) throws SQLException {
+        Statement statement = connection.createStatement();
+        try {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    private long queryLong(String query, Object... args) throws SQLException {
+        return Long.parseLong(list(query, args).get(0));
+    }
+
+    // every row as its columns joined by |
+    private List<String> list(String query, Object... args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            List<String> rows = new ArrayList<>();
+            ResultSet resultSet = statement.executeQuery();
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int c = 1; c <= columns; c++) {
+                    if (c > 1) {
+                        row.append('|');
+                    }
+                    row.append(resultSet.getString(c));
+                }
+                rows.add(row.toString());
+            }
+            return rows;
+        } finally {
+            statement.close();
+        }
+    }
+}